@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.benchmarks;
+
+import id.jrosclient.DemandStrategy;
+import id.jrosclient.TopicSubscriber;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Subscriber which only counts received messages.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class CountingSubscriber extends TopicSubscriber<StringMessage> {
+
+    static final String TOPIC = "/benchmark";
+
+    private final LongAdder count = new LongAdder();
+
+    CountingSubscriber() {
+        super(StringMessage.class, TOPIC);
+        withDemandStrategy(DemandStrategy.fixedWindow(Flow.defaultBufferSize()));
+    }
+
+    @Override
+    public void onNext(StringMessage item) {
+        super.onNext(item);
+        count.increment();
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+}
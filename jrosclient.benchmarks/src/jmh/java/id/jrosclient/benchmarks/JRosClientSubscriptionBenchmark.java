@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.benchmarks;
+
+import id.jrosclient.DemandStrategy;
+import id.jrosclient.impl.JRosClientSubscription;
+import id.jrosclient.metrics.TopicMetricsRegistry;
+import id.jroscommon.RosName;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of signalling demand through {@link JRosClientSubscription}: explicit request for each
+ * message compared to the demand which is managed by {@link DemandStrategy}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JRosClientSubscriptionBenchmark {
+
+    private JRosClientSubscription manualSubscription;
+    private JRosClientSubscription windowSubscription;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var metrics =
+                TopicMetricsRegistry.getDefault().getMetrics(new RosName(CountingSubscriber.TOPIC));
+        manualSubscription =
+                new JRosClientSubscription(TopicSubscriberBenchmark.NOOP_SUBSCRIPTION, metrics);
+        windowSubscription =
+                new JRosClientSubscription(
+                        TopicSubscriberBenchmark.NOOP_SUBSCRIPTION,
+                        metrics,
+                        DemandStrategy.fixedWindow(256));
+        windowSubscription.requestInitial(0);
+    }
+
+    @Benchmark
+    public void request() {
+        manualSubscription.request(1);
+    }
+
+    @Benchmark
+    public void onReceivedWithFixedWindow() {
+        windowSubscription.onReceived();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.benchmarks;
+
+import id.jrosclient.LoopbackJRosClient;
+import id.jrosclient.TopicPublisher;
+import id.jrosclient.TopicRegistry;
+import id.jroscommon.RosName;
+import id.jrosmessages.MessageDescriptor;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the topic bookkeeping of the client when topics are created and destroyed at high
+ * rate ({@link TopicRegistry} through {@link LoopbackJRosClient}).
+ *
+ * <p>To see how it scales across the cores run it with different number of threads:
+ *
+ * <pre>
+ * gradle :jrosclient.benchmarks:jmh -PjmhIncludes=TopicRegistryBenchmark -PjmhThreads=4
+ * </pre>
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TopicRegistryBenchmark {
+
+    private static final MessageDescriptor<StringMessage> DESCRIPTOR =
+            new MessageDescriptor<>(StringMessage.class);
+
+    /** Number of topics which are published for the whole benchmark */
+    @Param({"1000"})
+    private int topics;
+
+    private LoopbackJRosClient client;
+    private RosName[] topicNames;
+
+    /** Publisher which only occupies the topic */
+    private static class IdlePublisher implements TopicPublisher<StringMessage> {
+        private final RosName topic;
+
+        IdlePublisher(RosName topic) {
+            this.topic = topic;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super StringMessage> subscriber) {}
+
+        @Override
+        public MessageDescriptor<StringMessage> getMessageDescriptor() {
+            return DESCRIPTOR;
+        }
+
+        @Override
+        public RosName getTopic() {
+            return topic;
+        }
+
+        @Override
+        public void onPublishError(Throwable throwable) {}
+
+        @Override
+        public void close() {}
+    }
+
+    /** Short-lived topics of one benchmark thread, their names do not overlap between threads */
+    @State(Scope.Thread)
+    public static class ThreadTopics {
+        private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+        private static final int COUNT = 1024;
+
+        private final IdlePublisher[] publishers = new IdlePublisher[COUNT];
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            var thread = THREAD_COUNTER.incrementAndGet();
+            for (int i = 0; i < COUNT; i++)
+                publishers[i] = new IdlePublisher(new RosName("/short_lived_" + thread + "_" + i));
+        }
+
+        IdlePublisher next() {
+            var publisher = publishers[next];
+            next = (next + 1) % COUNT;
+            return publisher;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        client = new LoopbackJRosClient();
+        topicNames = new RosName[topics];
+        for (int i = 0; i < topics; i++) {
+            topicNames[i] = new RosName("/topic_" + i);
+            client.publish(new IdlePublisher(topicNames[i]));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public void publishUnpublish(ThreadTopics threadTopics) {
+        var publisher = threadTopics.next();
+        client.publish(publisher);
+        client.unpublish(publisher.getTopic(), DESCRIPTOR);
+    }
+
+    @Benchmark
+    public void publishUnpublishAsync(ThreadTopics threadTopics) {
+        var publisher = threadTopics.next();
+        client.publishAsync(publisher).join();
+        client.unpublishAsync(publisher.getTopic(), DESCRIPTOR).join();
+    }
+
+    @Benchmark
+    public boolean hasPublisher() {
+        return client.hasPublisher(topicNames[ThreadLocalRandom.current().nextInt(topics)]);
+    }
+
+    /** Lookups which run concurrently with the topic churn */
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(3)
+    public boolean churnHasPublisher() {
+        return hasPublisher();
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(1)
+    public void churnPublishUnpublish(ThreadTopics threadTopics) {
+        publishUnpublish(threadTopics);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.benchmarks;
+
+import id.jrosclient.TopicSubmissionPublisher;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link TopicSubmissionPublisher#submit(id.jrosmessages.Message)} with different
+ * number of subscribers. Publisher blocks when subscribers are slower, so the result is the rate at
+ * which messages are delivered to all of them.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopicSubmissionPublisherBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int subscribers;
+
+    private TopicSubmissionPublisher<StringMessage> publisher;
+    private StringMessage message = new StringMessage().withData("hello");
+
+    @Setup(Level.Trial)
+    public void setup() {
+        publisher = new TopicSubmissionPublisher<>(StringMessage.class, CountingSubscriber.TOPIC);
+        for (int i = 0; i < subscribers; i++) publisher.subscribe(new CountingSubscriber());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        publisher.close();
+    }
+
+    @Benchmark
+    public int submit() {
+        return publisher.submit(message);
+    }
+}
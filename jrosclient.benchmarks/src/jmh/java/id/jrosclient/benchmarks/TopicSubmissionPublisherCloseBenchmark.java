@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.benchmarks;
+
+import id.jrosclient.TopicSubmissionPublisher;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time it takes {@link TopicSubmissionPublisher#close()} to drain messages which are still pending
+ * delivery to the subscribers.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 100)
+@Fork(1)
+public class TopicSubmissionPublisherCloseBenchmark {
+
+    @Param({"4"})
+    private int subscribers;
+
+    @Param({"0", "256"})
+    private int pendingMessages;
+
+    private TopicSubmissionPublisher<StringMessage> publisher;
+    private StringMessage message = new StringMessage().withData("hello");
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        publisher = new TopicSubmissionPublisher<>(StringMessage.class, CountingSubscriber.TOPIC);
+        for (int i = 0; i < subscribers; i++) publisher.subscribe(new CountingSubscriber());
+        for (int i = 0; i < pendingMessages; i++) publisher.submit(message);
+    }
+
+    @Benchmark
+    public void close() {
+        publisher.close();
+    }
+}
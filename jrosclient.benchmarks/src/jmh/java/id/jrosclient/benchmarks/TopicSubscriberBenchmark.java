@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.benchmarks;
+
+import id.jrosclient.metrics.TopicMetricsRegistry;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Overhead which {@link id.jrosclient.TopicSubscriber#onNext(id.jrosmessages.Message)} adds to each
+ * received message, with metrics enabled and disabled.
+ *
+ * <p>Metrics can be disabled only on JVM startup so each case runs in its own fork.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TopicSubscriberBenchmark {
+
+    /** Subscription which ignores all requests */
+    static final Subscription NOOP_SUBSCRIPTION =
+            new Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            };
+
+    private CountingSubscriber subscriber;
+    private StringMessage message = new StringMessage().withData("hello");
+
+    @Setup(Level.Trial)
+    public void setup() {
+        subscriber = new CountingSubscriber();
+        subscriber.onSubscribe(NOOP_SUBSCRIPTION);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + TopicMetricsRegistry.METRICS_ENABLED_PROPERTY + "=true")
+    public void onNextWithMetrics() {
+        subscriber.onNext(message);
+    }
+
+    @Benchmark
+    @Fork(
+            value = 1,
+            jvmArgsAppend = "-D" + TopicMetricsRegistry.METRICS_ENABLED_PROPERTY + "=false")
+    public void onNextWithoutMetrics() {
+        subscriber.onNext(message);
+    }
+}
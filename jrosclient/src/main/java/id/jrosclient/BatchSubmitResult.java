@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.xfunction.XJson;
+import java.util.List;
+import java.util.concurrent.Flow.Subscriber;
+
+/**
+ * Result of submitting batch of messages to the publisher (see {@link
+ * RingBufferTopicPublisher#submitAll(java.util.Collection)}).
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class BatchSubmitResult {
+
+    /**
+     * @param subscriber subscriber as it was passed to the publisher
+     * @param accepted number of messages of the batch which will be delivered to the subscriber
+     * @param dropped number of messages which subscriber lost because of this batch according to
+     *     {@link OverflowPolicy} of the publisher. It includes messages of the batch which were not
+     *     accepted and, for {@link OverflowPolicy#DROP_OLDEST}, older messages which were still
+     *     pending delivery.
+     */
+    public record SubscriberResult(Subscriber<?> subscriber, int accepted, int dropped) {}
+
+    private final int submitted;
+    private final int accepted;
+    private final List<SubscriberResult> subscribers;
+
+    BatchSubmitResult(int submitted, int accepted, List<SubscriberResult> subscribers) {
+        this.submitted = submitted;
+        this.accepted = accepted;
+        this.subscribers = subscribers;
+    }
+
+    /** Number of messages in the batch */
+    public int getSubmitted() {
+        return submitted;
+    }
+
+    /** Number of messages of the batch which were published */
+    public int getAccepted() {
+        return accepted;
+    }
+
+    /** Results for each of the subscribers which were subscribed when batch was submitted */
+    public List<SubscriberResult> getSubscribers() {
+        return subscribers;
+    }
+
+    /**
+     * @return true if all messages were accepted and none of the subscribers lost any messages
+     */
+    public boolean isComplete() {
+        return subscribers.stream().allMatch(r -> r.dropped() == 0) && accepted == submitted;
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString(
+                "submitted", submitted, "accepted", accepted, "subscribers", subscribers.size());
+    }
+}
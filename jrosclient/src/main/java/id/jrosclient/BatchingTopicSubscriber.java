@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.Preconditions;
+import id.xfunction.logging.XLogger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subscriber which coalesces received messages into batches and passes them to the {@link
+ * #onNextBatch(List)} method.
+ *
+ * <p>Batch is delivered when it reaches maximum size or when maximum delay passes since the first
+ * message of the batch was received, whichever comes first. This allows to amortize processing
+ * costs (downstream I/O, etc) over many messages.
+ *
+ * <p>Subscriber manages demand automatically: initially it requests maximum batch size messages and
+ * after each batch is processed it requests as many messages as there were in the batch.
+ *
+ * <p>Batches are delivered sequentially, either from the thread which received the last message of
+ * the batch or from the shared timer thread.
+ *
+ * @param <M> type of messages in the topic
+ * @author lambdaprime intid@protonmail.com
+ */
+public abstract class BatchingTopicSubscriber<M extends Message> extends TopicSubscriber<M> {
+
+    private static final ScheduledExecutorService TIMER =
+            Executors.newSingleThreadScheduledExecutor(
+                    r -> {
+                        var thread = new Thread(r, "batching-subscriber-timer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private final XLogger LOGGER = XLogger.getLogger(this);
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
+    private final List<M> batch;
+    private final List<M> batchView;
+    private ScheduledFuture<?> timer;
+
+    /**
+     * Simplified version of {@link #BatchingTopicSubscriber(MessageDescriptor, RosName, int,
+     * Duration)} where topic is converted to {@link RosName} and messageClass to {@link
+     * MessageDescriptor}
+     */
+    public BatchingTopicSubscriber(
+            Class<M> messageClass, String topic, int maxBatchSize, Duration maxBatchDelay) {
+        this(
+                MessageDescriptorCache.getDefault().getMessageDescriptor(messageClass),
+                MessageDescriptorCache.getDefault().getTopicName(topic),
+                maxBatchSize,
+                maxBatchDelay);
+    }
+
+    /**
+     * @param messageDescriptor descriptor of the messages in this topic
+     * @param topic Name of the topic which messages current subscriber wants to receive
+     * @param maxBatchSize maximum number of messages in the batch
+     * @param maxBatchDelay maximum time since the first message of the batch was received before
+     *     the batch is delivered
+     */
+    public BatchingTopicSubscriber(
+            MessageDescriptor<M> messageDescriptor,
+            RosName topic,
+            int maxBatchSize,
+            Duration maxBatchDelay) {
+        super(messageDescriptor, topic);
+        Preconditions.isTrue(maxBatchSize > 0, "Maximum batch size must be positive");
+        Preconditions.isTrue(
+                !maxBatchDelay.isNegative() && !maxBatchDelay.isZero(),
+                "Maximum batch delay must be positive");
+        this.maxBatchSize = maxBatchSize;
+        maxBatchDelayNanos = maxBatchDelay.toNanos();
+        batch = new ArrayList<>(maxBatchSize);
+        batchView = Collections.unmodifiableList(batch);
+        withInitialRequest(maxBatchSize);
+    }
+
+    /**
+     * Process the batch of messages.
+     *
+     * <p>To avoid allocations same list instance is reused for all batches, so it is valid only
+     * until this method returns. Subscribers which need to keep messages should copy them.
+     */
+    public abstract void onNextBatch(List<M> batch);
+
+    /**
+     * Adds message to the current batch. Subscribers should implement {@link #onNextBatch(List)}
+     * instead.
+     */
+    @Override
+    public final void onNext(M item) {
+        super.onNext(item);
+        // message is used after onNext returns
+        retain(item);
+        synchronized (batch) {
+            batch.add(item);
+            if (batch.size() >= maxBatchSize) flush();
+            else if (batch.size() == 1)
+                timer = TIMER.schedule(this::onTimer, maxBatchDelayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Delivers pending batch. Subscribers which redefine this method should call it before
+     * processing the completion.
+     */
+    @Override
+    public void onComplete() {
+        synchronized (batch) {
+            flush();
+        }
+        super.onComplete();
+    }
+
+    /** Delivers pending batch and then calls default onError handler */
+    @Override
+    public void onError(Throwable throwable) {
+        synchronized (batch) {
+            flush();
+        }
+        super.onError(throwable);
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public Duration getMaxBatchDelay() {
+        return Duration.ofNanos(maxBatchDelayNanos);
+    }
+
+    private void onTimer() {
+        synchronized (batch) {
+            flush();
+        }
+    }
+
+    /** Must be called while holding the lock on the batch */
+    private void flush() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        var size = batch.size();
+        if (size == 0) return;
+        try {
+            onNextBatch(batchView);
+        } catch (Exception e) {
+            LOGGER.severe("Error processing the batch", e);
+        } finally {
+            for (int i = 0; i < size; i++) release(batch.get(i));
+            batch.clear();
+        }
+        getSubscription().ifPresent(s -> s.request(size));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds executor which default implementations of the asynchronous {@link JRosClient} operations
+ * use to run their blocking counterparts.
+ *
+ * <p>Such operations block on the network, so they do not run on the {@link
+ * java.util.concurrent.ForkJoinPool#commonPool()} where they would hold the threads which are
+ * shared with the message delivery. Executor is created on first use. When virtual threads are
+ * supported (see {@link ExecutionMode#isVirtualThreadsSupported()}) each operation runs on its own
+ * virtual thread. Otherwise operations run on a bounded pool of daemon threads, which terminate
+ * when idle, and operations which exceed the number of threads wait in the queue.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+final class BlockingCallsExecutor {
+
+    private static final String NAME = "jrosclient-blocking-calls";
+
+    /** Maximum number of platform threads, used only when virtual threads are not supported */
+    static final int MAX_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private static class Holder {
+        static final Executor INSTANCE =
+                ExecutionMode.isVirtualThreadsSupported()
+                        ? ExecutionMode.VIRTUAL_THREADS.newExecutor(NAME)
+                        : newThreadPool();
+    }
+
+    private BlockingCallsExecutor() {}
+
+    static Executor get() {
+        return Holder.INSTANCE;
+    }
+
+    private static Executor newThreadPool() {
+        var executor =
+                new ThreadPoolExecutor(
+                        MAX_THREADS,
+                        MAX_THREADS,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        r -> {
+                            var thread = new Thread(r, NAME);
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
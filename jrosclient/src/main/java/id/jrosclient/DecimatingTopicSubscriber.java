@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosmessages.Message;
+import id.xfunction.Preconditions;
+
+/**
+ * Decorator which passes only every N-th message of the topic to the downstream subscriber.
+ *
+ * <p>For each message requested by the downstream subscriber it requests N messages from the topic,
+ * so that topic is not consumed faster than downstream subscriber can process it.
+ *
+ * <pre>{@code
+ * // every 10th message
+ * client.subscribe(new DecimatingTopicSubscriber<>(subscriber, 10));
+ * }</pre>
+ *
+ * @param <M> type of messages in the topic
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class DecimatingTopicSubscriber<M extends Message>
+        extends FilteringTopicSubscriber<M> {
+
+    private final int factor;
+    private long counter;
+
+    /**
+     * @param downstream subscriber which receives messages
+     * @param factor only one of each factor messages is passed to the downstream subscriber
+     *     (starting from the first one)
+     */
+    public DecimatingTopicSubscriber(TopicSubscriber<M> downstream, int factor) {
+        super(downstream);
+        Preconditions.isTrue(factor > 0, "Decimation factor must be positive");
+        this.factor = factor;
+    }
+
+    public int getFactor() {
+        return factor;
+    }
+
+    @Override
+    boolean accept(M item, long nowNanos) {
+        return counter % factor == 0;
+    }
+
+    @Override
+    void onProcessed() {
+        // phase follows the topic even when downstream has no demand
+        counter++;
+    }
+
+    @Override
+    void onRequest(long n) {
+        var upstreamRequest = n * factor;
+        // overflow
+        if (upstreamRequest / factor != n) upstreamRequest = Long.MAX_VALUE;
+        upstream.request(upstreamRequest);
+    }
+}
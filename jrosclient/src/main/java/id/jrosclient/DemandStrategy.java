@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.xfunction.Preconditions;
+import id.xfunction.XJson;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Defines how {@link TopicSubscriber} requests messages from the publisher.
+ *
+ * <p>Window strategies keep up to the window size of messages requested but not yet received. Once
+ * number of such messages drops to the low watermark the subscriber requests more messages to fill
+ * the window again. This way demand is signalled in chunks instead of one message at a time
+ * (similar to limitRate operator in Reactor).
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class DemandStrategy {
+
+    public enum Type {
+        /**
+         * Subscriber requests initial number of messages (see {@link
+         * TopicSubscriber#withInitialRequest(int)}) and the rest is requested by the user code
+         */
+        MANUAL,
+
+        /** Keep fixed window of messages requested */
+        FIXED_WINDOW,
+
+        /**
+         * Window size changes between minimum and maximum, so that window holds as many messages as
+         * subscriber consumes during the target time. Subscriber consumption time per message is
+         * measured as exponentially weighted moving average of the time which onNext takes to
+         * return, so it does not depend on how often messages arrive. It is measured for the
+         * subscribers which are subscribed with {@link JRosClient#subscribe(TopicSubscriber)}
+         * (including subscribers which are wrapped by decorators like {@link
+         * SamplingTopicSubscriber}), for others window stays at its minimum.
+         */
+        ADAPTIVE_WINDOW
+    }
+
+    /** Default strategy */
+    public static final DemandStrategy MANUAL =
+            new DemandStrategy(Type.MANUAL, 0, 0, 0, Duration.ZERO);
+
+    private final Type type;
+    private final int minWindow;
+    private final int maxWindow;
+    private final int lowWatermark;
+    private final Duration targetTime;
+
+    private DemandStrategy(
+            Type type, int minWindow, int maxWindow, int lowWatermark, Duration targetTime) {
+        this.type = type;
+        this.minWindow = minWindow;
+        this.maxWindow = maxWindow;
+        this.lowWatermark = lowWatermark;
+        this.targetTime = targetTime;
+    }
+
+    /**
+     * Fixed window where low watermark is a quarter of the window (more messages are requested when
+     * 75% of the window is received)
+     *
+     * @see Type#FIXED_WINDOW
+     */
+    public static DemandStrategy fixedWindow(int window) {
+        return fixedWindow(window, window / 4);
+    }
+
+    /**
+     * @param lowWatermark number of outstanding messages when subscriber requests more messages
+     * @see Type#FIXED_WINDOW
+     */
+    public static DemandStrategy fixedWindow(int window, int lowWatermark) {
+        Preconditions.isTrue(window > 0, "Window must be positive");
+        Preconditions.isTrue(
+                lowWatermark >= 0 && lowWatermark < window,
+                "Low watermark must be non negative and less than the window");
+        return new DemandStrategy(Type.FIXED_WINDOW, window, window, lowWatermark, Duration.ZERO);
+    }
+
+    /**
+     * Adaptive window where low watermark is a quarter of the current window
+     *
+     * @param targetTime how long it should take subscriber to consume the whole window
+     * @see Type#ADAPTIVE_WINDOW
+     */
+    public static DemandStrategy adaptiveWindow(int minWindow, int maxWindow, Duration targetTime) {
+        Preconditions.isTrue(minWindow > 0, "Minimum window must be positive");
+        Preconditions.isTrue(maxWindow >= minWindow, "Maximum window is less than minimum");
+        Preconditions.isTrue(
+                !targetTime.isNegative() && !targetTime.isZero(), "Target time must be positive");
+        return new DemandStrategy(Type.ADAPTIVE_WINDOW, minWindow, maxWindow, 0, targetTime);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /** Window size, for {@link Type#ADAPTIVE_WINDOW} it is the initial window size */
+    public int getMinWindow() {
+        return minWindow;
+    }
+
+    public int getMaxWindow() {
+        return maxWindow;
+    }
+
+    /** Low watermark for {@link Type#FIXED_WINDOW} */
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    /** Target time for {@link Type#ADAPTIVE_WINDOW}, for other types it is zero */
+    public Duration getTargetTime() {
+        return targetTime;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, minWindow, maxWindow, lowWatermark, targetTime);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        var other = (DemandStrategy) obj;
+        return type == other.type
+                && minWindow == other.minWindow
+                && maxWindow == other.maxWindow
+                && lowWatermark == other.lowWatermark
+                && Objects.equals(targetTime, other.targetTime);
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString(
+                "type",
+                type,
+                "minWindow",
+                minWindow,
+                "maxWindow",
+                maxWindow,
+                "lowWatermark",
+                lowWatermark,
+                "targetTime",
+                targetTime);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Defines which threads topic publishers use to deliver messages to the subscribers.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public enum ExecutionMode {
+
+    /**
+     * Use {@link ForkJoinPool#commonPool()} which is shared with parallel streams and any other
+     * code in the JVM which uses it. This is default mode.
+     */
+    FORK_JOIN_POOL,
+
+    /**
+     * Run deliveries on virtual threads. This isolates topics from each other and allows
+     * subscribers to block without starving any shared pool.
+     *
+     * <p>Executor starts new virtual thread for each task it receives (see {@code
+     * Executors#newThreadPerTaskExecutor}). {@link TopicSubmissionPublisher} submits a task each
+     * time subscriber which was idle receives new messages, and such task delivers all messages
+     * which are available to the subscriber before it completes. So there is one virtual thread per
+     * burst of messages, not per message. Publishers which run long lived delivery loops (like
+     * {@link RingBufferTopicPublisher}) occupy one virtual thread per subscriber.
+     *
+     * <p>Requires Java 21 or later (see {@link #isVirtualThreadsSupported()}).
+     */
+    VIRTUAL_THREADS;
+
+    /**
+     * Factory of virtual threads which is looked up dynamically so that this library still can be
+     * used on Java versions where virtual threads are not available.
+     */
+    private static class VirtualThreads {
+        static final boolean IS_SUPPORTED;
+
+        static {
+            var isSupported = false;
+            try {
+                Thread.class.getMethod("ofVirtual");
+                isSupported = true;
+            } catch (NoSuchMethodException e) {
+                // older Java version
+            }
+            IS_SUPPORTED = isSupported;
+        }
+
+        static ThreadFactory newThreadFactory(String namePrefix) {
+            try {
+                var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                var builderClass = Class.forName("java.lang.Thread$Builder");
+                builderClass
+                        .getMethod("name", String.class, long.class)
+                        .invoke(builder, namePrefix, 0L);
+                return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                throw new JRosClientException(e);
+            }
+        }
+
+        static Executor newThreadPerTaskExecutor(String namePrefix) {
+            try {
+                return (Executor)
+                        Executors.class
+                                .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                                .invoke(null, newThreadFactory(namePrefix));
+            } catch (ReflectiveOperationException e) {
+                throw new JRosClientException(e);
+            }
+        }
+    }
+
+    /**
+     * @return true if current Java version supports {@link #VIRTUAL_THREADS}
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VirtualThreads.IS_SUPPORTED;
+    }
+
+    /**
+     * Create executor for the topic publisher
+     *
+     * @param name used as a prefix for names of the threads (if mode creates any)
+     * @throws JRosClientException if mode is not supported by current Java version
+     */
+    public Executor newExecutor(String name) {
+        return switch (this) {
+            case FORK_JOIN_POOL -> ForkJoinPool.commonPool();
+            case VIRTUAL_THREADS -> {
+                if (!isVirtualThreadsSupported())
+                    throw new JRosClientException(
+                            "Execution mode %s requires Java 21 or later, current version %s",
+                            this, Runtime.version());
+                yield VirtualThreads.newThreadPerTaskExecutor(name + "-");
+            }
+        };
+    }
+}
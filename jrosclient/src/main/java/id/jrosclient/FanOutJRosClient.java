@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.XJson;
+import id.xfunction.logging.XLogger;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Client which shares one subscription of the decorated client between all local subscribers of the
+ * same topic.
+ *
+ * <p>First subscriber of the topic (same topic name and message type) creates subscription in the
+ * decorated client, so each message is received and deserialized only once. Messages are then
+ * multicast to all local subscribers through {@link TopicSubmissionPublisher}, where each
+ * subscriber has its own demand and buffer. What happens when one of the subscribers is too slow is
+ * defined by the {@link OverflowPolicy}, by default such subscriber loses its oldest messages so
+ * that other subscribers are not affected.
+ *
+ * <p>Once the last local subscriber of the topic is cancelled the shared subscription is cancelled
+ * as well.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class FanOutJRosClient implements JRosClient {
+    private final XLogger LOGGER = XLogger.getLogger(this);
+
+    private record TopicKey(String topic, Class<?> messageClass) {}
+
+    private final JRosClient client;
+    private final OverflowPolicy overflowPolicy;
+
+    /** Guarded by this */
+    private final Map<TopicKey, FanOut<?>> fanOuts = new HashMap<>();
+
+    /** Fan-out subscribers with {@link OverflowPolicy#DROP_OLDEST} policy */
+    public FanOutJRosClient(JRosClient client) {
+        this(client, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * @param client client which is used to subscribe to the topics
+     * @param overflowPolicy what to do when one of the local subscribers is slower than the topic
+     *     publisher. Policies which block ({@link OverflowPolicy#BLOCK}) delay all subscribers of
+     *     the topic.
+     */
+    public FanOutJRosClient(JRosClient client, OverflowPolicy overflowPolicy) {
+        this.client = client;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public EnumSet<RosVersion> getSupportedRosVersion() {
+        return client.getSupportedRosVersion();
+    }
+
+    @Override
+    public ExecutionMode getExecutionMode() {
+        return client.getExecutionMode();
+    }
+
+    @Override
+    public MessageDescriptorCache getMessageDescriptorCache() {
+        return client.getMessageDescriptorCache();
+    }
+
+    @Override
+    public Optional<MemoryBudget> getMemoryBudget() {
+        return client.getMemoryBudget();
+    }
+
+    @Override
+    public Optional<TopicScheduler> getTopicScheduler() {
+        return client.getTopicScheduler();
+    }
+
+    @Override
+    public Optional<PayloadArena> getPayloadArena() {
+        return client.getPayloadArena();
+    }
+
+    @Override
+    public <M extends Message> void subscribe(
+            RosName topic, MessageDescriptor<M> messageDescriptor, Subscriber<M> subscriber)
+            throws JRosClientException {
+        LOGGER.entering("subscribe", topic);
+        var key = new TopicKey(topic.toGlobalName(), messageDescriptor.getMessageClass());
+        FanOut<M> fanOut;
+        var isNew = false;
+        synchronized (this) {
+            @SuppressWarnings("unchecked")
+            var existing = (FanOut<M>) fanOuts.get(key);
+            fanOut = existing;
+            if (fanOut == null) {
+                fanOut = new FanOut<>(key, messageDescriptor, topic);
+                fanOuts.put(key, fanOut);
+                isNew = true;
+            }
+            // keeps fan-out in use until subscriber is subscribed to it
+            fanOut.joiningCount++;
+        }
+        // publisher may call subscriber back, so it is subscribed without holding the lock
+        try {
+            fanOut.publisher.subscribe(subscriber);
+        } finally {
+            synchronized (this) {
+                fanOut.joiningCount--;
+            }
+        }
+        // subscriber may be already cancelled while fan-out could not be removed
+        if (!fanOut.publisher.hasSubscribers()) fanOut.cancelIfUnused();
+        if (isNew) {
+            LOGGER.fine("Creating shared subscription for topic {0}", topic);
+            try {
+                client.subscribe(topic, messageDescriptor, fanOut);
+            } catch (RuntimeException e) {
+                remove(fanOut);
+                fanOut.publisher.closeExceptionally(e);
+                throw e;
+            }
+        }
+        LOGGER.exiting("subscribe");
+    }
+
+    @Override
+    public <M extends Message> void publish(TopicPublisher<M> publisher)
+            throws JRosClientException {
+        client.publish(publisher);
+    }
+
+    @Override
+    public <M extends Message> void unpublish(RosName topic, MessageDescriptor<M> messageDescriptor)
+            throws JRosClientException {
+        client.unpublish(topic, messageDescriptor);
+    }
+
+    @Override
+    public void warmUp(TopicDeclaration<?> topic) throws JRosClientException {
+        client.warmUp(topic);
+    }
+
+    @Override
+    public <M extends Message> CompletableFuture<Void> publishAsync(TopicPublisher<M> publisher) {
+        return client.publishAsync(publisher);
+    }
+
+    @Override
+    public <M extends Message> CompletableFuture<Void> unpublishAsync(
+            RosName topic, MessageDescriptor<M> messageDescriptor) {
+        return client.unpublishAsync(topic, messageDescriptor);
+    }
+
+    @Override
+    public boolean hasPublisher(RosName topic) {
+        return client.hasPublisher(topic);
+    }
+
+    /**
+     * Close decorated client and all fan-out publishers. Blocks until messages which are already
+     * received are delivered to the local subscribers, after that they are completed.
+     */
+    @Override
+    public void close() {
+        LOGGER.entering("close");
+        List<FanOut<?>> closing;
+        synchronized (this) {
+            closing = new ArrayList<>(fanOuts.values());
+        }
+        // shared subscriptions may complete and leave the map while client is closed
+        client.close();
+        synchronized (this) {
+            fanOuts.clear();
+        }
+        closing.forEach(FanOut::close);
+        LOGGER.exiting("close");
+    }
+
+    @Override
+    public boolean isClosed() {
+        return client.isClosed();
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString("client", client, "overflowPolicy", overflowPolicy);
+    }
+
+    private synchronized void remove(FanOut<?> fanOut) {
+        fanOuts.remove(fanOut.key, fanOut);
+    }
+
+    private synchronized boolean removeIfUnused(FanOut<?> fanOut) {
+        if (fanOut.joiningCount > 0 || fanOut.publisher.hasSubscribers()) return false;
+        fanOuts.remove(fanOut.key, fanOut);
+        return true;
+    }
+
+    /** Single subscriber of the decorated client which multicasts messages to local subscribers */
+    private class FanOut<M extends Message> implements Subscriber<M> {
+        private final TopicKey key;
+        private final TopicSubmissionPublisher<M> publisher;
+        private final AtomicBoolean isCancelled = new AtomicBoolean();
+        private volatile Subscription subscription;
+
+        /** Number of local subscribers which are being subscribed, guarded by the client */
+        private int joiningCount;
+
+        FanOut(TopicKey key, MessageDescriptor<M> messageDescriptor, RosName topic) {
+            this.key = key;
+            publisher =
+                    new TopicSubmissionPublisher<>(
+                            messageDescriptor, topic, getExecutionMode(), overflowPolicy) {
+                        @Override
+                        protected void onSubscriberRemoved(int remaining) {
+                            if (remaining == 0) cancelIfUnused();
+                        }
+                    };
+            getMemoryBudget().ifPresent(publisher::withMemoryBudget);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            // last local subscriber may be cancelled before the shared subscription is created
+            if (isCancelled.get()) {
+                subscription.cancel();
+                return;
+            }
+            // demand of each local subscriber is managed by the publisher
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(M item) {
+            // shared subscription may still deliver messages which were in flight when it was
+            // cancelled
+            if (isCancelled.get()) return;
+            publisher.submit(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            remove(this);
+            publisher.closeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            remove(this);
+            // do not block the client while slow subscribers receive pending messages
+            publisher.closeAsync();
+        }
+
+        private void cancelIfUnused() {
+            // new subscriber may have joined the fan-out after the last one was removed
+            if (!removeIfUnused(this)) return;
+            if (!isCancelled.compareAndSet(false, true)) return;
+            LOGGER.fine("No more local subscribers, cancelling shared subscription");
+            var subscription = this.subscription;
+            if (subscription != null) subscription.cancel();
+            publisher.closeAsync();
+        }
+
+        void close() {
+            isCancelled.set(true);
+            publisher.close();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.metrics.TopicMetrics;
+import id.jrosmessages.Message;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class for the {@link TopicSubscriber} decorators which pass only some of the received
+ * messages to the downstream subscriber.
+ *
+ * <p>Decorator owns the upstream subscription and requests messages on behalf of the downstream
+ * subscriber, so that implementations can filter messages by not requesting them at all. Messages
+ * which are received but not passed downstream are counted in {@link
+ * id.jrosclient.metrics.JRosClientMetrics#TOPIC_SUBSCRIBER_MESSAGES_FILTERED_COUNT_METRIC}
+ *
+ * <p>Implementations do not allocate anything per message.
+ *
+ * @param <M> type of messages in the topic
+ * @author lambdaprime intid@protonmail.com
+ */
+abstract class FilteringTopicSubscriber<M extends Message> extends TopicSubscriber<M> {
+
+    static final ScheduledExecutorService TIMER =
+            Executors.newSingleThreadScheduledExecutor(
+                    r -> {
+                        var thread = new Thread(r, "filtering-subscriber-timer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private final TopicSubscriber<M> downstream;
+    private final TopicMetrics metrics;
+    private final AtomicLong demand = new AtomicLong();
+    private final Subscription downstreamSubscription =
+            new Subscription() {
+                @Override
+                public void request(long n) {
+                    if (n <= 0) {
+                        requestError =
+                                new IllegalArgumentException(
+                                        "Number of requested items must be positive");
+                        cancel();
+                        // when onNext is in progress it signals the error once it returns
+                        if (wip.getAndIncrement() == 0) downstream.onError(requestError);
+                        return;
+                    }
+                    demand.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+                    onRequest(n);
+                }
+
+                @Override
+                public void cancel() {
+                    isCancelled = true;
+                    onTerminate();
+                    upstream.cancel();
+                    releaseMetrics();
+                }
+            };
+    Subscription upstream;
+    volatile boolean isCancelled;
+
+    /** Makes sure that invalid request error is not signalled concurrently with onNext */
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Throwable requestError;
+
+    FilteringTopicSubscriber(TopicSubscriber<M> downstream) {
+        super(downstream.getMessageDescriptor(), downstream.getTopic());
+        this.downstream = downstream;
+        metrics = getMetrics();
+        withSchedulingPolicy(downstream.getSchedulingPolicy());
+    }
+
+    /**
+     * Not called for the messages which are received when downstream subscriber has no demand, use
+     * {@link #onProcessed()} to track all received messages.
+     *
+     * @return true if message should be passed to the downstream subscriber
+     */
+    abstract boolean accept(M item, long nowNanos);
+
+    /** Called when downstream subscriber requests more messages */
+    abstract void onRequest(long n);
+
+    /**
+     * Called after each received message was either passed downstream or filtered out, including
+     * messages which were received when downstream subscriber had no demand
+     */
+    void onProcessed() {}
+
+    /** Called once upstream subscription is available */
+    void onStart() {}
+
+    /** Called when subscription is cancelled or completed */
+    void onTerminate() {}
+
+    boolean hasDemand() {
+        return demand.get() > 0;
+    }
+
+    public TopicSubscriber<M> getDownstream() {
+        return downstream;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        upstream = subscription;
+        downstream.onSubscribe(downstreamSubscription);
+        onStart();
+    }
+
+    @Override
+    public void onNext(M item) {
+        if (isCancelled) return;
+        if (wip.getAndIncrement() != 0) return;
+        try {
+            var nowNanos = System.nanoTime();
+            if (demand.get() > 0 && accept(item, nowNanos)) {
+                if (demand.get() != Long.MAX_VALUE) demand.decrementAndGet();
+                downstream.onNext(item);
+                downstream.onProcessed(nowNanos);
+            } else {
+                metrics.onFiltered();
+            }
+            onProcessed();
+        } finally {
+            if (wip.decrementAndGet() != 0) downstream.onError(requestError);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        onTerminate();
+        releaseMetrics();
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        onTerminate();
+        releaseMetrics();
+        downstream.onComplete();
+    }
+}
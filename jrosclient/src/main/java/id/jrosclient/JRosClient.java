@@ -18,13 +18,21 @@
 package id.jrosclient;
 
 import id.jrosclient.exceptions.JRosClientException;
+import id.jrosclient.impl.ConflatingSubscriber;
+import id.jrosclient.impl.SchedulingSubscriber;
+import id.jrosclient.metrics.TopicMetricsRegistry;
 import id.jroscommon.RosName;
 import id.jrosmessages.Message;
 import id.jrosmessages.MessageDescriptor;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.EnumSet;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Flow.Publisher;
 import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
 
 /**
  * Main interface of the <b>jrosclient</b> which allows to interact with different versions of ROS.
@@ -62,7 +70,8 @@ public interface JRosClient extends AutoCloseable {
     default <M extends Message> void subscribe(
             String topic, Class<M> messageClass, Subscriber<M> subscriber)
             throws JRosClientException {
-        subscribe(new RosName(topic), new MessageDescriptor<>(messageClass), subscriber);
+        var cache = getMessageDescriptorCache();
+        subscribe(cache.getTopicName(topic), cache.getMessageDescriptor(messageClass), subscriber);
     }
 
     /**
@@ -71,13 +80,155 @@ public interface JRosClient extends AutoCloseable {
      * <p>Simplified version of {@link #subscribe(RosName, MessageDescriptor, Subscriber)} which is
      * based on {@link TopicSubscriber}
      *
+     * <p>When subscriber has non default {@link TopicSubscriber#getSchedulingPolicy()} it receives
+     * messages on the {@link #getTopicScheduler()} of the client. Time which messages wait for the
+     * scheduler is reported as {@link
+     * id.jrosclient.metrics.JRosClientMetrics#TOPIC_SUBSCRIBER_DISPATCH_LATENCY_METRIC}.
+     *
      * @param <M> type of messages in the topic
      * @param subscriber provides information about the topic to subscribe for. Once subscribed it
      *     will be notified for any new message which gets published to given topic.
+     * @throws JRosClientException if subscriber has scheduling policy but client has no scheduler
      */
     default <M extends Message> void subscribe(TopicSubscriber<M> subscriber)
             throws JRosClientException {
-        subscribe(subscriber.getTopic(), subscriber.getMessageDescriptor(), subscriber);
+        subscriber.onSubscribeRequested();
+        var schedulingPolicy = subscriber.getSchedulingPolicy();
+        if (schedulingPolicy.equals(SchedulingPolicy.DEFAULT)) {
+            subscribe(
+                    subscriber.getTopic(),
+                    subscriber.getMessageDescriptor(),
+                    subscriber.toClientSubscriber());
+            return;
+        }
+        var scheduler =
+                getTopicScheduler()
+                        .orElseThrow(
+                                () ->
+                                        new JRosClientException(
+                                                "Subscriber has scheduling policy %s but client has"
+                                                        + " no topic scheduler",
+                                                schedulingPolicy));
+        subscribe(
+                subscriber.getTopic(),
+                subscriber.getMessageDescriptor(),
+                new SchedulingSubscriber<M>(
+                        subscriber.toClientSubscriber(),
+                        scheduler.newExecutor(subscriber.getTopic(), schedulingPolicy),
+                        subscriber.getMetrics()::onDispatched));
+    }
+
+    /**
+     * Subscribe to ROS topic in the given mode.
+     *
+     * <p>Version of {@link #subscribe(RosName, MessageDescriptor, Subscriber)} which allows to
+     * select which messages are passed to the subscriber.
+     *
+     * @param <M> type of messages in the topic
+     * @param subscriber is notified for messages which get published to given topic
+     * @param mode which messages are passed to the subscriber
+     */
+    default <M extends Message> void subscribe(
+            RosName topic,
+            MessageDescriptor<M> messageDescriptor,
+            Subscriber<M> subscriber,
+            SubscriptionMode mode)
+            throws JRosClientException {
+        switch (mode) {
+            case ALL -> subscribe(topic, messageDescriptor, subscriber);
+            case KEEP_LATEST -> {
+                var metrics = TopicMetricsRegistry.getDefault().getMetrics(topic);
+                subscribe(
+                        topic,
+                        messageDescriptor,
+                        new ConflatingSubscriber<M>(
+                                subscriber,
+                                getExecutionMode()
+                                        .newExecutor("subscriber-" + topic.toGlobalName()),
+                                m -> metrics.onConflated()) {
+                            // pooled messages are kept after onNext of the publisher returns
+                            @Override
+                            protected void offer(M item) {
+                                MessagePool.find(messageDescriptor)
+                                        .ifPresent(pool -> pool.retain(item));
+                                super.offer(item);
+                            }
+
+                            @Override
+                            protected void onReleased(M item) {
+                                MessagePool.find(messageDescriptor)
+                                        .ifPresent(pool -> pool.release(item));
+                            }
+
+                            @Override
+                            protected void onTerminated() {
+                                TopicMetricsRegistry.getDefault().release(metrics);
+                            }
+                        });
+            }
+        }
+    }
+
+    /**
+     * Subscribe to ROS topic in the given mode.
+     *
+     * <p>Simplified version of {@link #subscribe(RosName, MessageDescriptor, Subscriber,
+     * SubscriptionMode)} which is based on {@link TopicSubscriber}
+     */
+    default <M extends Message> void subscribe(TopicSubscriber<M> subscriber, SubscriptionMode mode)
+            throws JRosClientException {
+        subscribe(
+                subscriber.getTopic(),
+                subscriber.getMessageDescriptor(),
+                subscriber.toClientSubscriber(),
+                mode);
+    }
+
+    /**
+     * Subscribe to ROS topic and receive its messages without decoding them.
+     *
+     * <p>Subscriber receives {@link LazyMessage} views over the serialized messages and decodes
+     * only the messages (or their fields) which it accesses. This saves CPU for large messages when
+     * subscriber processes only some of them.
+     *
+     * <p>Default implementation subscribes with {@link #subscribe(RosName, MessageDescriptor,
+     * Subscriber)} and passes already decoded messages. Clients which support lazy decoding
+     * override it.
+     *
+     * @param <M> type of messages in the topic
+     * @param topic Name of the topic which messages current subscriber wants to receive.
+     * @param messageDescriptor descriptor of the messages in this topic
+     * @param subscriber is notified for any new message which gets published to given topic.
+     */
+    default <M extends Message> void subscribeLazy(
+            RosName topic,
+            MessageDescriptor<M> messageDescriptor,
+            Subscriber<LazyMessage<M>> subscriber)
+            throws JRosClientException {
+        subscribe(
+                topic,
+                messageDescriptor,
+                new Subscriber<M>() {
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        subscriber.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(M item) {
+                        subscriber.onNext(LazyMessage.ofMessage(messageDescriptor, item));
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        subscriber.onError(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        subscriber.onComplete();
+                    }
+                });
     }
 
     /**
@@ -135,7 +286,128 @@ public interface JRosClient extends AutoCloseable {
     default <M extends Message> void publish(
             String topic, Class<M> messageClass, Publisher<M> publisher)
             throws JRosClientException {
-        publish(new RosName(topic), new MessageDescriptor<>(messageClass), publisher);
+        var cache = getMessageDescriptorCache();
+        publish(cache.getTopicName(topic), cache.getMessageDescriptor(messageClass), publisher);
+    }
+
+    /**
+     * Create a new topic and start publishing messages for it.
+     *
+     * <p>Publisher for the topic is created by the client and returned to the user, so that user
+     * can submit messages to it. All messages which are submitted to the publisher are sent to the
+     * topic subscribers. Publisher delivers messages using {@link #getTopicScheduler()} of the
+     * client, or when it is empty using {@link #getExecutionMode()}.
+     *
+     * @param <M> type of messages in the topic
+     * @param topic Topic name
+     * @param messageDescriptor descriptor of the messages in this topic
+     * @param overflowPolicy what publisher should do when one of the topic subscribers is not able
+     *     to keep up with the rate of the published messages
+     * @return publisher which is used to submit messages to the topic
+     */
+    default <M extends Message> TopicSubmissionPublisher<M> publish(
+            RosName topic, MessageDescriptor<M> messageDescriptor, OverflowPolicy overflowPolicy)
+            throws JRosClientException {
+        var scheduler = getTopicScheduler();
+        if (scheduler.isPresent())
+            return publish(topic, messageDescriptor, overflowPolicy, SchedulingPolicy.DEFAULT);
+        var publisher =
+                new TopicSubmissionPublisher<>(
+                        messageDescriptor, topic, getExecutionMode(), overflowPolicy);
+        getMemoryBudget().ifPresent(publisher::withMemoryBudget);
+        publish(publisher);
+        return publisher;
+    }
+
+    /**
+     * Version of {@link #publish(RosName, MessageDescriptor, OverflowPolicy)} where publisher
+     * delivers messages using {@link #getTopicScheduler()} of the client with the given priority
+     * and deadline.
+     *
+     * @throws JRosClientException if client has no topic scheduler
+     */
+    default <M extends Message> TopicSubmissionPublisher<M> publish(
+            RosName topic,
+            MessageDescriptor<M> messageDescriptor,
+            OverflowPolicy overflowPolicy,
+            SchedulingPolicy schedulingPolicy)
+            throws JRosClientException {
+        var scheduler =
+                getTopicScheduler()
+                        .orElseThrow(
+                                () ->
+                                        new JRosClientException(
+                                                "Publisher has scheduling policy %s but client has"
+                                                        + " no topic scheduler",
+                                                schedulingPolicy));
+        var publisher =
+                new TopicSubmissionPublisher<>(
+                        messageDescriptor, topic, scheduler, schedulingPolicy, overflowPolicy);
+        getMemoryBudget().ifPresent(publisher::withMemoryBudget);
+        publish(publisher);
+        return publisher;
+    }
+
+    /**
+     * Simplified version of {@link #publish(RosName, MessageDescriptor, OverflowPolicy)} where
+     * topic is converted to {@link RosName}
+     */
+    default <M extends Message> TopicSubmissionPublisher<M> publish(
+            String topic, Class<M> messageClass, OverflowPolicy overflowPolicy)
+            throws JRosClientException {
+        var cache = getMessageDescriptorCache();
+        return publish(
+                cache.getTopicName(topic),
+                cache.getMessageDescriptor(messageClass),
+                overflowPolicy);
+    }
+
+    /**
+     * Execution mode of the publishers created by this client. Implementations return the value
+     * from their {@link JRosClientConfiguration#getExecutionMode()}.
+     */
+    default ExecutionMode getExecutionMode() {
+        return ExecutionMode.FORK_JOIN_POOL;
+    }
+
+    /**
+     * Cache which client uses to resolve topic names and message descriptors in the methods which
+     * accept them as strings and classes. Implementations return the value from their {@link
+     * JRosClientConfiguration#getMessageDescriptorCache()}.
+     */
+    default MessageDescriptorCache getMessageDescriptorCache() {
+        return MessageDescriptorCache.getDefault();
+    }
+
+    /**
+     * Scheduler which client uses to deliver messages of the topics according to their {@link
+     * SchedulingPolicy}. Implementations return the value from their {@link
+     * JRosClientConfiguration#getTopicScheduler()} and close it when the client is closed.
+     */
+    default Optional<TopicScheduler> getTopicScheduler() {
+        return Optional.empty();
+    }
+
+    /**
+     * Budget which limits total memory of the messages queued by the publishers created by this
+     * client (see {@link #publish(RosName, MessageDescriptor, OverflowPolicy)}). Implementations
+     * return the value from their {@link JRosClientConfiguration#getMemoryBudget()}.
+     */
+    default Optional<MemoryBudget> getMemoryBudget() {
+        return Optional.empty();
+    }
+
+    /**
+     * Arena which client uses for off-heap payloads of the {@link PayloadMessage} messages.
+     * Implementations return the value from their {@link JRosClientConfiguration#getPayloadArena()}
+     * and close it when the client is closed.
+     *
+     * <p>When present, messages which implement {@link PayloadMessage} are written to the network
+     * directly from their payload buffers, and received messages are delivered with payloads
+     * allocated from this arena.
+     */
+    default Optional<PayloadArena> getPayloadArena() {
+        return Optional.empty();
     }
 
     /**
@@ -164,7 +436,8 @@ public interface JRosClient extends AutoCloseable {
      */
     default <M extends Message> void unpublish(String topic, Class<M> messageClass)
             throws JRosClientException {
-        unpublish(new RosName(topic), new MessageDescriptor<>(messageClass));
+        var cache = getMessageDescriptorCache();
+        unpublish(cache.getTopicName(topic), cache.getMessageDescriptor(messageClass));
     }
 
     default <M extends Message> void unpublish(TopicPublisher<M> publisher)
@@ -172,10 +445,108 @@ public interface JRosClient extends AutoCloseable {
         unpublish(publisher.getTopic(), publisher.getMessageDescriptor());
     }
 
-    /** Check if there is any publisher available in the system for a given topic */
+    /**
+     * Prepare the topics before application starts using them, so that the first message of each
+     * topic is not delayed by the work which otherwise happens lazily. Topics are prepared in
+     * parallel on the same executor as {@link #publishAsync(TopicPublisher)} uses, since preparing
+     * may block on the network.
+     *
+     * @return future which completes once all topics are prepared, or completes exceptionally if
+     *     any of them failed
+     * @see #warmUp(TopicDeclaration)
+     */
+    default CompletableFuture<Void> warmUp(Collection<? extends TopicDeclaration<?>> topics) {
+        return warmUp(topics, BlockingCallsExecutor.get());
+    }
+
+    /** Version of {@link #warmUp(Collection)} where topics are prepared on the given executor */
+    default CompletableFuture<Void> warmUp(
+            Collection<? extends TopicDeclaration<?>> topics, Executor executor) {
+        return CompletableFuture.allOf(
+                topics.stream()
+                        .map(topic -> CompletableFuture.runAsync(() -> warmUp(topic), executor))
+                        .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Prepare single topic, blocks until it is done.
+     *
+     * <p>Default implementation initializes message class and its metadata in the {@link
+     * #getMessageDescriptorCache()}, creates topic metrics and preallocates message pool when it is
+     * declared (see {@link TopicDeclaration#withMessagePool(int)}). Implementations extend it with
+     * resolving message type of the topic, discovery of the topic participants, establishing
+     * connections and allocation of their buffers.
+     *
+     * <p>Time between subscribe and arrival of the first message to the {@link TopicSubscriber} is
+     * reported in {@link
+     * id.jrosclient.metrics.JRosClientMetrics#TOPIC_SUBSCRIBER_FIRST_MESSAGE_LATENCY_METRIC}, which
+     * allows to see the effect of the warm up.
+     */
+    default void warmUp(TopicDeclaration<?> topic) throws JRosClientException {
+        topic.prepare(getMessageDescriptorCache());
+    }
+
+    /**
+     * Asynchronous version of {@link #publish(TopicPublisher)} which does not block the caller.
+     *
+     * <p>Default implementation calls {@link #publish(TopicPublisher)} on the executor which is
+     * shared by all clients and dedicated to such blocking calls (they are not run on the {@link
+     * java.util.concurrent.ForkJoinPool#commonPool()}). Implementations are encouraged to override
+     * it and register the topic without blocking.
+     *
+     * @return future which is completed once topic is published, or completed exceptionally with
+     *     {@link JRosClientException} if it could not be published
+     */
+    default <M extends Message> CompletableFuture<Void> publishAsync(TopicPublisher<M> publisher) {
+        return publishAsync(publisher, BlockingCallsExecutor.get());
+    }
+
+    /**
+     * Version of {@link #publishAsync(TopicPublisher)} which calls {@link #publish(TopicPublisher)}
+     * on the given executor
+     */
+    default <M extends Message> CompletableFuture<Void> publishAsync(
+            TopicPublisher<M> publisher, Executor executor) {
+        return CompletableFuture.runAsync(() -> publish(publisher), executor);
+    }
+
+    /**
+     * Asynchronous version of {@link #unpublish(RosName, MessageDescriptor)} which does not block
+     * the caller.
+     *
+     * <p>Default implementation calls {@link #unpublish(RosName, MessageDescriptor)} on the same
+     * executor as {@link #publishAsync(TopicPublisher)}.
+     *
+     * @return future which is completed once topic is unpublished
+     */
+    default <M extends Message> CompletableFuture<Void> unpublishAsync(
+            RosName topic, MessageDescriptor<M> messageDescriptor) {
+        return unpublishAsync(topic, messageDescriptor, BlockingCallsExecutor.get());
+    }
+
+    /**
+     * Version of {@link #unpublishAsync(RosName, MessageDescriptor)} which calls {@link
+     * #unpublish(RosName, MessageDescriptor)} on the given executor
+     */
+    default <M extends Message> CompletableFuture<Void> unpublishAsync(
+            RosName topic, MessageDescriptor<M> messageDescriptor, Executor executor) {
+        return CompletableFuture.runAsync(() -> unpublish(topic, messageDescriptor), executor);
+    }
+
+    /**
+     * Check if there is any publisher available in the system for a given topic.
+     *
+     * <p>Implementations are expected to answer it without blocking (see {@link TopicRegistry}).
+     */
     boolean hasPublisher(RosName topic);
 
-    /** May block until there is no more pending messages in any of the internal queue */
+    /**
+     * May block until there is no more pending messages in any of the internal queue.
+     *
+     * <p>Implementations are expected to close all their publishers in parallel using {@link
+     * TopicPublisher#closeAsync()} so that total time of this operation does not depend on number
+     * of topics.
+     */
     @Override
     void close();
 
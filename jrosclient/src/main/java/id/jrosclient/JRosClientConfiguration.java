@@ -17,7 +17,52 @@
  */
 package id.jrosclient;
 
+import id.jroscommon.RosName;
+import java.util.Optional;
+
 /**
  * @author lambdaprime intid@protonmail.com
  */
-public interface JRosClientConfiguration {}
+public interface JRosClientConfiguration {
+
+    /**
+     * Execution mode of the publishers which are created by the client (see {@link
+     * JRosClient#publish(RosName, id.jrosmessages.MessageDescriptor, OverflowPolicy)})
+     */
+    default ExecutionMode getExecutionMode() {
+        return ExecutionMode.FORK_JOIN_POOL;
+    }
+
+    /**
+     * Cache of the message descriptors, their metadata and serializers and of the topic names. By
+     * default it is shared by all clients.
+     */
+    default MessageDescriptorCache getMessageDescriptorCache() {
+        return MessageDescriptorCache.getDefault();
+    }
+
+    /**
+     * Scheduler which delivers messages of the topics according to their {@link SchedulingPolicy}.
+     * When empty (by default) all topics are delivered using {@link #getExecutionMode()} in the
+     * order of their arrival.
+     */
+    default Optional<TopicScheduler> getTopicScheduler() {
+        return Optional.empty();
+    }
+
+    /**
+     * Budget which limits total memory of the messages queued by all publishers of the client. When
+     * empty (by default) each publisher is limited only by its own buffers.
+     */
+    default Optional<MemoryBudget> getMemoryBudget() {
+        return Optional.empty();
+    }
+
+    /**
+     * Arena for off-heap payloads of {@link PayloadMessage}. When empty (by default) clients copy
+     * all message data to the heap.
+     */
+    default Optional<PayloadArena> getPayloadArena() {
+        return Optional.empty();
+    }
+}
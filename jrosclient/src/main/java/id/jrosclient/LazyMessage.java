@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.XJson;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * View over the serialized message which decodes it only when it is accessed.
+ *
+ * <p>Subscribers which need only some of the fields to decide whether the message is of interest
+ * can read them with {@link #getField(String, Class)} and call {@link #get()} only for the messages
+ * they are going to process. Message is decoded at most once and then cached.
+ *
+ * <p>Serialized bytes are valid only until the subscriber returns from onNext. Subscribers which
+ * keep the message after that should call {@link #get()} before returning.
+ *
+ * @see JRosClient#subscribeLazy(id.jroscommon.RosName, MessageDescriptor,
+ *     java.util.concurrent.Flow.Subscriber)
+ * @param <M> type of the message
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class LazyMessage<M extends Message> {
+
+    /** Whether decoder class has its own implementation of decoding single fields */
+    private static final ClassValue<Boolean> DECODES_FIELDS =
+            new ClassValue<>() {
+                @Override
+                protected Boolean computeValue(Class<?> decoderClass) {
+                    try {
+                        return decoderClass
+                                        .getMethod("decodeField", ByteBuffer.class, String.class)
+                                        .getDeclaringClass()
+                                != MessageDecoder.class;
+                    } catch (NoSuchMethodException e) {
+                        throw new JRosClientException(e);
+                    }
+                }
+            };
+
+    private final MessageDescriptor<M> messageDescriptor;
+    private final ByteBuffer data;
+    private final MessageDecoder<M> decoder;
+    private volatile M message;
+
+    private LazyMessage(
+            MessageDescriptor<M> messageDescriptor,
+            ByteBuffer data,
+            MessageDecoder<M> decoder,
+            M message) {
+        this.messageDescriptor = messageDescriptor;
+        this.data = data;
+        this.decoder = decoder;
+        this.message = message;
+    }
+
+    /**
+     * Create view over serialized message
+     *
+     * @param data serialized message from its position to the limit
+     */
+    public static <M extends Message> LazyMessage<M> of(
+            MessageDescriptor<M> messageDescriptor, ByteBuffer data, MessageDecoder<M> decoder) {
+        return new LazyMessage<>(messageDescriptor, data.asReadOnlyBuffer(), decoder, null);
+    }
+
+    /**
+     * Create view over the message which was already decoded. It is used by clients which do not
+     * support lazy decoding.
+     */
+    public static <M extends Message> LazyMessage<M> ofMessage(
+            MessageDescriptor<M> messageDescriptor, M message) {
+        return new LazyMessage<>(messageDescriptor, null, null, message);
+    }
+
+    public MessageDescriptor<M> getMessageDescriptor() {
+        return messageDescriptor;
+    }
+
+    /**
+     * @return serialized message or empty if message was received already decoded
+     */
+    public Optional<ByteBuffer> getData() {
+        return Optional.ofNullable(data).map(ByteBuffer::duplicate);
+    }
+
+    public boolean isDecoded() {
+        return message != null;
+    }
+
+    /** Decode the whole message (or return it if it was decoded already) */
+    public M get() {
+        var result = message;
+        if (result != null) return result;
+        synchronized (this) {
+            if (message == null) message = decoder.decode(data.duplicate());
+            return message;
+        }
+    }
+
+    /**
+     * Decode single field of the message without decoding the rest of it. If message was decoded
+     * already, field value is read from it.
+     *
+     * <p>When decoder does not override {@link MessageDecoder#decodeField(ByteBuffer, String)} it
+     * would decode the whole message anyway, so in that case message is decoded with {@link #get()}
+     * and cached for the next calls.
+     *
+     * @param fieldName name of the public field of the message class
+     * @param fieldType type of the field value, primitive types are accepted for the fields of
+     *     primitive types
+     * @throws JRosClientException if message has no such field or it is of other type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getField(String fieldName, Class<T> fieldType) {
+        var decoded = message;
+        Object value;
+        if (decoded != null) value = MessageDecoder.readField(decoded, fieldName);
+        else if (!DECODES_FIELDS.get(decoder.getClass()))
+            value = MessageDecoder.readField(get(), fieldName);
+        else value = decoder.decodeField(data.duplicate(), fieldName);
+        var valueType = MethodType.methodType(fieldType).wrap().returnType();
+        if (!valueType.isInstance(value))
+            throw new JRosClientException(
+                    "Field %s of message %s is not of type %s",
+                    fieldName, messageDescriptor.getMessageClass().getName(), fieldType.getName());
+        return (T) value;
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString(
+                "messageClass",
+                messageDescriptor.getMessageClass().getName(),
+                "size",
+                data == null ? 0 : data.remaining(),
+                "isDecoded",
+                isDecoded());
+    }
+}
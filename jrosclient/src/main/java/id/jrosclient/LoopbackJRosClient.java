@@ -0,0 +1,337 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.XJson;
+import id.xfunction.logging.XLogger;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow.Subscriber;
+
+/**
+ * Client which connects publishers and subscribers from the same JVM directly, without
+ * serialization and network.
+ *
+ * <p>It decorates any other {@link JRosClient} implementation. When subscriber subscribes to the
+ * topic which has publisher created through this client (same topic name and message type), the
+ * subscriber is subscribed directly to such publisher and receives same message objects which were
+ * submitted to it. All other subscribers, as well as all publishers, are passed to the decorated
+ * client so that remote peers can communicate with them as usual.
+ *
+ * <p>Local pairs are detected when subscriber subscribes. It means that:
+ *
+ * <ul>
+ *   <li>subscribers which subscribed before the local publisher was created receive its messages
+ *       through the decorated client
+ *   <li>subscribers which are connected to the local publisher do not receive messages from remote
+ *       publishers of the same topic
+ * </ul>
+ *
+ * <p>Since subscribers receive the same message objects, neither publisher nor subscribers should
+ * modify messages after they were submitted.
+ *
+ * <p>When created without decorated client it works as a network-free client where only local
+ * publishers and subscribers can communicate, which is useful for tests and benchmarks. Such client
+ * keeps subscribers which subscribed before the publisher of their topic was created and subscribes
+ * them to the publisher once it is published.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class LoopbackJRosClient implements JRosClient {
+    private final XLogger LOGGER = XLogger.getLogger(this);
+
+    private final Optional<JRosClient> client;
+    private final TopicRegistry publishers = new TopicRegistry();
+
+    /**
+     * Subscribers of the network-free client which wait for the publisher of their topic, guarded
+     * by itself
+     */
+    private final Map<String, List<PendingSubscriber<?>>> pendingSubscribers = new HashMap<>();
+
+    private record PendingSubscriber<M extends Message>(
+            MessageDescriptor<M> messageDescriptor, Subscriber<M> subscriber) {
+
+        @SuppressWarnings("unchecked")
+        void subscribe(TopicPublisher<?> publisher) {
+            ((TopicPublisher<M>) publisher).subscribe(subscriber);
+        }
+    }
+
+    private volatile boolean isClosed;
+
+    /** Create network-free client where only local publishers and subscribers can communicate */
+    public LoopbackJRosClient() {
+        client = Optional.empty();
+    }
+
+    /**
+     * @param client client which is used for all publishers and for subscribers without local
+     *     publisher
+     */
+    public LoopbackJRosClient(JRosClient client) {
+        this.client = Optional.of(client);
+    }
+
+    @Override
+    public EnumSet<RosVersion> getSupportedRosVersion() {
+        return client.map(JRosClient::getSupportedRosVersion)
+                .orElseGet(() -> EnumSet.allOf(RosVersion.class));
+    }
+
+    @Override
+    public ExecutionMode getExecutionMode() {
+        return client.map(JRosClient::getExecutionMode).orElse(ExecutionMode.FORK_JOIN_POOL);
+    }
+
+    @Override
+    public MessageDescriptorCache getMessageDescriptorCache() {
+        return client.map(JRosClient::getMessageDescriptorCache)
+                .orElseGet(MessageDescriptorCache::getDefault);
+    }
+
+    @Override
+    public Optional<MemoryBudget> getMemoryBudget() {
+        return client.flatMap(JRosClient::getMemoryBudget);
+    }
+
+    @Override
+    public Optional<TopicScheduler> getTopicScheduler() {
+        return client.flatMap(JRosClient::getTopicScheduler);
+    }
+
+    @Override
+    public Optional<PayloadArena> getPayloadArena() {
+        return client.flatMap(JRosClient::getPayloadArena);
+    }
+
+    @Override
+    public <M extends Message> void subscribe(
+            RosName topic, MessageDescriptor<M> messageDescriptor, Subscriber<M> subscriber)
+            throws JRosClientException {
+        LOGGER.entering("subscribe", topic);
+        var publisher = getLocalPublisher(topic, messageDescriptor);
+        if (publisher.isEmpty() && client.isEmpty())
+            publisher = awaitPublisher(topic, messageDescriptor, subscriber);
+        if (publisher.isPresent()) {
+            LOGGER.fine("Subscribing to the local publisher of topic {0}", topic);
+            publisher.get().subscribe(subscriber);
+        } else if (client.isPresent()) {
+            client.get().subscribe(topic, messageDescriptor, subscriber);
+        }
+        LOGGER.exiting("subscribe");
+    }
+
+    /**
+     * Local publishers pass messages which are already decoded, so lazy decoding is used only for
+     * topics which are received through the delegate client.
+     */
+    @Override
+    public <M extends Message> void subscribeLazy(
+            RosName topic,
+            MessageDescriptor<M> messageDescriptor,
+            Subscriber<LazyMessage<M>> subscriber)
+            throws JRosClientException {
+        if (getLocalPublisher(topic, messageDescriptor).isEmpty() && client.isPresent())
+            client.get().subscribeLazy(topic, messageDescriptor, subscriber);
+        else JRosClient.super.subscribeLazy(topic, messageDescriptor, subscriber);
+    }
+
+    @Override
+    public <M extends Message> void publish(TopicPublisher<M> publisher)
+            throws JRosClientException {
+        LOGGER.entering("publish", publisher.getTopic());
+        register(publisher);
+        try {
+            client.ifPresent(c -> c.publish(publisher));
+        } catch (RuntimeException e) {
+            publishers.remove(publisher);
+            throw e;
+        }
+        LOGGER.exiting("publish");
+    }
+
+    /**
+     * Local publisher is registered before this method returns, so local subscribers can subscribe
+     * to it right away. Delegate client (if any) publishes it asynchronously.
+     */
+    @Override
+    public <M extends Message> CompletableFuture<Void> publishAsync(TopicPublisher<M> publisher) {
+        try {
+            register(publisher);
+        } catch (JRosClientException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (client.isEmpty()) return CompletableFuture.completedFuture(null);
+        return client.get()
+                .publishAsync(publisher)
+                .whenComplete(
+                        (result, e) -> {
+                            if (e != null) publishers.remove(publisher);
+                        });
+    }
+
+    @Override
+    public <M extends Message> void unpublish(RosName topic, MessageDescriptor<M> messageDescriptor)
+            throws JRosClientException {
+        LOGGER.entering("unpublish", topic);
+        var publisher = publishers.remove(topic, messageDescriptor);
+        if (client.isPresent()) {
+            client.get().unpublish(topic, messageDescriptor);
+        } else if (publisher.isPresent()) {
+            try {
+                publisher.get().close();
+            } catch (IOException e) {
+                throw new JRosClientException(e);
+            }
+        }
+        LOGGER.exiting("unpublish");
+    }
+
+    /**
+     * Local publisher is unregistered before this method returns. Returned future completes once
+     * the delegate client unpublishes it, or for network-free client once publisher delivers all
+     * its pending messages and closes.
+     */
+    @Override
+    public <M extends Message> CompletableFuture<Void> unpublishAsync(
+            RosName topic, MessageDescriptor<M> messageDescriptor) {
+        var publisher = publishers.remove(topic, messageDescriptor);
+        if (client.isPresent()) return client.get().unpublishAsync(topic, messageDescriptor);
+        return publisher
+                .map(TopicPublisher::closeAsync)
+                .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    @Override
+    public void warmUp(TopicDeclaration<?> topic) throws JRosClientException {
+        if (client.isPresent()) client.get().warmUp(topic);
+        else JRosClient.super.warmUp(topic);
+    }
+
+    @Override
+    public boolean hasPublisher(RosName topic) {
+        if (publishers.hasPublisher(topic)) return true;
+        return client.map(c -> c.hasPublisher(topic)).orElse(false);
+    }
+
+    /**
+     * Close decorated client. Network-free client closes all its publishers in parallel and waits
+     * until they deliver all pending messages.
+     */
+    @Override
+    public void close() {
+        LOGGER.entering("close");
+        isClosed = true;
+        if (client.isPresent()) {
+            client.get().close();
+        } else {
+            CompletableFuture.allOf(
+                            publishers.getPublishers().stream()
+                                    .map(TopicPublisher::closeAsync)
+                                    .toArray(CompletableFuture[]::new))
+                    .join();
+        }
+        publishers.clear();
+        synchronized (pendingSubscribers) {
+            pendingSubscribers.clear();
+        }
+        LOGGER.exiting("close");
+    }
+
+    @Override
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString("client", client.map(Object::toString).orElse("none"));
+    }
+
+    private <M extends Message> Optional<TopicPublisher<M>> getLocalPublisher(
+            RosName topic, MessageDescriptor<M> messageDescriptor) {
+        return publishers.find(topic, messageDescriptor);
+    }
+
+    /**
+     * Network-free client keeps the subscriber until publisher of its topic is registered
+     *
+     * @return publisher if it was registered concurrently
+     */
+    private <M extends Message> Optional<TopicPublisher<M>> awaitPublisher(
+            RosName topic, MessageDescriptor<M> messageDescriptor, Subscriber<M> subscriber) {
+        synchronized (pendingSubscribers) {
+            var publisher = getLocalPublisher(topic, messageDescriptor);
+            if (publisher.isEmpty()) {
+                LOGGER.fine(
+                        "Topic {0} has no publishers yet, subscriber will be subscribed once it is"
+                                + " published",
+                        topic);
+                pendingSubscribers
+                        .computeIfAbsent(topic.toGlobalName(), k -> new ArrayList<>())
+                        .add(new PendingSubscriber<>(messageDescriptor, subscriber));
+            }
+            return publisher;
+        }
+    }
+
+    private void register(TopicPublisher<?> publisher) {
+        if (client.isPresent()) {
+            if (!publishers.register(publisher)) throw alreadyPublished(publisher);
+            return;
+        }
+        var subscribers = new ArrayList<PendingSubscriber<?>>();
+        synchronized (pendingSubscribers) {
+            if (!publishers.register(publisher)) throw alreadyPublished(publisher);
+            var topic = publisher.getTopic().toGlobalName();
+            var pending = pendingSubscribers.get(topic);
+            if (pending != null) {
+                var messageClass = publisher.getMessageDescriptor().getMessageClass();
+                pending.removeIf(
+                        s -> {
+                            if (s.messageDescriptor().getMessageClass() != messageClass)
+                                return false;
+                            subscribers.add(s);
+                            return true;
+                        });
+                if (pending.isEmpty()) pendingSubscribers.remove(topic);
+            }
+        }
+        if (!subscribers.isEmpty())
+            LOGGER.fine(
+                    "Subscribing {0} pending subscribers to the local publisher of topic {1}",
+                    subscribers.size(), publisher.getTopic());
+        subscribers.forEach(s -> s.subscribe(publisher));
+    }
+
+    private JRosClientException alreadyPublished(TopicPublisher<?> publisher) {
+        return new JRosClientException(
+                "Topic %s already has local publisher", publisher.getTopic());
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.metrics.TopicMetrics;
+import id.jrosclient.metrics.TopicMetricsRegistry;
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.xfunction.Preconditions;
+import id.xfunction.XJson;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * Limits total number of messages (and their bytes) which all publishers of the client may keep
+ * queued for their subscribers.
+ *
+ * <p>Budget is shared fairly between the topics: each topic may always queue up to its fair share
+ * (budget divided by number of topics) and it may borrow more while the budget is not exhausted.
+ * When topic is over its fair share and budget is exhausted, the {@link OverflowPolicy} of the
+ * topic publisher decides what happens with the new message:
+ *
+ * <ul>
+ *   <li>{@link OverflowPolicy#BLOCK} - publisher blocks until some of the queued messages are
+ *       delivered
+ *   <li>{@link OverflowPolicy#blockWithTimeout(java.time.Duration)} - same as BLOCK but when
+ *       timeout expires message is dropped
+ *   <li>{@link OverflowPolicy#DROP_NEWEST} - message is dropped
+ *   <li>{@link OverflowPolicy#DROP_OLDEST}, {@link OverflowPolicy#CONFLATE_LATEST} - message is
+ *       accepted since such topics are already bounded by their own buffers, but it is accounted so
+ *       other topics see that budget is exhausted
+ * </ul>
+ *
+ * <p>Since topics can always use their fair shares, total usage may exceed the budget when topics
+ * which borrowed from it still hold their messages. While number of topics does not change, such
+ * excess is not larger than the budget itself. Messages which DROP_OLDEST and CONFLATE_LATEST
+ * topics accept over the budget are not limited by it.
+ *
+ * <p>Message which is queued for several subscribers is accounted once for each of them. Message
+ * size is estimated with the estimator which is given to the budget, see {@link
+ * #estimatePayloadSize(Message)} for the messages with large payloads. Budget which is created
+ * without estimator limits only number of messages.
+ *
+ * <p>Queued bytes and messages of each topic are exported as {@link
+ * id.jrosclient.metrics.JRosClientMetrics#TOPIC_QUEUED_BYTES_METRIC} and {@link
+ * id.jrosclient.metrics.JRosClientMetrics#TOPIC_QUEUED_MESSAGES_METRIC} gauges.
+ *
+ * @see JRosClientConfiguration#getMemoryBudget()
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class MemoryBudget {
+
+    private final long maxBytes;
+    private final long maxMessages;
+    private final ToLongFunction<Message> sizeEstimator;
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final AtomicLong usedMessages = new AtomicLong();
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    /** Makes checking and updating of the usage atomic */
+    private final Object usageLock = new Object();
+
+    /** Usage of the budget by single topic */
+    public static final class Account {
+        private final RosName topic;
+        private final TopicMetrics metrics;
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong messages = new AtomicLong();
+
+        /** Number of publishers of the topic, guarded by the accounts map */
+        private int publishers;
+
+        private Account(RosName topic) {
+            this.topic = topic;
+            metrics = TopicMetricsRegistry.getDefault().getMetrics(topic);
+        }
+
+        public RosName getTopic() {
+            return topic;
+        }
+
+        public long getBytes() {
+            return bytes.get();
+        }
+
+        public long getMessages() {
+            return messages.get();
+        }
+
+        @Override
+        public String toString() {
+            return XJson.asString("topic", topic, "bytes", bytes.get(), "messages", messages.get());
+        }
+    }
+
+    /**
+     * Budget which limits only number of messages, their size is not estimated
+     *
+     * @param maxMessages maximum number of messages which can be queued
+     */
+    public MemoryBudget(long maxMessages) {
+        this(Long.MAX_VALUE, maxMessages, message -> 0);
+    }
+
+    /**
+     * @param maxBytes maximum number of bytes which can be queued
+     * @param maxMessages maximum number of messages which can be queued
+     * @param sizeEstimator returns size of the message in bytes, it should be cheap since it is
+     *     called for each published message
+     */
+    public MemoryBudget(long maxBytes, long maxMessages, ToLongFunction<Message> sizeEstimator) {
+        Preconditions.isTrue(maxBytes > 0, "Maximum number of bytes must be positive");
+        Preconditions.isTrue(maxMessages > 0, "Maximum number of messages must be positive");
+        Preconditions.isTrue(sizeEstimator != null, "Size estimator is required");
+        this.maxBytes = maxBytes;
+        this.maxMessages = maxMessages;
+        this.sizeEstimator = sizeEstimator;
+    }
+
+    /**
+     * Size estimator for the topics of {@link PayloadMessage}. Messages of other types are
+     * estimated as zero bytes, so with this estimator they are limited only by number of messages.
+     */
+    public static long estimatePayloadSize(Message message) {
+        return message instanceof PayloadMessage payloadMessage
+                ? payloadMessage.getPayload().size()
+                : 0;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getMaxMessages() {
+        return maxMessages;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    public long getUsedMessages() {
+        return usedMessages.get();
+    }
+
+    /** Number of bytes which each of the topics can always use */
+    public long getFairShareBytes() {
+        return maxBytes / Math.max(1, accounts.size());
+    }
+
+    /** Number of messages which each of the topics can always use */
+    public long getFairShareMessages() {
+        return maxMessages / Math.max(1, accounts.size());
+    }
+
+    public Optional<Account> getAccount(RosName topic) {
+        return Optional.ofNullable(accounts.get(topic.toGlobalName()));
+    }
+
+    long estimateSize(Message message) {
+        return sizeEstimator.applyAsLong(message);
+    }
+
+    /** Register publisher of the topic, all publishers of the same topic share one account */
+    Account register(RosName topic) {
+        return accounts.compute(
+                topic.toGlobalName(),
+                (k, account) -> {
+                    if (account == null) account = new Account(topic);
+                    account.publishers++;
+                    return account;
+                });
+    }
+
+    /** Unregister publisher of the topic, when no publishers left the topic share is released */
+    void unregister(Account account) {
+        var isRemoved =
+                accounts.computeIfPresent(
+                                account.topic.toGlobalName(),
+                                (k, a) -> --a.publishers == 0 ? null : a)
+                        == null;
+        if (isRemoved) TopicMetricsRegistry.getDefault().release(account.metrics);
+        // others may have waited for the shares to be recalculated
+        signalWaiters();
+    }
+
+    /**
+     * @return true if budget was acquired
+     */
+    boolean tryAcquire(Account account, long bytes, long messages) {
+        var topics = Math.max(1, accounts.size());
+        synchronized (usageLock) {
+            var isWithinShare =
+                    account.bytes.get() + bytes <= maxBytes / topics
+                            && account.messages.get() + messages <= maxMessages / topics;
+            if (!isWithinShare
+                    && (usedBytes.get() + bytes > maxBytes
+                            || usedMessages.get() + messages > maxMessages)) return false;
+            add(account, bytes, messages);
+        }
+        account.metrics.onQueued(bytes, messages);
+        return true;
+    }
+
+    /**
+     * Block until budget is acquired
+     *
+     * @param timeoutNanos negative to wait indefinitely
+     * @return false if timeout expired before budget was acquired
+     */
+    boolean acquire(Account account, long bytes, long messages, long timeoutNanos) {
+        if (tryAcquire(account, bytes, messages)) return true;
+        var deadline = System.nanoTime() + timeoutNanos;
+        waiters.incrementAndGet();
+        try {
+            synchronized (waiters) {
+                while (!tryAcquire(account, bytes, messages)) {
+                    if (timeoutNanos < 0) {
+                        waiters.wait();
+                        continue;
+                    }
+                    var remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) return false;
+                    TimeUnit.NANOSECONDS.timedWait(waiters, remaining);
+                }
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    /** Acquire budget even if it is exhausted */
+    void forceAcquire(Account account, long bytes, long messages) {
+        synchronized (usageLock) {
+            add(account, bytes, messages);
+        }
+        account.metrics.onQueued(bytes, messages);
+    }
+
+    void release(Account account, long bytes, long messages) {
+        synchronized (usageLock) {
+            add(account, -bytes, -messages);
+        }
+        account.metrics.onQueued(-bytes, -messages);
+        signalWaiters();
+    }
+
+    /** Must be called under usage lock */
+    private void add(Account account, long bytes, long messages) {
+        usedBytes.addAndGet(bytes);
+        usedMessages.addAndGet(messages);
+        account.bytes.addAndGet(bytes);
+        account.messages.addAndGet(messages);
+    }
+
+    private void signalWaiters() {
+        if (waiters.get() == 0) return;
+        synchronized (waiters) {
+            waiters.notifyAll();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString(
+                "maxBytes",
+                maxBytes,
+                "maxMessages",
+                maxMessages,
+                "usedBytes",
+                usedBytes.get(),
+                "usedMessages",
+                usedMessages.get(),
+                "topics",
+                accounts.size());
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosmessages.Message;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes and decodes messages of particular type. Implementations are provided by the clients of
+ * the certain ROS version, since serialization format depends on it.
+ *
+ * @param <M> type of the messages
+ * @author lambdaprime intid@protonmail.com
+ */
+public interface MessageCodec<M extends Message> extends MessageDecoder<M> {
+
+    /**
+     * Encode message into the buffer starting from its current position. Once encoded, buffer
+     * position points to the byte after the last encoded one.
+     *
+     * @throws BufferOverflowException if there is not enough space remaining in the buffer
+     */
+    void encode(M message, ByteBuffer buffer);
+}
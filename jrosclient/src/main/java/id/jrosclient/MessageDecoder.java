@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import id.jrosmessages.Message;
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes messages of particular type from their serialized form. Implementations are provided by
+ * the clients of the certain ROS version, since serialization format depends on it.
+ *
+ * @param <M> type of the messages
+ * @author lambdaprime intid@protonmail.com
+ */
+public interface MessageDecoder<M extends Message> {
+
+    /**
+     * Decode the whole message
+     *
+     * @param data serialized message, decoder may change its position
+     */
+    M decode(ByteBuffer data);
+
+    /**
+     * Decode the whole message. Decoders of {@link PayloadMessage} messages allocate their payload
+     * in the given arena (see {@link PayloadArena#allocate(ByteBuffer)}) instead of the Java heap.
+     *
+     * <p>Default implementation ignores the arena.
+     *
+     * @param data serialized message, decoder may change its position
+     */
+    default M decode(ByteBuffer data, PayloadArena arena) {
+        return decode(data);
+    }
+
+    /**
+     * Decode single field of the message.
+     *
+     * <p>Default implementation decodes the whole message and reads the field from it.
+     * Implementations which know the layout of the message are expected to decode only the bytes of
+     * the requested field (and of the fields which precede it, when their size is not fixed).
+     *
+     * @param data serialized message, decoder may change its position
+     * @param fieldName name of the public field of the message class
+     * @throws JRosClientException if message has no such field
+     */
+    default Object decodeField(ByteBuffer data, String fieldName) {
+        return readField(decode(data), fieldName);
+    }
+
+    /**
+     * Read the value of the public field of the message
+     *
+     * @throws JRosClientException if message has no such field
+     */
+    static Object readField(Message message, String fieldName) {
+        var field =
+                MessageDescriptorCache.getDefault()
+                        .getMetadata(message.getClass())
+                        .getField(fieldName)
+                        .orElseThrow(
+                                () ->
+                                        new JRosClientException(
+                                                "Message %s has no public field %s",
+                                                message.getClass().getName(), fieldName));
+        try {
+            return field.get(message);
+        } catch (IllegalAccessException e) {
+            throw new JRosClientException(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.XJson;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread safe cache of message descriptors, their {@link MessageMetadata} and topic names.
+ *
+ * <p>Metadata of each message class is computed only once and it is kept for as long as the class
+ * is loaded ({@link ClassValue}), so all lookups after the first one do not use reflection and do
+ * not allocate. Clients use it in the convenience methods which accept topic names and message
+ * classes (see {@link JRosClient#getMessageDescriptorCache()}), ROS implementations use it to
+ * lookup serializers per message.
+ *
+ * <p>Topic names are kept in the direct-mapped cache of {@link #MAX_TOPIC_NAMES} slots: each name
+ * has one slot chosen by its hash and it replaces the name which was there before. So the cache
+ * stays bounded while applications with dynamic topic names run, and frequently used names stay in
+ * it.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class MessageDescriptorCache {
+
+    /** Maximum number of topic names which are kept in the cache, power of two */
+    public static final int MAX_TOPIC_NAMES = 1 << 14;
+
+    private static final MessageDescriptorCache DEFAULT = new MessageDescriptorCache();
+
+    private final ClassValue<MessageMetadata<?>> metadata =
+            new ClassValue<>() {
+                @Override
+                @SuppressWarnings({"unchecked", "rawtypes"})
+                protected MessageMetadata<?> computeValue(Class<?> type) {
+                    return new MessageMetadata(type);
+                }
+            };
+
+    private record TopicName(String topic, RosName name) {}
+
+    private final AtomicReferenceArray<TopicName> topicNames =
+            new AtomicReferenceArray<>(MAX_TOPIC_NAMES);
+
+    /** Cache which is shared by all clients by default */
+    public static MessageDescriptorCache getDefault() {
+        return DEFAULT;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <M extends Message> MessageMetadata<M> getMetadata(Class<M> messageClass) {
+        return (MessageMetadata<M>) metadata.get(messageClass);
+    }
+
+    /** Descriptor of the message class, same instance is returned for the same class */
+    public <M extends Message> MessageDescriptor<M> getMessageDescriptor(Class<M> messageClass) {
+        return getMetadata(messageClass).getMessageDescriptor();
+    }
+
+    public RosName getTopicName(String topic) {
+        var hash = topic.hashCode();
+        var slot = (hash ^ (hash >>> 16)) & (MAX_TOPIC_NAMES - 1);
+        var entry = topicNames.get(slot);
+        if (entry != null && entry.topic().equals(topic)) return entry.name();
+        var name = new RosName(topic);
+        topicNames.set(slot, new TopicName(topic, name));
+        return name;
+    }
+
+    /**
+     * Register serializer and deserializer for the messages of the given class, so that it can be
+     * found with {@link #getCodec(Class)} without creating it again. Codecs must be thread safe.
+     * Registering new codec for the same class replaces the old one.
+     */
+    public <M extends Message> MessageDescriptorCache registerCodec(
+            Class<M> messageClass, MessageCodec<M> codec) {
+        getMetadata(messageClass).setCodec(codec);
+        return this;
+    }
+
+    public <M extends Message> Optional<MessageCodec<M>> getCodec(Class<M> messageClass) {
+        return getMetadata(messageClass).getCodec();
+    }
+
+    @Override
+    public String toString() {
+        var count = 0;
+        for (int i = 0; i < topicNames.length(); i++) {
+            if (topicNames.get(i) != null) count++;
+        }
+        return XJson.asString("topicNames", count);
+    }
+}
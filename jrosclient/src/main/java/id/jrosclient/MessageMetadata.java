@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.XJson;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+
+/**
+ * Reflective information about the message class which is computed once and cached in {@link
+ * MessageDescriptorCache}.
+ *
+ * @param <M> type of the messages
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class MessageMetadata<M extends Message> {
+
+    private final MessageDescriptor<M> messageDescriptor;
+    private final List<Field> fields;
+    private final Map<String, Field> fieldsByName;
+    private final OptionalInt fixedSize;
+    private final Constructor<M> constructor;
+    private volatile MessageCodec<M> codec;
+
+    MessageMetadata(Class<M> messageClass) {
+        messageDescriptor = new MessageDescriptor<>(messageClass);
+        fields = Collections.unmodifiableList(findFields(messageClass));
+        fieldsByName = new HashMap<>();
+        for (var field : fields) fieldsByName.put(field.getName(), field);
+        var size = fixedSize(messageClass, new HashSet<>());
+        fixedSize = size < 0 ? OptionalInt.empty() : OptionalInt.of(size);
+        Constructor<M> constructor = null;
+        try {
+            constructor = messageClass.getConstructor();
+        } catch (NoSuchMethodException e) {
+            // reported when message is instantiated
+        }
+        this.constructor = constructor;
+    }
+
+    /** Descriptor which is shared by all users of the cache */
+    public MessageDescriptor<M> getMessageDescriptor() {
+        return messageDescriptor;
+    }
+
+    /**
+     * Public instance fields of the message class in declaration order, fields of the superclasses
+     * go first
+     */
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    public Optional<Field> getField(String name) {
+        return Optional.ofNullable(fieldsByName.get(name));
+    }
+
+    /**
+     * Hint for the serializers: sum of sizes of all primitive fields of the message, including
+     * fields of the nested messages. Empty when message has fields of variable size (arrays,
+     * strings, etc.). Actual serialized size depends on the ROS version (alignment, headers).
+     */
+    public OptionalInt getFixedSize() {
+        return fixedSize;
+    }
+
+    /**
+     * Create new message with its public no-argument constructor
+     *
+     * @throws JRosClientException if message has no such constructor
+     */
+    public M newMessage() {
+        if (constructor == null)
+            throw new JRosClientException(
+                    "Message %s has no public no-argument constructor",
+                    messageDescriptor.getMessageClass().getName());
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new JRosClientException(e);
+        }
+    }
+
+    /** Codec which was registered with {@link MessageDescriptorCache#registerCodec} */
+    public Optional<MessageCodec<M>> getCodec() {
+        return Optional.ofNullable(codec);
+    }
+
+    void setCodec(MessageCodec<M> codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString(
+                "messageClass",
+                messageDescriptor.getMessageClass().getName(),
+                "fields",
+                fields.size(),
+                "fixedSize",
+                fixedSize);
+    }
+
+    private static List<Field> findFields(Class<?> messageClass) {
+        var fields = new ArrayList<Field>();
+        var superclass = messageClass.getSuperclass();
+        if (superclass != null && superclass != Object.class) fields.addAll(findFields(superclass));
+        for (var field : messageClass.getDeclaredFields()) {
+            var modifiers = field.getModifiers();
+            if (Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers)) fields.add(field);
+        }
+        return fields;
+    }
+
+    /**
+     * @param visiting classes which are being computed, used to detect recursive messages
+     * @return -1 if size is not fixed
+     */
+    private static int fixedSize(Class<?> messageClass, Set<Class<?>> visiting) {
+        if (!visiting.add(messageClass)) return -1;
+        var size = 0;
+        for (var field : findFields(messageClass)) {
+            var type = field.getType();
+            int fieldSize;
+            if (type.isPrimitive()) fieldSize = primitiveSize(type);
+            else if (Message.class.isAssignableFrom(type)) fieldSize = fixedSize(type, visiting);
+            else fieldSize = -1;
+            if (fieldSize < 0) return -1;
+            size += fieldSize;
+        }
+        visiting.remove(messageClass);
+        return size;
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == boolean.class || type == byte.class) return Byte.BYTES;
+        if (type == short.class || type == char.class) return Short.BYTES;
+        if (type == int.class || type == float.class) return Integer.BYTES;
+        if (type == long.class || type == double.class) return Long.BYTES;
+        return -1;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import id.jrosclient.metrics.TopicMetrics;
+import id.jrosclient.metrics.TopicMetricsRegistry;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.Preconditions;
+import id.xfunction.XJson;
+import io.opentelemetry.api.common.Attributes;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Pool of reusable message instances of the same type. It allows to avoid allocation of new
+ * messages (images, point clouds, etc) for each publish.
+ *
+ * <p>Each pooled message has a reference count. Message which is leased from the pool has count
+ * one. {@link TopicSubmissionPublisher} retains the message for each of its subscribers and
+ * releases it once subscriber onNext returns (or message is dropped), so the message goes back to
+ * the pool only when all subscribers are done with it. Subscribers which need to keep the message
+ * longer should {@link #retain(Message)} it from onNext and {@link #release(Message)} it later.
+ *
+ * <p>Messages which are returned to the pool keep their previous contents, publisher is expected to
+ * overwrite them.
+ *
+ * <p>When all messages in the pool are in use new instances are allocated (they are not added to
+ * the pool). Hits, misses and leaks (messages which are not returned to the pool for too long) are
+ * counted in {@link id.jrosclient.metrics.JRosClientMetrics}.
+ *
+ * <p>Pools are created per message type (see {@link #forDescriptor(MessageDescriptor)}).
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class MessagePool<M extends Message> {
+
+    /** Default number of message instances in the pool */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /** Message leased longer than this is counted as leaked */
+    public static final Duration LEAK_TIMEOUT = Duration.ofSeconds(10);
+
+    /** Marks lease time of the slot which leak was already counted */
+    private static final long LEAK_REPORTED = Long.MAX_VALUE;
+
+    private static final Map<Class<?>, MessagePool<?>> POOLS = new ConcurrentHashMap<>();
+
+    private final MessageDescriptor<M> messageDescriptor;
+    private final MessageMetadata<M> metadata;
+    private final Message[] messages;
+    private final AtomicIntegerArray refCounts;
+    private final AtomicLongArray leaseTimes;
+    private final TopicMetrics metrics;
+
+    private MessagePool(MessageDescriptor<M> messageDescriptor, int capacity) {
+        Preconditions.isTrue(capacity > 0, "Pool capacity must be positive");
+        this.messageDescriptor = messageDescriptor;
+        metadata =
+                MessageDescriptorCache.getDefault()
+                        .getMetadata(messageDescriptor.getMessageClass());
+        messages = new Message[capacity];
+        for (int i = 0; i < capacity; i++) messages[i] = newMessage();
+        refCounts = new AtomicIntegerArray(capacity);
+        leaseTimes = new AtomicLongArray(capacity);
+        metrics =
+                TopicMetricsRegistry.getDefault()
+                        .getMetrics(
+                                Attributes.builder()
+                                        .put(
+                                                "message",
+                                                messageDescriptor.getMessageClass().getName())
+                                        .build());
+    }
+
+    /** Returns pool for the given message type, creating it with {@link #DEFAULT_CAPACITY} */
+    public static <M extends Message> MessagePool<M> forDescriptor(
+            MessageDescriptor<M> messageDescriptor) {
+        return forDescriptor(messageDescriptor, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns pool for the given message type
+     *
+     * @param capacity used only when pool does not exist yet
+     */
+    @SuppressWarnings("unchecked")
+    public static <M extends Message> MessagePool<M> forDescriptor(
+            MessageDescriptor<M> messageDescriptor, int capacity) {
+        return (MessagePool<M>)
+                POOLS.computeIfAbsent(
+                        messageDescriptor.getMessageClass(),
+                        k -> new MessagePool<>(messageDescriptor, capacity));
+    }
+
+    /** Returns pool for the given message type if it was created before */
+    @SuppressWarnings("unchecked")
+    static <M extends Message> Optional<MessagePool<M>> find(
+            MessageDescriptor<M> messageDescriptor) {
+        return Optional.ofNullable((MessagePool<M>) POOLS.get(messageDescriptor.getMessageClass()));
+    }
+
+    /**
+     * Take message from the pool. If all pooled messages are in use, new message is allocated.
+     *
+     * <p>Message must be either submitted to the {@link TopicSubmissionPublisher} or returned with
+     * {@link #release(Message)}.
+     */
+    @SuppressWarnings("unchecked")
+    public M lease() {
+        var now = System.nanoTime();
+        for (int i = 0; i < messages.length; i++) {
+            if (refCounts.get(i) == 0 && refCounts.compareAndSet(i, 0, 1)) {
+                leaseTimes.set(i, now);
+                metrics.onPoolHit();
+                return (M) messages[i];
+            }
+            checkLeak(i, now);
+        }
+        metrics.onPoolMiss();
+        return newMessage();
+    }
+
+    /**
+     * Increment reference count of the pooled message. Does nothing if message does not belong to
+     * the pool.
+     */
+    public void retain(M message) {
+        var i = indexOf(message);
+        if (i < 0) return;
+        refCounts.incrementAndGet(i);
+    }
+
+    /**
+     * Decrement reference count of the pooled message. When it reaches zero the message returns to
+     * the pool. Does nothing if message does not belong to the pool.
+     */
+    public void release(M message) {
+        var i = indexOf(message);
+        if (i < 0) return;
+        var count = refCounts.decrementAndGet(i);
+        if (count < 0) {
+            refCounts.incrementAndGet(i);
+            throw new JRosClientException("Message was released more times than retained");
+        }
+    }
+
+    /**
+     * @return true if message belongs to this pool
+     */
+    public boolean isPooled(M message) {
+        return indexOf(message) >= 0;
+    }
+
+    public int getCapacity() {
+        return messages.length;
+    }
+
+    public MessageDescriptor<M> getMessageDescriptor() {
+        return messageDescriptor;
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString(
+                "messageClass", messageDescriptor.getMessageClass(), "capacity", messages.length);
+    }
+
+    private int indexOf(M message) {
+        for (int i = 0; i < messages.length; i++) {
+            if (messages[i] == message) return i;
+        }
+        return -1;
+    }
+
+    private void checkLeak(int i, long now) {
+        var leaseTime = leaseTimes.get(i);
+        if (leaseTime == LEAK_REPORTED || now - leaseTime < LEAK_TIMEOUT.toNanos()) return;
+        if (refCounts.get(i) == 0) return;
+        if (leaseTimes.compareAndSet(i, leaseTime, LEAK_REPORTED)) metrics.onPoolLeak();
+    }
+
+    private M newMessage() {
+        return metadata.newMessage();
+    }
+}
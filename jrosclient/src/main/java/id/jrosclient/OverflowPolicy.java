@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.xfunction.Preconditions;
+import id.xfunction.XJson;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Defines what topic publisher does when new message is submitted but one of its subscribers buffer
+ * is full (subscriber is slower than the publisher).
+ *
+ * <p>Each message which was not delivered to the subscriber because of the overflow is counted in
+ * {@link id.jrosclient.metrics.JRosClientMetrics#TOPIC_PUBLISHER_DROPPED_MESSAGES_COUNT_METRIC}
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class OverflowPolicy {
+
+    public enum Type {
+        /** Block the publisher until there is free space in the subscriber buffer */
+        BLOCK,
+
+        /**
+         * Block the publisher until there is free space in the subscriber buffer or until timeout
+         * expires. When timeout expires new message is dropped for such subscriber.
+         */
+        BLOCK_WITH_TIMEOUT,
+
+        /** Drop new message for the subscriber which buffer is full */
+        DROP_NEWEST,
+
+        /** Remove the oldest message from the subscriber buffer to make space for the new one */
+        DROP_OLDEST,
+
+        /**
+         * Keep only the latest message for each subscriber. Any message which was not yet delivered
+         * to the subscriber is replaced by the new one. It is usually used for topics which
+         * represent current state (sensors, transforms, etc.)
+         */
+        CONFLATE_LATEST
+    }
+
+    /** Default policy which is similar to {@link java.util.concurrent.SubmissionPublisher} */
+    public static final OverflowPolicy BLOCK = new OverflowPolicy(Type.BLOCK, Duration.ZERO);
+
+    public static final OverflowPolicy DROP_NEWEST =
+            new OverflowPolicy(Type.DROP_NEWEST, Duration.ZERO);
+
+    public static final OverflowPolicy DROP_OLDEST =
+            new OverflowPolicy(Type.DROP_OLDEST, Duration.ZERO);
+
+    public static final OverflowPolicy CONFLATE_LATEST =
+            new OverflowPolicy(Type.CONFLATE_LATEST, Duration.ZERO);
+
+    private final Type type;
+    private final Duration timeout;
+
+    private OverflowPolicy(Type type, Duration timeout) {
+        this.type = type;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @see Type#BLOCK_WITH_TIMEOUT
+     */
+    public static OverflowPolicy blockWithTimeout(Duration timeout) {
+        Preconditions.isTrue(!timeout.isNegative(), "Timeout cannot be negative");
+        return new OverflowPolicy(Type.BLOCK_WITH_TIMEOUT, timeout);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /** Timeout for {@link Type#BLOCK_WITH_TIMEOUT}, for other types it is zero */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, timeout);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        var other = (OverflowPolicy) obj;
+        return type == other.type && Objects.equals(timeout, other.timeout);
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString("type", type, "timeout", timeout);
+    }
+}
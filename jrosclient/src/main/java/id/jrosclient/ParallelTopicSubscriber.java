@@ -0,0 +1,360 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.Preconditions;
+import id.xfunction.logging.XLogger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Subscriber which processes received messages in parallel on the given executor.
+ *
+ * <p>Each message is passed to {@link #process(Message)} on one of the executor threads, and its
+ * result is passed to {@link #onResult(Object)}. Calls to {@link #onResult(Object)} never overlap.
+ *
+ * <p>By default messages are processed in any order. When partition key is set (see {@link
+ * #withPartitionKey(Function)}) messages with the same key are processed one after another in the
+ * order they were received. When ordered output is enabled (see {@link
+ * #withOrderedOutput(boolean)}) results are passed to {@link #onResult(Object)} in the order
+ * messages were received regardless of the order in which they were processed.
+ *
+ * <p>Subscriber manages demand automatically: it keeps no more than given number of messages in
+ * flight (received but whose results were not passed to {@link #onResult(Object)} yet) and requests
+ * new message each time result of some message is delivered.
+ *
+ * @param <M> type of messages in the topic
+ * @param <R> type of the processing results
+ * @author lambdaprime intid@protonmail.com
+ */
+public abstract class ParallelTopicSubscriber<M extends Message, R> extends TopicSubscriber<M> {
+
+    private final XLogger LOGGER = XLogger.getLogger(this);
+    private final int parallelism;
+    private final Executor executor;
+    private final Slot<M, R>[] slots;
+    private final Object emitLock = new Object();
+
+    /** Slots which are not in flight, used only when output is not ordered */
+    private final Deque<Slot<M, R>> freeSlots;
+
+    private Function<? super M, ?> partitionKey;
+    private boolean isOrderedOutput;
+    private Lane[] lanes;
+
+    /** Sequence number of the next received message, accessed only from onNext */
+    private long nextSequence;
+
+    /** Sequence number of the next message which result should be emitted */
+    private long nextEmitSequence;
+
+    private int inFlight;
+
+    /** Lane which current worker thread processes */
+    private final ThreadLocal<Lane> currentLane = new ThreadLocal<>();
+
+    private static class Slot<M, R> {
+        M message;
+        R result;
+        boolean isFailed;
+        volatile boolean isProcessed;
+    }
+
+    /**
+     * Queue of slots which is drained by up to given number of workers. Lane with single worker
+     * processes its messages one after another.
+     */
+    private class Lane implements Runnable {
+        private final Queue<Slot<M, R>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger workers = new AtomicInteger();
+        private final int maxWorkers;
+
+        Lane(int maxWorkers) {
+            this.maxWorkers = maxWorkers;
+        }
+
+        void offer(Slot<M, R> slot) {
+            queue.add(slot);
+            if (tryStartWorker()) executor.execute(this);
+        }
+
+        private boolean tryStartWorker() {
+            int count;
+            while ((count = workers.get()) < maxWorkers) {
+                if (workers.compareAndSet(count, count + 1)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            currentLane.set(this);
+            try {
+                do {
+                    drain();
+                    workers.decrementAndGet();
+                    // recheck for the items which were added after the queue was found empty
+                } while (!queue.isEmpty() && tryStartWorker());
+            } finally {
+                currentLane.remove();
+            }
+        }
+
+        void drain() {
+            Slot<M, R> slot;
+            while ((slot = queue.poll()) != null) {
+                processSlot(slot);
+            }
+        }
+    }
+
+    /**
+     * Simplified version of {@link #ParallelTopicSubscriber(MessageDescriptor, RosName, int, int,
+     * Executor)} where topic is converted to {@link RosName} and messageClass to {@link
+     * MessageDescriptor}, messages are processed in {@link ForkJoinPool#commonPool()} and maximum
+     * number of messages in flight is four times the parallelism
+     */
+    public ParallelTopicSubscriber(Class<M> messageClass, String topic, int parallelism) {
+        this(
+                MessageDescriptorCache.getDefault().getMessageDescriptor(messageClass),
+                MessageDescriptorCache.getDefault().getTopicName(topic),
+                parallelism,
+                parallelism * 4,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param messageDescriptor descriptor of the messages in this topic
+     * @param topic Name of the topic which messages current subscriber wants to receive
+     * @param parallelism maximum number of messages which are processed at the same time
+     * @param maxInFlight maximum number of messages which were received but their results were not
+     *     delivered yet, it should not be less than parallelism
+     * @param executor executor which runs {@link #process(Message)}
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ParallelTopicSubscriber(
+            MessageDescriptor<M> messageDescriptor,
+            RosName topic,
+            int parallelism,
+            int maxInFlight,
+            Executor executor) {
+        super(messageDescriptor, topic);
+        Preconditions.isTrue(parallelism > 0, "Parallelism must be positive");
+        Preconditions.isTrue(
+                maxInFlight >= parallelism,
+                "Maximum number of messages in flight cannot be less than parallelism");
+        this.parallelism = parallelism;
+        this.executor = executor;
+        slots = new Slot[maxInFlight];
+        freeSlots = new ArrayDeque<>(maxInFlight);
+        for (int i = 0; i < maxInFlight; i++) {
+            slots[i] = new Slot<>();
+            freeSlots.push(slots[i]);
+        }
+        withInitialRequest(maxInFlight);
+    }
+
+    /**
+     * Process messages with the same key one after another in the order they were received.
+     * Messages with different keys are processed in parallel.
+     *
+     * <p>Must be set before subscriber is subscribed.
+     */
+    public ParallelTopicSubscriber<M, R> withPartitionKey(Function<? super M, ?> partitionKey) {
+        this.partitionKey = partitionKey;
+        return this;
+    }
+
+    /**
+     * Deliver results to {@link #onResult(Object)} in the order messages were received. Results
+     * which are ready earlier wait for the results of the preceding messages.
+     *
+     * <p>Must be set before subscriber is subscribed.
+     */
+    public ParallelTopicSubscriber<M, R> withOrderedOutput(boolean isOrderedOutput) {
+        this.isOrderedOutput = isOrderedOutput;
+        return this;
+    }
+
+    /**
+     * Demand of this subscriber is managed automatically (see class documentation), so only {@link
+     * DemandStrategy#MANUAL} is accepted.
+     */
+    @Override
+    public ParallelTopicSubscriber<M, R> withDemandStrategy(DemandStrategy demandStrategy) {
+        Preconditions.isTrue(
+                demandStrategy.getType() == DemandStrategy.Type.MANUAL,
+                "Demand of parallel subscriber is managed automatically");
+        super.withDemandStrategy(demandStrategy);
+        return this;
+    }
+
+    /**
+     * Process the message. Called concurrently from the executor threads. Any exception is logged
+     * and the message is skipped.
+     */
+    protected abstract R process(M message);
+
+    /** Receive the result of processing. Calls to this method never overlap. */
+    protected abstract void onResult(R result);
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getMaxInFlight() {
+        return slots.length;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void onSubscribe(Subscription subscription) {
+        if (partitionKey == null) {
+            lanes = new ParallelTopicSubscriber.Lane[] {new Lane(parallelism)};
+        } else {
+            lanes = new ParallelTopicSubscriber.Lane[parallelism];
+            for (int i = 0; i < parallelism; i++) lanes[i] = new Lane(1);
+        }
+        super.onSubscribe(subscription);
+    }
+
+    /**
+     * Dispatches message for processing. Subscribers should implement {@link #process(Message)}
+     * instead.
+     */
+    @Override
+    public final void onNext(M item) {
+        super.onNext(item);
+        Slot<M, R> slot;
+        synchronized (emitLock) {
+            Preconditions.isTrue(
+                    inFlight < slots.length, "Received more messages than were requested");
+            inFlight++;
+            // ordered results are emitted sequentially so slot of the oldest message is free
+            slot = isOrderedOutput ? slots[(int) (nextSequence % slots.length)] : freeSlots.pop();
+        }
+        nextSequence++;
+        // message is used after onNext returns
+        retain(item);
+        slot.message = item;
+        var lane =
+                partitionKey == null
+                        ? lanes[0]
+                        : lanes[Math.floorMod(partitionKey.apply(item).hashCode(), lanes.length)];
+        lane.offer(slot);
+    }
+
+    /**
+     * Waits until all received messages are processed and their results delivered. Subscribers
+     * which redefine this method should call it before processing the completion.
+     */
+    @Override
+    public void onComplete() {
+        awaitInFlight();
+        super.onComplete();
+    }
+
+    /**
+     * Waits until all received messages are processed and their results delivered and then calls
+     * default onError handler
+     */
+    @Override
+    public void onError(Throwable throwable) {
+        awaitInFlight();
+        super.onError(throwable);
+    }
+
+    private void awaitInFlight() {
+        // publishers which deliver messages on the thread which requested them may complete the
+        // subscriber from the worker thread, then no other worker can process the rest of its lane
+        var lane = currentLane.get();
+        if (lane != null) lane.drain();
+        synchronized (emitLock) {
+            while (inFlight > 0) {
+                try {
+                    emitLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void processSlot(Slot<M, R> slot) {
+        var message = slot.message;
+        try {
+            slot.result = process(message);
+        } catch (Exception e) {
+            LOGGER.severe("Error processing the message", e);
+            slot.isFailed = true;
+        } finally {
+            release(message);
+        }
+        slot.isProcessed = true;
+        emit(slot);
+    }
+
+    private void emit(Slot<M, R> processed) {
+        var emitted = 0;
+        synchronized (emitLock) {
+            if (isOrderedOutput) {
+                Slot<M, R> slot;
+                while ((slot = slots[(int) (nextEmitSequence % slots.length)]).isProcessed) {
+                    emitSlot(slot);
+                    nextEmitSequence++;
+                    emitted++;
+                }
+            } else {
+                emitSlot(processed);
+                emitted++;
+            }
+            inFlight -= emitted;
+            if (inFlight == 0) emitLock.notifyAll();
+        }
+        if (emitted > 0) {
+            var n = emitted;
+            getSubscription().ifPresent(s -> s.request(n));
+        }
+    }
+
+    /** Must be called while holding the emit lock */
+    private void emitSlot(Slot<M, R> slot) {
+        try {
+            if (!slot.isFailed) onResult(slot.result);
+        } catch (Exception e) {
+            LOGGER.severe("Error delivering the result", e);
+        } finally {
+            slot.message = null;
+            slot.result = null;
+            slot.isFailed = false;
+            slot.isProcessed = false;
+            if (!isOrderedOutput) freeSlots.push(slot);
+        }
+    }
+}
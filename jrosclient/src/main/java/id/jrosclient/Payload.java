@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import id.xfunction.XJson;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Large message data (image pixels, point cloud points, etc) which is stored off-heap in the direct
+ * {@link ByteBuffer} from the {@link PayloadArena}.
+ *
+ * <p>Payload has a reference count which is one when payload is allocated. Each component which
+ * needs to keep the payload (subscriber, transport which writes it to the network, etc) should
+ * {@link #retain()} it and {@link #release()} it when it is done. When count reaches zero the
+ * buffer returns to the arena and payload must not be used anymore.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class Payload implements AutoCloseable {
+
+    private final PayloadArena arena;
+    private final ByteBuffer buffer;
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    Payload(PayloadArena arena, ByteBuffer buffer) {
+        this.arena = arena;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Buffer with payload data between position and limit. Transports can write it to the network
+     * directly (for example with {@link java.nio.channels.GatheringByteChannel}) without copying it
+     * to the heap.
+     *
+     * <p>Each call returns new view of the same memory, so that readers do not interfere with each
+     * other positions.
+     */
+    public ByteBuffer getBuffer() {
+        checkNotReleased();
+        return buffer.duplicate();
+    }
+
+    /** Size of the payload data */
+    public int size() {
+        return buffer.remaining();
+    }
+
+    /** Copy payload data to the heap, for consumers which require byte array */
+    public byte[] toByteArray() {
+        var data = new byte[size()];
+        getBuffer().get(data);
+        return data;
+    }
+
+    public Payload retain() {
+        var count = refCount.getAndIncrement();
+        if (count <= 0) {
+            refCount.decrementAndGet();
+            throw new JRosClientException("Payload is already released");
+        }
+        return this;
+    }
+
+    public void release() {
+        var count = refCount.decrementAndGet();
+        if (count == 0) arena.onReleased(buffer);
+        else if (count < 0) {
+            refCount.incrementAndGet();
+            throw new JRosClientException("Payload was released more times than retained");
+        }
+    }
+
+    /** Same as {@link #release()} */
+    @Override
+    public void close() {
+        release();
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString("size", buffer.remaining(), "refCount", refCount.get());
+    }
+
+    private void checkNotReleased() {
+        if (refCount.get() <= 0) throw new JRosClientException("Payload is already released");
+    }
+}
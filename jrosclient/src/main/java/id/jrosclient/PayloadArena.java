@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.xfunction.Preconditions;
+import id.xfunction.XJson;
+import id.xfunction.logging.XLogger;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Arena of direct (off-heap) byte buffers which back {@link Payload} of the large messages.
+ *
+ * <p>Buffers are allocated in power of two size classes. When payload is released its buffer is
+ * kept in the arena and reused for the next payload of the same size class, as long as total size
+ * of such buffers does not exceed the limit. This avoids both heap allocation of large arrays and
+ * repeated allocation of direct memory (which is expensive).
+ *
+ * <p>Arena is owned by the client (see {@link JRosClient#getPayloadArena()}) and is closed together
+ * with it. Payloads which are allocated after arena is closed are not cached.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class PayloadArena implements AutoCloseable {
+    private final XLogger LOGGER = XLogger.getLogger(this);
+
+    /** Smallest size class */
+    private static final int MIN_BUFFER_BITS = 12;
+
+    /** Largest size class (1GB), payloads of larger size are not supported */
+    private static final int MAX_BUFFER_BITS = 30;
+
+    /** Default limit of memory which arena keeps for reuse */
+    public static final long DEFAULT_MAX_CACHED_BYTES = 256L << 20;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Queue<ByteBuffer>[] freeBuffers =
+            new Queue[MAX_BUFFER_BITS - MIN_BUFFER_BITS + 1];
+
+    private final long maxCachedBytes;
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private volatile boolean isClosed;
+
+    /** Create arena with {@link #DEFAULT_MAX_CACHED_BYTES} */
+    public PayloadArena() {
+        this(DEFAULT_MAX_CACHED_BYTES);
+    }
+
+    /**
+     * @param maxCachedBytes maximum size of released buffers which arena keeps for reuse
+     */
+    public PayloadArena(long maxCachedBytes) {
+        Preconditions.isTrue(maxCachedBytes >= 0, "Cache size cannot be negative");
+        this.maxCachedBytes = maxCachedBytes;
+        for (int i = 0; i < freeBuffers.length; i++) freeBuffers[i] = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Allocate payload of the given size. Contents of the payload buffer are undefined (buffer may
+     * be reused).
+     *
+     * <p>Payload must be released when it is no longer used, otherwise its buffer is not returned
+     * to the arena.
+     */
+    public Payload allocate(int size) {
+        Preconditions.isTrue(size >= 0, "Payload size cannot be negative");
+        var sizeClass = sizeClass(size);
+        var buffer = freeBuffers[sizeClass].poll();
+        if (buffer != null) {
+            cachedBytes.addAndGet(-buffer.capacity());
+        } else {
+            buffer = ByteBuffer.allocateDirect(1 << (sizeClass + MIN_BUFFER_BITS));
+            LOGGER.fine("Allocated new buffer of size {0}", buffer.capacity());
+        }
+        allocatedBytes.addAndGet(buffer.capacity());
+        buffer.clear().limit(size);
+        return new Payload(this, buffer);
+    }
+
+    /** Allocate payload and copy given data into it */
+    public Payload allocate(byte[] data) {
+        var payload = allocate(data.length);
+        payload.getBuffer().put(data).flip();
+        return payload;
+    }
+
+    /**
+     * Allocate payload and copy remaining bytes of the given buffer into it. It is intended for
+     * {@link MessageDecoder#decode(ByteBuffer, PayloadArena)} implementations, which copy the
+     * payload field straight from the serialized message.
+     *
+     * @param data buffer position is moved to its limit
+     */
+    public Payload allocate(ByteBuffer data) {
+        var payload = allocate(data.remaining());
+        payload.getBuffer().put(data);
+        return payload;
+    }
+
+    /** Total capacity of buffers which are currently used by payloads */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /** Total capacity of released buffers which are kept for reuse */
+    public long getCachedBytes() {
+        return cachedBytes.get();
+    }
+
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    /**
+     * Drop all cached buffers. Payloads which are still in use stay valid, their buffers are freed
+     * by the garbage collector once they are released.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        for (var queue : freeBuffers) queue.clear();
+        cachedBytes.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString(
+                "allocatedBytes",
+                allocatedBytes.get(),
+                "cachedBytes",
+                cachedBytes.get(),
+                "maxCachedBytes",
+                maxCachedBytes);
+    }
+
+    void onReleased(ByteBuffer buffer) {
+        var capacity = buffer.capacity();
+        allocatedBytes.addAndGet(-capacity);
+        if (isClosed) return;
+        if (cachedBytes.addAndGet(capacity) > maxCachedBytes) {
+            cachedBytes.addAndGet(-capacity);
+            return;
+        }
+        freeBuffers[sizeClass(capacity)].add(buffer);
+    }
+
+    private static int sizeClass(int size) {
+        var bits = size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+        Preconditions.isTrue(bits <= MAX_BUFFER_BITS, "Payload size is too large");
+        return Math.max(bits, MIN_BUFFER_BITS) - MIN_BUFFER_BITS;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosmessages.Message;
+
+/**
+ * Message which large data field is stored off-heap in {@link Payload} instead of Java array.
+ *
+ * <p>Clients which support it (see {@link JRosClient#getPayloadArena()}) write the payload to the
+ * network directly from its buffer and deliver received messages with payloads allocated in their
+ * arena. Subscribers are responsible to release the payload of the received message once they are
+ * done with it.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public interface PayloadMessage extends Message {
+
+    /** Payload which backs the large data field of this message */
+    Payload getPayload();
+}
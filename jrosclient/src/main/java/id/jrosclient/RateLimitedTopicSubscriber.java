@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosmessages.Message;
+import id.xfunction.Preconditions;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorator which passes messages of the topic to the downstream subscriber no more often than once
+ * per given interval.
+ *
+ * <p>Instead of receiving and dropping the excess messages, it requests next message from the topic
+ * only when the interval since the last delivered message passes. Which message is received then
+ * depends on the topic publisher, so to receive the latest message of the topic (and not the oldest
+ * buffered one) subscribe with {@link SubscriptionMode#KEEP_LATEST}:
+ *
+ * <pre>{@code
+ * // 5 Hz
+ * client.subscribe(
+ *         new RateLimitedTopicSubscriber<>(subscriber, Duration.ofMillis(200)),
+ *         SubscriptionMode.KEEP_LATEST);
+ * }</pre>
+ *
+ * @param <M> type of messages in the topic
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class RateLimitedTopicSubscriber<M extends Message>
+        extends FilteringTopicSubscriber<M> {
+
+    private final long minIntervalNanos;
+    private final Runnable requestTask = this::onTimer;
+    private long lastDeliveredNanos;
+    private boolean isRequested;
+    private boolean isScheduled;
+
+    /**
+     * @param downstream subscriber which receives messages
+     * @param minInterval minimum time between two messages passed to the downstream subscriber
+     */
+    public RateLimitedTopicSubscriber(TopicSubscriber<M> downstream, Duration minInterval) {
+        super(downstream);
+        Preconditions.isTrue(
+                !minInterval.isNegative() && !minInterval.isZero(), "Interval must be positive");
+        minIntervalNanos = minInterval.toNanos();
+        lastDeliveredNanos = System.nanoTime() - minIntervalNanos;
+    }
+
+    public Duration getMinInterval() {
+        return Duration.ofNanos(minIntervalNanos);
+    }
+
+    @Override
+    synchronized boolean accept(M item, long nowNanos) {
+        // messages which upstream sent without being requested
+        if (nowNanos - lastDeliveredNanos < minIntervalNanos) return false;
+        lastDeliveredNanos = nowNanos;
+        return true;
+    }
+
+    @Override
+    void onRequest(long n) {
+        requestNext();
+    }
+
+    @Override
+    void onProcessed() {
+        synchronized (this) {
+            isRequested = false;
+        }
+        requestNext();
+    }
+
+    private void onTimer() {
+        synchronized (this) {
+            isScheduled = false;
+        }
+        requestNext();
+    }
+
+    private void requestNext() {
+        synchronized (this) {
+            if (isCancelled || isRequested || isScheduled || !hasDemand()) return;
+            var delay = lastDeliveredNanos + minIntervalNanos - System.nanoTime();
+            if (delay > 0) {
+                isScheduled = true;
+                TIMER.schedule(requestTask, delay, TimeUnit.NANOSECONDS);
+                return;
+            }
+            isRequested = true;
+        }
+        upstream.request(1);
+    }
+}
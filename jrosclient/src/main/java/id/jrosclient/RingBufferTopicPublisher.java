@@ -0,0 +1,697 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.metrics.TopicMetrics;
+import id.jrosclient.metrics.TopicMetricsRegistry;
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.Preconditions;
+import id.xfunction.XJson;
+import id.xfunction.logging.XLogger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Topic publisher which is based on preallocated ring buffer shared between all its subscribers
+ * (similar to LMAX Disruptor).
+ *
+ * <p>Comparing to {@link TopicSubmissionPublisher} it does not allocate any objects and does not
+ * wake up any executor tasks when messages are submitted. Instead, each subscriber has its own
+ * delivery loop which runs on a separate thread and follows its own sequence cursor over the ring
+ * buffer. How the delivery loops wait for new messages is controlled by {@link WaitStrategy}. This
+ * makes it suitable for high frequency topics where latency jitter is important.
+ *
+ * <p>Only one thread at a time is allowed to submit messages (single producer).
+ *
+ * <p>What happens when ring buffer is full is defined by {@link OverflowPolicy}. By default {@link
+ * #submit(Message)} blocks until the slowest subscriber consumes its messages. Subscribers receive
+ * messages only when they have outstanding demand (see {@link Flow.Subscription#request(long)}) so
+ * subscribers which do not request messages will eventually block the publisher (or lose their
+ * messages).
+ *
+ * <p>Bursts of messages can be published with {@link #submitAll(Collection)} which writes them to
+ * the ring buffer in bulk and wakes up subscribers only once.
+ *
+ * <p>Subscribers receive only messages which were submitted after they subscribed. If there is no
+ * subscribers available for a given topic then all published messages are discarded.
+ *
+ * @param <M> type of messages in the topic
+ * @author lambdaprime intid@protonmail.com
+ */
+public class RingBufferTopicPublisher<M extends Message> implements TopicPublisher<M> {
+    private final XLogger LOGGER = XLogger.getLogger(this);
+
+    @SuppressWarnings("rawtypes")
+    private static final RingSubscription[] NO_SUBSCRIPTIONS = new RingSubscription[0];
+
+    private final MessageDescriptor<M> messageDescriptor;
+    private final RosName topic;
+    private final Executor executor;
+    private final WaitStrategy waitStrategy;
+    private final OverflowPolicy overflowPolicy;
+    private final Object[] ringBuffer;
+
+    /** Submit time of the messages in the corresponding slots of the ring buffer */
+    private final long[] submitTimes;
+
+    private final int mask;
+
+    /** Sequence of the last published message */
+    private final AtomicLong cursor = new AtomicLong(-1);
+
+    /** Accessed only by producer thread */
+    private long nextSequence;
+
+    /** Accessed only by producer thread */
+    private long cachedGatingSequence = -1;
+
+    @SuppressWarnings("unchecked")
+    private volatile RingSubscription<M>[] subscriptions = NO_SUBSCRIPTIONS;
+
+    private volatile boolean isClosed;
+    private final TopicMetrics metrics;
+
+    /**
+     * Simplified version of {@link #RingBufferTopicPublisher(MessageDescriptor, RosName)} where
+     * topic is converted to {@link RosName} and messageClass to {@link MessageDescriptor}
+     */
+    public RingBufferTopicPublisher(Class<M> messageClass, String topic) {
+        this(
+                MessageDescriptorCache.getDefault().getMessageDescriptor(messageClass),
+                MessageDescriptorCache.getDefault().getTopicName(topic));
+    }
+
+    /**
+     * Create topic publisher with {@link Flow#defaultBufferSize()} ring buffer size, {@link
+     * WaitStrategy#PARK} wait strategy and separate daemon thread for each subscriber.
+     *
+     * @param messageDescriptor descriptor of the messages in the topic
+     * @param topic topic name
+     */
+    public RingBufferTopicPublisher(MessageDescriptor<M> messageDescriptor, RosName topic) {
+        this(messageDescriptor, topic, null, Flow.defaultBufferSize(), WaitStrategy.PARK);
+    }
+
+    /**
+     * Create topic publisher with {@link Flow#defaultBufferSize()} ring buffer size and {@link
+     * WaitStrategy#PARK} wait strategy which runs delivery loops according to the given execution
+     * mode.
+     *
+     * <p>Delivery loops never return to the executor, so with {@link ExecutionMode#FORK_JOIN_POOL}
+     * they are not run on the shared pool, instead separate daemon thread is created for each
+     * subscriber. With {@link ExecutionMode#VIRTUAL_THREADS} each subscriber gets its own virtual
+     * thread.
+     *
+     * @param messageDescriptor descriptor of the messages in the topic
+     * @param topic topic name
+     * @param executionMode which threads run delivery loops of the subscribers
+     * @param overflowPolicy what to do when ring buffer is full
+     * @throws id.jrosclient.exceptions.JRosClientException if execution mode is not supported by
+     *     current Java version
+     */
+    public RingBufferTopicPublisher(
+            MessageDescriptor<M> messageDescriptor,
+            RosName topic,
+            ExecutionMode executionMode,
+            OverflowPolicy overflowPolicy) {
+        this(
+                messageDescriptor,
+                topic,
+                switch (executionMode) {
+                    case FORK_JOIN_POOL -> null;
+                    case VIRTUAL_THREADS -> executionMode.newExecutor(
+                            "ring-publisher-" + topic.toGlobalName());
+                },
+                Flow.defaultBufferSize(),
+                WaitStrategy.PARK,
+                overflowPolicy);
+    }
+
+    /**
+     * @param messageDescriptor descriptor of the messages in the topic
+     * @param topic topic name
+     * @param executor executor which runs delivery loops of the subscribers. Each delivery loop
+     *     occupies executor thread until subscriber is cancelled or publisher is closed. If null
+     *     then separate daemon thread is created for each subscriber.
+     * @param bufferCapacity size of the ring buffer, it is rounded up to the nearest power of two
+     * @param waitStrategy how publisher and delivery loops wait for each other
+     */
+    public RingBufferTopicPublisher(
+            MessageDescriptor<M> messageDescriptor,
+            RosName topic,
+            Executor executor,
+            int bufferCapacity,
+            WaitStrategy waitStrategy) {
+        this(
+                messageDescriptor,
+                topic,
+                executor,
+                bufferCapacity,
+                waitStrategy,
+                OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @param messageDescriptor descriptor of the messages in the topic
+     * @param topic topic name
+     * @param executor executor which runs delivery loops of the subscribers. Each delivery loop
+     *     occupies executor thread until subscriber is cancelled or publisher is closed. If null
+     *     then separate daemon thread is created for each subscriber.
+     * @param bufferCapacity size of the ring buffer, it is rounded up to the nearest power of two
+     * @param waitStrategy how publisher and delivery loops wait for each other
+     * @param overflowPolicy what to do when ring buffer is full. Ring buffer is shared between all
+     *     subscribers so {@link OverflowPolicy#CONFLATE_LATEST} is not supported. With {@link
+     *     OverflowPolicy#DROP_OLDEST} subscribers which lag behind skip their oldest messages.
+     */
+    public RingBufferTopicPublisher(
+            MessageDescriptor<M> messageDescriptor,
+            RosName topic,
+            Executor executor,
+            int bufferCapacity,
+            WaitStrategy waitStrategy,
+            OverflowPolicy overflowPolicy) {
+        Preconditions.isTrue(
+                overflowPolicy.getType() != OverflowPolicy.Type.CONFLATE_LATEST,
+                "Overflow policy is not supported by ring buffer publisher");
+        Preconditions.isTrue(bufferCapacity > 0, "Buffer capacity must be positive");
+        Preconditions.isTrue(bufferCapacity <= 1 << 30, "Buffer capacity is too large");
+        this.messageDescriptor = messageDescriptor;
+        this.topic = topic;
+        this.executor = executor != null ? executor : this::startDeliveryThread;
+        this.waitStrategy = waitStrategy;
+        this.overflowPolicy = overflowPolicy;
+        var size = bufferCapacity == 1 ? 1 : Integer.highestOneBit(bufferCapacity - 1) << 1;
+        ringBuffer = new Object[size];
+        submitTimes = new long[size];
+        mask = size - 1;
+        metrics = TopicMetricsRegistry.getDefault().getMetrics(topic);
+        metrics.onPublisherCreated();
+    }
+
+    @Override
+    public MessageDescriptor<M> getMessageDescriptor() {
+        return messageDescriptor;
+    }
+
+    @Override
+    public RosName getTopic() {
+        return topic;
+    }
+
+    /** Size of the ring buffer */
+    public int getBufferCapacity() {
+        return ringBuffer.length;
+    }
+
+    public int getNumberOfSubscribers() {
+        return subscriptions.length;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super M> subscriber) {
+        var subscription = new RingSubscription<M>(this, subscriber);
+        var isSubscribed = false;
+        synchronized (this) {
+            if (!isClosed) {
+                for (var s : subscriptions) {
+                    if (s.subscriber == subscriber) {
+                        subscriber.onError(new IllegalStateException("Duplicate subscribe"));
+                        return;
+                    }
+                }
+                // new subscribers receive only messages which are published after they subscribed
+                subscription.sequence.set(cursor.get());
+                var newSubscriptions = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+                newSubscriptions[subscriptions.length] = subscription;
+                subscriptions = newSubscriptions;
+                isSubscribed = true;
+            }
+        }
+        subscriber.onSubscribe(subscription);
+        if (!isSubscribed) {
+            subscription.terminate(subscriber::onComplete);
+            return;
+        }
+        executor.execute(subscription);
+    }
+
+    /**
+     * Publish message to all current subscribers. If ring buffer is full the {@link OverflowPolicy}
+     * of the publisher is applied.
+     *
+     * <p>Must not be called concurrently from multiple threads.
+     *
+     * @throws IllegalStateException if publisher is closed
+     */
+    public void submit(M item) {
+        if (isClosed) throw new IllegalStateException("Publisher is closed");
+        var sequence = nextSequence;
+        var wrapPoint = sequence - ringBuffer.length;
+        if (wrapPoint > cachedGatingSequence) {
+            if (overflowPolicy.getType() == OverflowPolicy.Type.BLOCK) {
+                cachedGatingSequence = awaitGatingSequence(wrapPoint);
+            } else if (!awaitFreeSlot(wrapPoint)) {
+                metrics.onDropped(subscriptions.length);
+                return;
+            }
+        }
+        ringBuffer[(int) sequence & mask] = item;
+        submitTimes[(int) sequence & mask] = System.nanoTime();
+        nextSequence = sequence + 1;
+        // volatile write makes the item visible to the delivery loops
+        cursor.set(sequence);
+        signalSubscribers();
+        metrics.onSubmitted(1);
+    }
+
+    /**
+     * Array version of {@link #submitAll(Collection)}
+     *
+     * @throws IllegalStateException if publisher is closed
+     */
+    public BatchSubmitResult submitAll(M[] items) {
+        return submitAll(Arrays.asList(items));
+    }
+
+    /**
+     * Publish batch of messages to all current subscribers.
+     *
+     * <p>Messages are written to the ring buffer in bulk, metrics are updated once and subscribers
+     * are woken up once per batch (unless batch does not fit into the ring buffer, in which case
+     * subscribers are woken up each time it is full). If ring buffer is full the {@link
+     * OverflowPolicy} of the publisher is applied.
+     *
+     * <p>Must not be called concurrently from multiple threads.
+     *
+     * @return how many messages were accepted and dropped for each subscriber
+     * @throws IllegalStateException if publisher is closed
+     */
+    public BatchSubmitResult submitAll(Collection<? extends M> items) {
+        if (isClosed) throw new IllegalStateException("Publisher is closed");
+        var current = subscriptions;
+        var skipped = new int[current.length];
+        var count = items.size();
+        var iterator = items.iterator();
+        var deadline =
+                overflowPolicy.getType() == OverflowPolicy.Type.BLOCK_WITH_TIMEOUT
+                        ? System.nanoTime() + overflowPolicy.getTimeout().toNanos()
+                        : 0;
+        var submitNanos = System.nanoTime();
+        var written = 0;
+        var counter = 0;
+        while (written < count) {
+            var sequence = nextSequence;
+            var free = freeSlots(sequence, count - written);
+            if (free == 0) {
+                var isDropped = false;
+                switch (overflowPolicy.getType()) {
+                    case DROP_NEWEST:
+                        isDropped = true;
+                        break;
+                    case BLOCK_WITH_TIMEOUT:
+                        isDropped = System.nanoTime() - deadline >= 0;
+                        break;
+                    case DROP_OLDEST:
+                        skipLagging(
+                                current,
+                                skipped,
+                                sequence
+                                        + Math.min(count - written, ringBuffer.length)
+                                        - 1
+                                        - ringBuffer.length);
+                        continue;
+                    default:
+                        break;
+                }
+                if (isDropped) break;
+                counter = waitStrategy.idle(counter);
+                continue;
+            }
+            counter = 0;
+            for (int i = 0; i < free; i++) {
+                var index = (int) (sequence + i) & mask;
+                ringBuffer[index] = iterator.next();
+                submitTimes[index] = submitNanos;
+            }
+            written += free;
+            nextSequence = sequence + free;
+            cursor.set(nextSequence - 1);
+            // let subscribers free some space when batch does not fit
+            if (written < count) signalSubscribers();
+        }
+        signalSubscribers();
+        metrics.onSubmitted(written);
+        var rejected = count - written;
+        var results = new ArrayList<BatchSubmitResult.SubscriberResult>(current.length);
+        var totalDropped = 0L;
+        for (int i = 0; i < current.length; i++) {
+            var dropped = rejected + skipped[i];
+            totalDropped += dropped;
+            results.add(
+                    new BatchSubmitResult.SubscriberResult(
+                            current[i].subscriber, written, dropped));
+        }
+        if (totalDropped > 0) metrics.onDropped(totalDropped);
+        return new BatchSubmitResult(count, written, Collections.unmodifiableList(results));
+    }
+
+    /**
+     * Stop accepting new messages and block until all already submitted messages are delivered to
+     * the subscribers, after that subscribers receive {@link Subscriber#onComplete()}
+     */
+    @Override
+    public void close() {
+        LOGGER.entering("close");
+        closeAsync().join();
+        LOGGER.exiting("close");
+    }
+
+    /**
+     * Non-blocking version of {@link #close()}
+     *
+     * @return future which is completed when all subscribers received all pending messages
+     */
+    @Override
+    public CompletableFuture<Void> closeAsync() {
+        RingSubscription<M>[] current;
+        boolean isFirstClose;
+        synchronized (this) {
+            isFirstClose = !isClosed;
+            isClosed = true;
+            current = subscriptions;
+        }
+        signalSubscribers();
+        var termination =
+                CompletableFuture.allOf(
+                        Arrays.stream(current)
+                                .map(s -> s.termination)
+                                .toArray(CompletableFuture[]::new));
+        if (isFirstClose)
+            termination.thenRun(() -> TopicMetricsRegistry.getDefault().release(metrics));
+        return termination;
+    }
+
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    @Override
+    public void onPublishError(Throwable exception) {
+        LOGGER.severe("Error delivering message to the subscriber", exception);
+        metrics.onPublisherError();
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString("topic", topic, "bufferCapacity", ringBuffer.length);
+    }
+
+    private long awaitGatingSequence(long wrapPoint) {
+        var counter = 0;
+        long minSequence;
+        while (wrapPoint > (minSequence = minimumSequence(wrapPoint))) {
+            counter = waitStrategy.idle(counter);
+        }
+        return minSequence;
+    }
+
+    /**
+     * Wait until slot with the given wrap point is consumed by all subscribers, applying the {@link
+     * OverflowPolicy} of the publisher.
+     *
+     * @return false if message needs to be dropped
+     */
+    private boolean awaitFreeSlot(long wrapPoint) {
+        var deadline =
+                overflowPolicy.getType() == OverflowPolicy.Type.BLOCK_WITH_TIMEOUT
+                        ? System.nanoTime() + overflowPolicy.getTimeout().toNanos()
+                        : 0;
+        var counter = 0;
+        while (true) {
+            var minSequence = minimumSequence(wrapPoint);
+            if (wrapPoint <= minSequence) {
+                cachedGatingSequence = minSequence;
+                return true;
+            }
+            switch (overflowPolicy.getType()) {
+                case DROP_NEWEST:
+                    return false;
+                case BLOCK_WITH_TIMEOUT:
+                    if (System.nanoTime() - deadline >= 0) return false;
+                    break;
+                case DROP_OLDEST:
+                    var skipped = skipLagging(subscriptions, null, wrapPoint);
+                    if (skipped > 0) metrics.onDropped(skipped);
+                    continue;
+                default:
+                    break;
+            }
+            counter = waitStrategy.idle(counter);
+        }
+    }
+
+    /**
+     * @return how many messages (but no more than required) can be written starting from the given
+     *     sequence without waiting for the subscribers
+     */
+    private int freeSlots(long sequence, int required) {
+        var last = Math.min(sequence + required - 1, cachedGatingSequence + ringBuffer.length);
+        if (last < sequence + required - 1) {
+            cachedGatingSequence = minimumSequence(sequence - 1);
+            last = Math.min(sequence + required - 1, cachedGatingSequence + ringBuffer.length);
+        }
+        return (int) Math.max(0, last - sequence + 1);
+    }
+
+    /**
+     * Move subscribers which did not consume messages up to the given sequence forward, so that
+     * their slots can be reused. Skipped messages are counted as dropped for such subscribers.
+     *
+     * @param skipped if not null, number of skipped messages is added to it for each subscriber
+     * @return total number of skipped messages
+     */
+    private long skipLagging(RingSubscription<M>[] current, int[] skipped, long targetSequence) {
+        var total = 0L;
+        for (int i = 0; i < current.length; i++) {
+            var subscriptionSequence = current[i].sequence;
+            long value;
+            while ((value = subscriptionSequence.get()) < targetSequence) {
+                if (subscriptionSequence.compareAndSet(value, targetSequence)) {
+                    if (skipped != null) skipped[i] += (int) (targetSequence - value);
+                    total += targetSequence - value;
+                    break;
+                }
+            }
+        }
+        // subscribers which joined during the batch are not in the snapshot
+        var subscriptions = this.subscriptions;
+        if (subscriptions.length != current.length) {
+            for (var s : subscriptions) {
+                long value;
+                while ((value = s.sequence.get()) < targetSequence) {
+                    if (s.sequence.compareAndSet(value, targetSequence)) break;
+                }
+            }
+        }
+        cachedGatingSequence = minimumSequence(targetSequence);
+        return total;
+    }
+
+    /**
+     * @param defaultValue returned when there is no subscribers
+     */
+    private long minimumSequence(long defaultValue) {
+        var current = subscriptions;
+        if (current.length == 0) return defaultValue;
+        var min = Long.MAX_VALUE;
+        for (int i = 0; i < current.length; i++) {
+            min = Math.min(min, current[i].sequence.get());
+        }
+        return min;
+    }
+
+    private void signalSubscribers() {
+        if (waitStrategy != WaitStrategy.PARK) return;
+        var current = subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            current[i].signal();
+        }
+    }
+
+    private synchronized void remove(RingSubscription<M> subscription) {
+        var current = subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] != subscription) continue;
+            var newSubscriptions = Arrays.copyOf(current, current.length - 1);
+            System.arraycopy(current, i + 1, newSubscriptions, i, current.length - i - 1);
+            subscriptions = newSubscriptions;
+            return;
+        }
+    }
+
+    private void startDeliveryThread(Runnable deliveryLoop) {
+        var thread = new Thread(deliveryLoop, "ring-publisher-" + topic.toGlobalName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static class RingSubscription<M extends Message>
+            implements Flow.Subscription, Runnable {
+        private final RingBufferTopicPublisher<M> publisher;
+        private final Subscriber<? super M> subscriber;
+
+        /**
+         * Sequence of the last message claimed by the subscriber. Subscriber claims message right
+         * before passing it to {@link Subscriber#onNext(Object)}, so messages skipped by the
+         * publisher are never the ones which are being delivered.
+         */
+        private final AtomicLong sequence = new AtomicLong(-1);
+
+        private final AtomicLong demand = new AtomicLong();
+        private final CompletableFuture<Void> termination = new CompletableFuture<>();
+        private volatile Thread parkedThread;
+        private volatile boolean isCancelled;
+        private volatile Throwable requestError;
+
+        RingSubscription(RingBufferTopicPublisher<M> publisher, Subscriber<? super M> subscriber) {
+            this.publisher = publisher;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // signalled by the delivery loop so that it does not overlap with onNext
+                requestError =
+                        new IllegalArgumentException("Number of requested items must be positive");
+                cancel();
+                return;
+            }
+            demand.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            isCancelled = true;
+            signal();
+        }
+
+        @Override
+        public void run() {
+            var counter = 0;
+            while (!isCancelled) {
+                // sequence may be moved forward by the publisher (see OverflowPolicy#DROP_OLDEST)
+                var next = sequence.get() + 1;
+                var isClosed = publisher.isClosed;
+                var available = publisher.cursor.get();
+                if (next > available) {
+                    if (isClosed) {
+                        terminate(subscriber::onComplete);
+                        return;
+                    }
+                    counter = idle(counter, next);
+                    continue;
+                }
+                var requested = demand.get();
+                if (requested == 0) {
+                    counter = idle(counter, next);
+                    continue;
+                }
+                counter = 0;
+                var last = Math.min(available, next + Math.min(requested, Integer.MAX_VALUE) - 1);
+                var delivered = 0L;
+                while (next <= last) {
+                    var index = (int) next & publisher.mask;
+                    @SuppressWarnings("unchecked")
+                    var item = (M) publisher.ringBuffer[index];
+                    var submitNanos = publisher.submitTimes[index];
+                    // publisher skips the subscriber before it overwrites its slots, so if we
+                    // were not skipped the item which we read is valid. Once claimed, the slot
+                    // can be reused by the producer.
+                    if (!sequence.compareAndSet(next - 1, next)) break;
+                    publisher.metrics.onSent(submitNanos);
+                    try {
+                        subscriber.onNext(item);
+                        publisher.metrics.onDelivered(submitNanos);
+                    } catch (Throwable e) {
+                        publisher.onPublishError(e);
+                        terminate(() -> subscriber.onError(e));
+                        return;
+                    }
+                    delivered++;
+                    next++;
+                    if (isCancelled) break;
+                }
+                if (requested != Long.MAX_VALUE) demand.addAndGet(-delivered);
+            }
+            var e = requestError;
+            terminate(e != null ? () -> subscriber.onError(e) : null);
+        }
+
+        private int idle(int counter, long next) {
+            var strategy = publisher.waitStrategy;
+            if (!strategy.parks(counter)) return strategy.idle(counter);
+            parkedThread = Thread.currentThread();
+            // check again after announcing that we are going to park to not miss the signal
+            if (!hasWork(next)) counter = strategy.idle(counter);
+            parkedThread = null;
+            return counter;
+        }
+
+        private boolean hasWork(long next) {
+            if (isCancelled) return true;
+            if (next > publisher.cursor.get()) return publisher.isClosed;
+            return demand.get() > 0;
+        }
+
+        private void signal() {
+            var thread = parkedThread;
+            if (thread != null) LockSupport.unpark(thread);
+        }
+
+        /**
+         * Stop delivery and pass the terminal signal (if any) to the subscriber. Termination future
+         * completes only after that, so that {@link RingBufferTopicPublisher#close()} does not
+         * return before subscribers are completed.
+         */
+        private void terminate(Runnable signal) {
+            isCancelled = true;
+            publisher.remove(this);
+            try {
+                if (signal != null) signal.run();
+            } finally {
+                termination.complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosmessages.Message;
+import id.xfunction.Preconditions;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorator which samples the topic once per each time window and passes sampled message to the
+ * downstream subscriber.
+ *
+ * <p>Unlike {@link RateLimitedTopicSubscriber}, windows follow each other at fixed rate regardless
+ * of when messages were delivered. At the start of each window it requests one message from the
+ * topic, so messages which are published in between are never requested. To sample the latest
+ * message of the topic subscribe with {@link SubscriptionMode#KEEP_LATEST}:
+ *
+ * <pre>{@code
+ * client.subscribe(
+ *         new SamplingTopicSubscriber<>(subscriber, Duration.ofSeconds(1)),
+ *         SubscriptionMode.KEEP_LATEST);
+ * }</pre>
+ *
+ * <p>Window is skipped if downstream subscriber did not request any messages or if message
+ * requested in the previous window did not arrive yet.
+ *
+ * @param <M> type of messages in the topic
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class SamplingTopicSubscriber<M extends Message> extends FilteringTopicSubscriber<M> {
+
+    private final long windowNanos;
+    private ScheduledFuture<?> timer;
+    private boolean isRequested;
+
+    /**
+     * @param downstream subscriber which receives messages
+     * @param window length of the sampling window
+     */
+    public SamplingTopicSubscriber(TopicSubscriber<M> downstream, Duration window) {
+        super(downstream);
+        Preconditions.isTrue(!window.isNegative() && !window.isZero(), "Window must be positive");
+        windowNanos = window.toNanos();
+    }
+
+    public Duration getWindow() {
+        return Duration.ofNanos(windowNanos);
+    }
+
+    @Override
+    synchronized void onStart() {
+        if (isCancelled) return;
+        timer =
+                TIMER.scheduleAtFixedRate(
+                        this::onWindow, windowNanos, windowNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    synchronized void onTerminate() {
+        if (timer != null) timer.cancel(false);
+    }
+
+    @Override
+    synchronized boolean accept(M item, long nowNanos) {
+        // messages which upstream sent without being requested
+        return isRequested;
+    }
+
+    @Override
+    void onRequest(long n) {
+        // messages are requested at the start of each window
+    }
+
+    @Override
+    synchronized void onProcessed() {
+        isRequested = false;
+    }
+
+    private void onWindow() {
+        synchronized (this) {
+            if (isCancelled || isRequested || !hasDemand()) return;
+            isRequested = true;
+        }
+        upstream.request(1);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.xfunction.Preconditions;
+import id.xfunction.XJson;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Defines how {@link TopicScheduler} orders delivery of the messages of the topic comparing to the
+ * other topics of the same client.
+ *
+ * <p>Pending deliveries of the topics with higher priority always run first. Among the topics with
+ * the same priority the earliest deadline runs first, and topics without deadline run last (in
+ * order of their arrival).
+ *
+ * <p>Deadline is the maximum time which may pass since the delivery was scheduled until it is
+ * started. Each delivery which started after its deadline is counted in {@link
+ * id.jrosclient.metrics.JRosClientMetrics#TOPIC_DEADLINE_MISSED_COUNT_METRIC}. Delivery here is one
+ * task of the publisher executor, which may deliver several buffered messages (see {@link
+ * TopicScheduler}), so deadline is checked only for the first of them.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class SchedulingPolicy {
+
+    public static final int NORMAL_PRIORITY = 0;
+
+    /** Priority for safety-critical topics (emergency stop, velocity commands, etc.) */
+    public static final int HIGH_PRIORITY = 100;
+
+    /** Priority for bulk topics (camera images, point clouds, etc.) */
+    public static final int LOW_PRIORITY = -100;
+
+    /** Normal priority without deadline */
+    public static final SchedulingPolicy DEFAULT =
+            new SchedulingPolicy(NORMAL_PRIORITY, Duration.ZERO);
+
+    private final int priority;
+    private final Duration deadline;
+
+    private SchedulingPolicy(int priority, Duration deadline) {
+        this.priority = priority;
+        this.deadline = deadline;
+    }
+
+    /** Policy with given priority and without deadline */
+    public static SchedulingPolicy withPriority(int priority) {
+        return new SchedulingPolicy(priority, Duration.ZERO);
+    }
+
+    /**
+     * @param priority topics with higher priority are delivered first
+     * @param deadline maximum time between scheduling of the delivery and its start
+     */
+    public static SchedulingPolicy withDeadline(int priority, Duration deadline) {
+        Preconditions.isTrue(
+                !deadline.isNegative() && !deadline.isZero(), "Deadline must be positive");
+        return new SchedulingPolicy(priority, deadline);
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    /** Deadline of the delivery, zero when there is no deadline */
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    public boolean hasDeadline() {
+        return !deadline.isZero();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(priority, deadline);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        var other = (SchedulingPolicy) obj;
+        return priority == other.priority && Objects.equals(deadline, other.deadline);
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString("priority", priority, "deadline", deadline);
+    }
+}
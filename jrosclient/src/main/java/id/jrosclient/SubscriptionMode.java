@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+/**
+ * Defines which messages of the topic are passed to the subscriber.
+ *
+ * @see JRosClient#subscribe(TopicSubscriber, SubscriptionMode)
+ * @author lambdaprime intid@protonmail.com
+ */
+public enum SubscriptionMode {
+
+    /** Subscriber receives all messages of the topic. This is default mode. */
+    ALL,
+
+    /**
+     * Client keeps only the latest message which was not yet consumed by the subscriber in a single
+     * slot. Messages which are superseded by the newer ones are dropped before they reach the
+     * subscriber and counted in {@link
+     * id.jrosclient.metrics.JRosClientMetrics#TOPIC_SUBSCRIBER_MESSAGES_CONFLATED_COUNT_METRIC}.
+     *
+     * <p>This keeps memory bounded and staleness of the received messages constant no matter how
+     * fast the publisher is. It is usually used for topics which represent current state (/tf,
+     * /odom, joint states, etc.)
+     */
+    KEEP_LATEST
+}
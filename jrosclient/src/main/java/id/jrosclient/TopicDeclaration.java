@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import id.jrosclient.metrics.TopicMetricsRegistry;
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.Preconditions;
+import id.xfunction.XJson;
+import java.util.Objects;
+
+/**
+ * Topic which application is going to use, declared upfront so that client can prepare it with
+ * {@link JRosClient#warmUp(java.util.Collection)} before application starts.
+ *
+ * @param <M> type of messages in the topic
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class TopicDeclaration<M extends Message> {
+
+    private final RosName topic;
+    private final MessageDescriptor<M> messageDescriptor;
+    private final int poolCapacity;
+
+    private TopicDeclaration(
+            RosName topic, MessageDescriptor<M> messageDescriptor, int poolCapacity) {
+        this.topic = topic;
+        this.messageDescriptor = messageDescriptor;
+        this.poolCapacity = poolCapacity;
+    }
+
+    public static <M extends Message> TopicDeclaration<M> of(
+            RosName topic, MessageDescriptor<M> messageDescriptor) {
+        return new TopicDeclaration<>(topic, messageDescriptor, 0);
+    }
+
+    /**
+     * Simplified version of {@link #of(RosName, MessageDescriptor)} where topic is converted to
+     * {@link RosName} and messageClass to {@link MessageDescriptor}
+     */
+    public static <M extends Message> TopicDeclaration<M> of(String topic, Class<M> messageClass) {
+        var cache = MessageDescriptorCache.getDefault();
+        return of(cache.getTopicName(topic), cache.getMessageDescriptor(messageClass));
+    }
+
+    /**
+     * Declaration which also preallocates {@link MessagePool} of the given capacity for the
+     * messages of the topic (unless pool for such messages already exists)
+     */
+    public TopicDeclaration<M> withMessagePool(int capacity) {
+        Preconditions.isTrue(capacity > 0, "Pool capacity must be positive");
+        return new TopicDeclaration<>(topic, messageDescriptor, capacity);
+    }
+
+    public RosName getTopic() {
+        return topic;
+    }
+
+    public MessageDescriptor<M> getMessageDescriptor() {
+        return messageDescriptor;
+    }
+
+    /**
+     * @return 0 if no message pool should be preallocated
+     */
+    public int getPoolCapacity() {
+        return poolCapacity;
+    }
+
+    /**
+     * Client independent part of the warm up: initialize message class and compute its {@link
+     * MessageMetadata}, initialize topic metrics and preallocate message pool
+     */
+    void prepare(MessageDescriptorCache cache) {
+        var messageClass = messageDescriptor.getMessageClass();
+        try {
+            Class.forName(messageClass.getName(), true, messageClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new JRosClientException(e);
+        }
+        cache.getMetadata(messageClass).newMessage();
+        // publishers and subscribers hold their own references to the topic metrics, so this one
+        // only initializes the registry and its instruments
+        var registry = TopicMetricsRegistry.getDefault();
+        registry.release(registry.getMetrics(topic));
+        if (poolCapacity > 0) MessagePool.forDescriptor(messageDescriptor, poolCapacity);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                topic.toGlobalName(), messageDescriptor.getMessageClass(), poolCapacity);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        var other = (TopicDeclaration<?>) obj;
+        return topic.toGlobalName().equals(other.topic.toGlobalName())
+                && messageDescriptor.getMessageClass() == other.messageDescriptor.getMessageClass()
+                && poolCapacity == other.poolCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString(
+                "topic",
+                topic.toGlobalName(),
+                "messageClass",
+                messageDescriptor.getMessageClass().getName(),
+                "poolCapacity",
+                poolCapacity);
+    }
+}
@@ -20,7 +20,9 @@ package id.jrosclient;
 import id.jroscommon.RosName;
 import id.jrosmessages.Message;
 import id.jrosmessages.MessageDescriptor;
+import id.xfunction.function.Unchecked;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Flow;
 
 /**
@@ -60,4 +62,41 @@ public interface TopicPublisher<M extends Message> extends Flow.Publisher<M>, Au
      */
     @Override
     void close() throws IOException;
+
+    /**
+     * Lease message instance which can be filled and submitted to this publisher instead of
+     * allocating a new one (see {@link MessagePool}).
+     *
+     * <p>Default implementation does not support pooling.
+     *
+     * @throws UnsupportedOperationException if publisher does not support message pooling
+     */
+    default M lease() {
+        throw new UnsupportedOperationException("Publisher does not support message pooling");
+    }
+
+    /**
+     * How deliveries of this publisher are ordered comparing to other topics when publisher runs on
+     * the {@link TopicScheduler}.
+     *
+     * <p>Default implementation returns {@link SchedulingPolicy#DEFAULT}.
+     */
+    default SchedulingPolicy getSchedulingPolicy() {
+        return SchedulingPolicy.DEFAULT;
+    }
+
+    /**
+     * Non-blocking version of {@link #close()} which allows to close multiple publishers in
+     * parallel.
+     *
+     * <p>Default implementation runs {@link #close()} asynchronously in {@link
+     * java.util.concurrent.ForkJoinPool#commonPool()}. Implementations are encouraged to override
+     * it and complete returned future directly when last pending message is delivered.
+     *
+     * @return future which is completed when there is no more pending messages and publisher is
+     *     closed
+     */
+    default CompletableFuture<Void> closeAsync() {
+        return CompletableFuture.runAsync(() -> Unchecked.run(this::close));
+    }
 }
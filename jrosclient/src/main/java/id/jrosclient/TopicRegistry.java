@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.XJson;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe registry of the publishers of the client, one publisher per topic name and message
+ * type.
+ *
+ * <p>Topics are kept in the {@link ConcurrentHashMap} where each topic name maps to the immutable
+ * map of its publishers (usually just one). Lookups ({@link #find(RosName, MessageDescriptor)},
+ * {@link #hasPublisher(RosName)}) do not take any locks and never block. Updates lock only the hash
+ * bin of their topic, so updates of different topics proceed in parallel.
+ *
+ * <p>Registry is intended for implementations of {@link JRosClient} to keep track of their
+ * publishers.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class TopicRegistry {
+
+    private final Map<String, Map<Class<?>, TopicPublisher<?>>> topics = new ConcurrentHashMap<>();
+
+    /**
+     * @return false if topic already has publisher with the same message type, in that case
+     *     registry is not changed
+     */
+    public boolean register(TopicPublisher<?> publisher) {
+        var messageClass = publisher.getMessageDescriptor().getMessageClass();
+        var isRegistered = new boolean[1];
+        topics.compute(
+                publisher.getTopic().toGlobalName(),
+                (topic, publishers) -> {
+                    if (publishers == null) {
+                        isRegistered[0] = true;
+                        return Map.of(messageClass, publisher);
+                    }
+                    if (publishers.containsKey(messageClass)) return publishers;
+                    var updated = new HashMap<>(publishers);
+                    updated.put(messageClass, publisher);
+                    isRegistered[0] = true;
+                    return Collections.unmodifiableMap(updated);
+                });
+        return isRegistered[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    public <M extends Message> Optional<TopicPublisher<M>> find(
+            RosName topic, MessageDescriptor<M> messageDescriptor) {
+        var publishers = topics.get(topic.toGlobalName());
+        if (publishers == null) return Optional.empty();
+        return Optional.ofNullable(
+                (TopicPublisher<M>) publishers.get(messageDescriptor.getMessageClass()));
+    }
+
+    /**
+     * Remove publisher of the topic with given message type
+     *
+     * @return publisher which was removed
+     */
+    @SuppressWarnings("unchecked")
+    public <M extends Message> Optional<TopicPublisher<M>> remove(
+            RosName topic, MessageDescriptor<M> messageDescriptor) {
+        var removed = new TopicPublisher<?>[1];
+        topics.computeIfPresent(
+                topic.toGlobalName(),
+                (name, publishers) -> {
+                    removed[0] = publishers.get(messageDescriptor.getMessageClass());
+                    return without(publishers, messageDescriptor.getMessageClass(), removed[0]);
+                });
+        return Optional.ofNullable((TopicPublisher<M>) removed[0]);
+    }
+
+    /**
+     * Remove given publisher, if topic has different publisher it is kept
+     *
+     * @return true if publisher was removed
+     */
+    public boolean remove(TopicPublisher<?> publisher) {
+        var messageClass = publisher.getMessageDescriptor().getMessageClass();
+        var isRemoved = new boolean[1];
+        topics.computeIfPresent(
+                publisher.getTopic().toGlobalName(),
+                (topic, publishers) -> {
+                    if (publishers.get(messageClass) != publisher) return publishers;
+                    isRemoved[0] = true;
+                    return without(publishers, messageClass, publisher);
+                });
+        return isRemoved[0];
+    }
+
+    /** Check if topic has publisher with any message type */
+    public boolean hasPublisher(RosName topic) {
+        return topics.containsKey(topic.toGlobalName());
+    }
+
+    /** Snapshot of all registered publishers */
+    public List<TopicPublisher<?>> getPublishers() {
+        var result = new ArrayList<TopicPublisher<?>>();
+        for (var publishers : topics.values()) result.addAll(publishers.values());
+        return result;
+    }
+
+    public int getTopicCount() {
+        return topics.size();
+    }
+
+    public void clear() {
+        topics.clear();
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString("topics", topics.size());
+    }
+
+    /**
+     * @return null if no publishers left, so that topic is removed
+     */
+    private static Map<Class<?>, TopicPublisher<?>> without(
+            Map<Class<?>, TopicPublisher<?>> publishers,
+            Class<?> messageClass,
+            TopicPublisher<?> publisher) {
+        if (publisher == null) return publishers;
+        if (publishers.size() == 1) return null;
+        var updated = new HashMap<>(publishers);
+        updated.remove(messageClass);
+        return Collections.unmodifiableMap(updated);
+    }
+}
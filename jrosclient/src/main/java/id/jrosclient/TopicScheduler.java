@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.metrics.TopicMetrics;
+import id.jrosclient.metrics.TopicMetricsRegistry;
+import id.jroscommon.RosName;
+import id.xfunction.Preconditions;
+import id.xfunction.logging.XLogger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor shared by the publishers and subscribers of the client which runs their pending
+ * deliveries according to the {@link SchedulingPolicy} of each topic instead of the order of their
+ * arrival.
+ *
+ * <p>Scheduler does not preempt deliveries which are already running, so when CPU is saturated by
+ * bulk topics, the delivery of the high priority topic waits until one of the scheduler threads
+ * becomes free and then it runs before any other pending delivery.
+ *
+ * <p>Scheduler orders tasks which are passed to its executors, not individual messages. {@link
+ * TopicSubmissionPublisher} schedules one task per subscriber each time its buffer becomes
+ * non-empty, and such task delivers all messages which are buffered by the time it runs. So the
+ * deadline applies to the first message of each such burst, and a subscriber which receives a long
+ * burst of a bulk topic keeps one scheduler thread busy until its buffer is empty. Use parallelism
+ * larger than the number of bulk topic subscribers to leave threads for the high priority topics,
+ * or limit the buffer size of the bulk topics.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TopicScheduler implements AutoCloseable {
+    private final XLogger LOGGER = XLogger.getLogger(this);
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final PriorityBlockingQueue<ScheduledTask> queue = new PriorityBlockingQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Thread> workers = new ArrayList<>();
+
+    /** Metrics of the topics which are held until scheduler is closed */
+    private final Set<TopicMetrics> topicMetrics = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean isClosed;
+
+    private record ScheduledTask(
+            Runnable task,
+            int priority,
+            boolean hasDeadline,
+            long deadlineNanos,
+            long sequence,
+            TopicMetrics metrics)
+            implements Comparable<ScheduledTask> {
+
+        @Override
+        public int compareTo(ScheduledTask other) {
+            if (priority != other.priority) return Integer.compare(other.priority, priority);
+            if (hasDeadline != other.hasDeadline) return hasDeadline ? -1 : 1;
+            // nanoTime values can be compared only by their difference
+            if (hasDeadline && deadlineNanos != other.deadlineNanos)
+                return deadlineNanos - other.deadlineNanos < 0 ? -1 : 1;
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /** Create scheduler with one thread per each available CPU core */
+    public TopicScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism number of threads which run deliveries
+     */
+    public TopicScheduler(int parallelism) {
+        Preconditions.isTrue(parallelism > 0, "Parallelism must be positive");
+        for (int i = 0; i < parallelism; i++) {
+            var worker = new Thread(this::run, "topic-scheduler-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+        workers.forEach(Thread::start);
+    }
+
+    /**
+     * Executor which submits tasks of the given topic to this scheduler. It is usually passed to
+     * the publisher of the topic (see {@link TopicSubmissionPublisher}).
+     *
+     * <p>Each task which is passed to the executor is scheduled as a whole, see class documentation
+     * for how it maps to the message deliveries.
+     *
+     * <p>Metrics of the topic are held by the scheduler until it is closed.
+     *
+     * @throws RejectedExecutionException from {@link Executor#execute(Runnable)} when scheduler is
+     *     closed
+     */
+    public Executor newExecutor(RosName topic, SchedulingPolicy policy) {
+        var registry = TopicMetricsRegistry.getDefault();
+        var metrics = registry.getMetrics(topic);
+        // one reference per topic is enough
+        if (!topicMetrics.add(metrics)) registry.release(metrics);
+        return newExecutor(metrics, policy);
+    }
+
+    /**
+     * Version of {@link #newExecutor(RosName, SchedulingPolicy)} where metrics are owned by the
+     * caller
+     */
+    Executor newExecutor(TopicMetrics metrics, SchedulingPolicy policy) {
+        var priority = policy.getPriority();
+        var hasDeadline = policy.hasDeadline();
+        var deadlineNanos = policy.getDeadline().toNanos();
+        return task -> {
+            if (isClosed) throw new RejectedExecutionException("Topic scheduler is closed");
+            queue.add(
+                    new ScheduledTask(
+                            task,
+                            priority,
+                            hasDeadline,
+                            System.nanoTime() + deadlineNanos,
+                            sequence.getAndIncrement(),
+                            metrics));
+        };
+    }
+
+    /** Number of deliveries which are waiting for the free scheduler thread */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public int getParallelism() {
+        return workers.size();
+    }
+
+    private void run() {
+        while (!isClosed || !queue.isEmpty()) {
+            ScheduledTask scheduled;
+            try {
+                scheduled = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (scheduled == null) continue;
+            if (scheduled.hasDeadline() && System.nanoTime() - scheduled.deadlineNanos() > 0)
+                scheduled.metrics().onDeadlineMissed();
+            try {
+                scheduled.task().run();
+            } catch (Throwable e) {
+                LOGGER.severe("Scheduled task failed", e);
+            }
+        }
+    }
+
+    /**
+     * Stop accepting new deliveries. Already pending deliveries are still executed, after that
+     * scheduler threads terminate.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        var registry = TopicMetricsRegistry.getDefault();
+        topicMetrics.removeIf(
+                metrics -> {
+                    registry.release(metrics);
+                    return true;
+                });
+    }
+
+    public boolean isClosed() {
+        return isClosed;
+    }
+}
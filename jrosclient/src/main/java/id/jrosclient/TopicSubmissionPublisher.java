@@ -17,21 +17,37 @@
  */
 package id.jrosclient;
 
-import id.jrosclient.metrics.JRosClientMetrics;
+import id.jrosclient.exceptions.JRosClientException;
+import id.jrosclient.impl.ConflatingSubscriber;
+import id.jrosclient.impl.DropOldestSubscriber;
+import id.jrosclient.metrics.TopicMetrics;
+import id.jrosclient.metrics.TopicMetricsRegistry;
 import id.jroscommon.RosName;
 import id.jrosmessages.Message;
 import id.jrosmessages.MessageDescriptor;
+import id.xfunction.Preconditions;
 import id.xfunction.XJson;
-import id.xfunction.lang.XThread;
 import id.xfunction.logging.XLogger;
-import io.opentelemetry.api.GlobalOpenTelemetry;
-import io.opentelemetry.api.common.Attributes;
-import io.opentelemetry.api.metrics.LongCounter;
-import io.opentelemetry.api.metrics.Meter;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Flow;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiPredicate;
 
 /**
  * Topic publisher which is based on Java class {@link java.util.concurrent.SubmissionPublisher}.
@@ -40,45 +56,62 @@ import java.util.concurrent.SubmissionPublisher;
  * messages in the same order.
  *
  * <p>By default for delivery to subscribers ForkJoinPool.commonPool() is used. Each subscriber uses
- * an independent queue.
+ * an independent queue. See {@link ExecutionMode} for other options.
  *
  * <p>If there is no subscribers available for a given topic then all published messages are
  * discarded.
  *
+ * <p>What happens when one of the subscribers is too slow and its buffer becomes full is defined by
+ * {@link OverflowPolicy}. By default publisher blocks until there is a free space in the buffer.
+ *
  * <p>See <a href="{@docRoot}/../index.html">Module documentation</a> for examples.
  */
 public class TopicSubmissionPublisher<M extends Message> extends SubmissionPublisher<M>
         implements TopicPublisher<M> {
     private final XLogger LOGGER = XLogger.getLogger(this);
 
-    private final Meter METER =
-            GlobalOpenTelemetry.getMeter(TopicSubmissionPublisher.class.getSimpleName());
-    private final LongCounter TOPIC_PUBLISHER_OBJECTS_COUNT_METER =
-            METER.counterBuilder(JRosClientMetrics.TOPIC_PUBLISHER_OBJECTS_COUNT_METRIC)
-                    .setDescription(
-                            JRosClientMetrics.TOPIC_PUBLISHER_OBJECTS_COUNT_METRIC_DESCRIPTION)
-                    .build();
-    private final LongCounter TOPIC_PUBLISHER_SUBMITTED_MESSAGE_COUNT_METER =
-            METER.counterBuilder(JRosClientMetrics.TOPIC_PUBLISHER_SUBMITTED_MESSAGES_COUNT_METRIC)
-                    .setDescription(
-                            JRosClientMetrics
-                                    .TOPIC_PUBLISHER_SUBMITTED_MESSAGES_COUNT_METRIC_DESCRIPTION)
-                    .build();
-    private final LongCounter TOPIC_PUBLISHER_ERRORS_COUNT_METER =
-            METER.counterBuilder(JRosClientMetrics.TOPIC_PUBLISHER_ERRORS_COUNT_METRIC)
-                    .setDescription(
-                            JRosClientMetrics.TOPIC_PUBLISHER_ERRORS_COUNT_METRIC_DESCRIPTION)
-                    .build();
     private MessageDescriptor<M> messageDescriptor;
     private RosName topic;
-    private Attributes metricAttributes;
+    private TopicMetrics metrics;
+    private OverflowPolicy overflowPolicy;
+    private SchedulingPolicy schedulingPolicy = SchedulingPolicy.DEFAULT;
+    private long overflowTimeoutNanos;
+    private BiPredicate<Subscriber<? super M>, ? super M> dropHandler = this::onDrop;
+
+    /** Ids of the current subscribers, they are reused so that metric attributes stay bounded */
+    private BitSet subscriberIds = new BitSet();
+
+    private volatile MessagePool<M> messagePool;
+    private MemoryBudget memoryBudget;
+    private MemoryBudget.Account budgetAccount;
+
+    /** Trackers for each subscriber as it is seen by the {@link SubmissionPublisher} */
+    private Map<Subscriber<?>, DeliveryTracker> trackers = new ConcurrentHashMap<>();
+
+    /** Copy of the trackers which submit iterates without allocations, replaced on each change */
+    private volatile DeliveryTracker[] trackerArray = newTrackerArray();
+
+    /** Number of messages ever submitted to this publisher */
+    private AtomicLong submittedCount = new AtomicLong();
+
+    /**
+     * Keeps set of trackers the same as the set of subscribers which {@link SubmissionPublisher}
+     * delivers the message to
+     */
+    private final Object submitLock = new Object();
+
+    private volatile boolean isClosing;
+    private CompletableFuture<Void> drainFuture = new CompletableFuture<>();
+    private CompletableFuture<Void> closeFuture;
 
     /**
      * Simplified version of {@link #TopicSubmissionPublisher(MessageDescriptor, RosName)} where
      * topic is converted to {@link RosName} and messageClass to {@link MessageDescriptor}
      */
     public TopicSubmissionPublisher(Class<M> messageClass, String topic) {
-        this(new MessageDescriptor<>(messageClass), new RosName(topic));
+        this(
+                MessageDescriptorCache.getDefault().getMessageDescriptor(messageClass),
+                MessageDescriptorCache.getDefault().getTopicName(topic));
     }
 
     /**
@@ -89,7 +122,71 @@ public class TopicSubmissionPublisher<M extends Message> extends SubmissionPubli
      * @param topic topic name
      */
     public TopicSubmissionPublisher(MessageDescriptor<M> messageDescriptor, RosName topic) {
-        this(messageDescriptor, topic, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+        this(messageDescriptor, topic, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Create topic publisher with {@link ForkJoinPool#commonPool()} executor and {@link
+     * Flow#defaultBufferSize()} buffer size
+     *
+     * @param messageDescriptor descriptor of the messages in the topic
+     * @param topic topic name
+     * @param overflowPolicy what to do when subscriber buffer is full
+     */
+    public TopicSubmissionPublisher(
+            MessageDescriptor<M> messageDescriptor, RosName topic, OverflowPolicy overflowPolicy) {
+        this(messageDescriptor, topic, ExecutionMode.FORK_JOIN_POOL, overflowPolicy);
+    }
+
+    /**
+     * Create topic publisher with {@link Flow#defaultBufferSize()} buffer size which delivers
+     * messages according to the given execution mode
+     *
+     * @param messageDescriptor descriptor of the messages in the topic
+     * @param topic topic name
+     * @param executionMode which threads are used to deliver messages to the subscribers
+     * @param overflowPolicy what to do when subscriber buffer is full
+     * @throws JRosClientException if execution mode is not supported by current Java version
+     */
+    public TopicSubmissionPublisher(
+            MessageDescriptor<M> messageDescriptor,
+            RosName topic,
+            ExecutionMode executionMode,
+            OverflowPolicy overflowPolicy) {
+        this(
+                messageDescriptor,
+                topic,
+                executionMode.newExecutor("publisher-" + topic.toGlobalName()),
+                Flow.defaultBufferSize(),
+                overflowPolicy);
+    }
+
+    /**
+     * Create topic publisher with {@link Flow#defaultBufferSize()} buffer size which delivers
+     * messages using the given scheduler
+     *
+     * @param messageDescriptor descriptor of the messages in the topic
+     * @param topic topic name
+     * @param scheduler scheduler which is shared between the topics of the client
+     * @param schedulingPolicy priority and deadline of the deliveries of this publisher
+     * @param overflowPolicy what to do when subscriber buffer is full
+     */
+    public TopicSubmissionPublisher(
+            MessageDescriptor<M> messageDescriptor,
+            RosName topic,
+            TopicScheduler scheduler,
+            SchedulingPolicy schedulingPolicy,
+            OverflowPolicy overflowPolicy) {
+        this(
+                messageDescriptor,
+                topic,
+                scheduler.newExecutor(
+                        TopicMetricsRegistry.getDefault().getMetrics(topic), schedulingPolicy),
+                Flow.defaultBufferSize(),
+                overflowPolicy);
+        this.schedulingPolicy = schedulingPolicy;
+        // reference which was passed to the scheduler executor
+        closeFuture.thenRun(() -> TopicMetricsRegistry.getDefault().release(metrics));
     }
 
     /**
@@ -101,11 +198,30 @@ public class TopicSubmissionPublisher<M extends Message> extends SubmissionPubli
             RosName topic,
             Executor executor,
             int maxBufferCapacity) {
+        this(messageDescriptor, topic, executor, maxBufferCapacity, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @param messageDescriptor descriptor of the messages in the topic
+     * @param topic topic name
+     * @param maxBufferCapacity maximum buffer capacity for each subscriber
+     * @param overflowPolicy what to do when subscriber buffer is full
+     */
+    public TopicSubmissionPublisher(
+            MessageDescriptor<M> messageDescriptor,
+            RosName topic,
+            Executor executor,
+            int maxBufferCapacity,
+            OverflowPolicy overflowPolicy) {
         super(executor, maxBufferCapacity);
         this.messageDescriptor = messageDescriptor;
         this.topic = topic;
-        metricAttributes = Attributes.builder().put("topic", topic.toGlobalName()).build();
-        TOPIC_PUBLISHER_OBJECTS_COUNT_METER.add(1, metricAttributes);
+        this.overflowPolicy = overflowPolicy;
+        overflowTimeoutNanos = overflowPolicy.getTimeout().toNanos();
+        metrics = TopicMetricsRegistry.getDefault().getMetrics(topic);
+        metrics.onPublisherCreated();
+        closeFuture = drainFuture.thenRun(super::close);
+        closeFuture.thenRun(() -> TopicMetricsRegistry.getDefault().release(metrics));
     }
 
     @Override
@@ -118,32 +234,536 @@ public class TopicSubmissionPublisher<M extends Message> extends SubmissionPubli
         return topic;
     }
 
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public SchedulingPolicy getSchedulingPolicy() {
+        return schedulingPolicy;
+    }
+
+    /**
+     * Account messages which are queued by this publisher in the given budget. When budget is
+     * exhausted the {@link OverflowPolicy} of this publisher is applied (see {@link MemoryBudget}).
+     *
+     * <p>Must be set before any message is submitted.
+     */
+    public TopicSubmissionPublisher<M> withMemoryBudget(MemoryBudget memoryBudget) {
+        Preconditions.isTrue(this.memoryBudget == null, "Memory budget is already set");
+        Preconditions.isTrue(submittedCount.get() == 0, "Messages were already submitted");
+        this.memoryBudget = memoryBudget;
+        var account = memoryBudget.register(topic);
+        budgetAccount = account;
+        closeFuture.thenRun(() -> memoryBudget.unregister(account));
+        return this;
+    }
+
+    public Optional<MemoryBudget> getMemoryBudget() {
+        return Optional.ofNullable(memoryBudget);
+    }
+
+    /**
+     * Subscribe to the messages which are submitted after this call returns.
+     *
+     * <p>When {@link #submit(Message)} is blocked by one of the subscribers, this call waits until
+     * it completes, so it should not be issued from the subscriber of the same publisher.
+     */
+    @Override
+    public void subscribe(Subscriber<? super M> subscriber) {
+        var subscriberId = allocateSubscriberId();
+        var subscriberMetrics =
+                TopicMetricsRegistry.getDefault().getMetrics(topic, Integer.toString(subscriberId));
+        var tracker =
+                new DeliveryTracker(
+                        subscriber, subscriberId, subscriberMetrics, getMaxBufferCapacity());
+        tracker.publisherSubscriber =
+                switch (overflowPolicy.getType()) {
+                    case DROP_OLDEST -> new DropOldestSubscriber<M>(
+                            tracker,
+                            getExecutor(),
+                            m -> onDropOldest(tracker, m),
+                            getMaxBufferCapacity());
+                    case CONFLATE_LATEST -> new ConflatingSubscriber<M>(
+                            tracker, getExecutor(), m -> onDropOldest(tracker, m));
+                    default -> tracker;
+                };
+        synchronized (submitLock) {
+            addTracker(tracker);
+            super.subscribe(tracker.publisherSubscriber);
+        }
+    }
+
+    @Override
+    public boolean isSubscribed(Subscriber<? super M> subscriber) {
+        return trackers.values().stream().anyMatch(t -> t.subscriber == subscriber);
+    }
+
+    /**
+     * Unlike {@link SubmissionPublisher#hasSubscribers()} cancelled subscribers are not counted
+     * right away, without waiting for the next message to be submitted.
+     */
+    @Override
+    public boolean hasSubscribers() {
+        return trackerArray.length > 0;
+    }
+
+    /**
+     * Lease message from the {@link MessagePool} of the topic message type. Once submitted, message
+     * returns to the pool when all current subscribers are done with it.
+     */
+    @Override
+    public M lease() {
+        var pool = messagePool;
+        if (pool == null) messagePool = pool = MessagePool.forDescriptor(messageDescriptor);
+        return pool.lease();
+    }
+
+    /**
+     * Publish message to all current subscribers. When buffer of any of the subscribers is full,
+     * the {@link OverflowPolicy} of this publisher is applied.
+     *
+     * @return estimated maximum lag among subscribers (see {@link SubmissionPublisher#submit}) or,
+     *     when message was dropped for some of the subscribers, negative number of such subscribers
+     */
     @Override
     public int submit(M item) {
-        TOPIC_PUBLISHER_SUBMITTED_MESSAGE_COUNT_METER.add(1, metricAttributes);
-        return super.submit(item);
+        if (isClosing) throw new IllegalStateException("Publisher is closed");
+        var size = 0L;
+        var subscribers = 0;
+        if (budgetAccount != null) {
+            size = memoryBudget.estimateSize(item);
+            subscribers = trackerArray.length;
+            if (!acquireBudget(size, subscribers)) {
+                metrics.onDropped(subscribers);
+                releaseMessage(item);
+                return -subscribers;
+            }
+        }
+        metrics.onSubmitted(1);
+        // subscribers are not allowed to join until message is handed over to all trackers
+        synchronized (submitLock) {
+            submittedCount.incrementAndGet();
+            var submitNanos = System.nanoTime();
+            // trackers array changes only when subscriber terminates, which is ignored by the
+            // SubmissionPublisher anyway
+            var current = trackerArray;
+            for (var tracker : current) {
+                tracker.onSubmitted(submitNanos, item);
+                if (budgetAccount != null) tracker.onQueued(size);
+            }
+            if (budgetAccount != null) adjustBudget(size, current.length - subscribers);
+            try {
+                switch (overflowPolicy.getType()) {
+                    case DROP_NEWEST:
+                        return super.offer(item, dropHandler);
+                    case BLOCK_WITH_TIMEOUT:
+                        return super.offer(
+                                item, overflowTimeoutNanos, TimeUnit.NANOSECONDS, dropHandler);
+                    default:
+                        // buffering subscribers accept all items so publisher never blocks on
+                        // them
+                        return super.submit(item);
+                }
+            } finally {
+                // release the lease of the publisher
+                releaseMessage(item);
+            }
+        }
     }
 
+    /**
+     * Stop accepting new messages and block until all already submitted messages are delivered to
+     * the subscribers (or dropped according to {@link OverflowPolicy}). After that subscribers
+     * receive {@link Subscriber#onComplete()}.
+     *
+     * <p>Subscribers notify the publisher each time they consume a message so it completes as soon
+     * as the last pending message is delivered.
+     */
     @Override
     public void close() {
         LOGGER.entering("close");
-        while (estimateMaximumLag() > 0) {
-            LOGGER.fine("Some messages are still waiting to be delivered, sleeping...");
-            XThread.sleep(100);
-        }
-        LOGGER.fine("There is no more messages waiting to be delivered, closing the publisher");
-        super.close();
+        closeAsync().join();
         LOGGER.exiting("close");
     }
 
+    /**
+     * Version of {@link #close()} which waits for pending messages to be delivered no longer than
+     * given timeout. When timeout expires the publisher is closed anyway and any pending messages
+     * may be lost.
+     *
+     * @return true if all pending messages were delivered before the timeout
+     */
+    public boolean close(Duration timeout) {
+        LOGGER.entering("close", timeout);
+        var isDrained = false;
+        try {
+            closeAsync().get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            isDrained = true;
+        } catch (TimeoutException e) {
+            LOGGER.warning(
+                    "Some messages were not delivered to the subscribers before the timeout,"
+                            + " closing the publisher");
+            forceClose();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            forceClose();
+        } catch (ExecutionException e) {
+            throw new JRosClientException(e);
+        }
+        LOGGER.exiting("close", isDrained);
+        return isDrained;
+    }
+
+    /**
+     * Non-blocking version of {@link #close()}
+     *
+     * @return future which is completed when all pending messages are delivered and the publisher
+     *     is closed
+     */
+    @Override
+    public CompletableFuture<Void> closeAsync() {
+        isClosing = true;
+        checkDrained();
+        return closeFuture;
+    }
+
+    /**
+     * Close the publisher without waiting for pending messages to be delivered and pass the error
+     * to the subscribers. Future returned by {@link #closeAsync()} completes once publisher is
+     * closed.
+     */
+    @Override
+    public void closeExceptionally(Throwable error) {
+        isClosing = true;
+        super.closeExceptionally(error);
+        forceClose();
+    }
+
     @Override
     public String toString() {
         return XJson.asString("topic", topic);
     }
 
+    /**
+     * Acquire memory budget for the message which is going to be queued for given number of
+     * subscribers
+     *
+     * @return false if message should be dropped
+     */
+    private boolean acquireBudget(long size, int subscribers) {
+        if (subscribers == 0) return true;
+        var bytes = size * subscribers;
+        return switch (overflowPolicy.getType()) {
+            case BLOCK -> memoryBudget.acquire(budgetAccount, bytes, subscribers, -1);
+            case BLOCK_WITH_TIMEOUT -> memoryBudget.acquire(
+                    budgetAccount, bytes, subscribers, overflowTimeoutNanos);
+            case DROP_NEWEST -> memoryBudget.tryAcquire(budgetAccount, bytes, subscribers);
+            default -> {
+                memoryBudget.forceAcquire(budgetAccount, bytes, subscribers);
+                yield true;
+            }
+        };
+    }
+
+    /** Subscribers may come and go while budget is acquired */
+    private void adjustBudget(long size, int extraSubscribers) {
+        if (extraSubscribers > 0)
+            memoryBudget.forceAcquire(budgetAccount, size * extraSubscribers, extraSubscribers);
+        else if (extraSubscribers < 0)
+            memoryBudget.release(budgetAccount, -size * extraSubscribers, -extraSubscribers);
+    }
+
+    private boolean onDrop(Subscriber<? super M> subscriber, M item) {
+        var tracker = trackers.get(subscriber);
+        if (tracker != null) {
+            // publisher drops only the item which is being submitted
+            tracker.discard(item);
+            tracker.onDequeued(item);
+            onDrop(tracker);
+        } else metrics.onDropped();
+        // do not retry
+        return false;
+    }
+
+    private void onDropOldest(DeliveryTracker tracker, M item) {
+        tracker.discard(item);
+        tracker.onDequeued(item);
+        onDrop(tracker);
+    }
+
+    private void retainMessage(M item) {
+        var pool = messagePool;
+        if (pool != null) pool.retain(item);
+    }
+
+    private void releaseMessage(M item) {
+        var pool = messagePool;
+        if (pool != null) pool.release(item);
+    }
+
+    private void onDrop(DeliveryTracker tracker) {
+        tracker.metrics.onDropped();
+        tracker.onConsumed();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private DeliveryTracker[] newTrackerArray() {
+        return new TopicSubmissionPublisher.DeliveryTracker[0];
+    }
+
+    private void addTracker(DeliveryTracker tracker) {
+        synchronized (trackers) {
+            trackers.put(tracker.publisherSubscriber, tracker);
+            var current = trackerArray;
+            var updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = tracker;
+            trackerArray = updated;
+        }
+    }
+
+    private void removeTracker(DeliveryTracker tracker) {
+        int remaining;
+        synchronized (trackers) {
+            if (trackers.remove(tracker.publisherSubscriber) == null) return;
+            var current = trackerArray;
+            var index = Arrays.asList(current).indexOf(tracker);
+            var updated = Arrays.copyOf(current, current.length - 1);
+            System.arraycopy(current, index + 1, updated, index, updated.length - index);
+            trackerArray = updated;
+            remaining = updated.length;
+        }
+        onSubscriberRemoved(remaining);
+    }
+
+    /**
+     * Called each time one of the subscribers is cancelled or terminated.
+     *
+     * @param remaining number of subscribers left at the moment subscriber was removed
+     */
+    protected void onSubscriberRemoved(int remaining) {}
+
+    private int allocateSubscriberId() {
+        synchronized (subscriberIds) {
+            var id = subscriberIds.nextClearBit(1);
+            subscriberIds.set(id);
+            return id;
+        }
+    }
+
+    private void releaseSubscriberId(int id) {
+        synchronized (subscriberIds) {
+            subscriberIds.clear(id);
+        }
+    }
+
+    /**
+     * Close the publisher even if some messages are still pending and complete the {@link
+     * #closeAsync()} future, so that resources of the publisher are released
+     */
+    private void forceClose() {
+        drainFuture.complete(null);
+    }
+
+    private void checkDrained() {
+        for (var tracker : trackerArray) {
+            if (!tracker.isDrained()) return;
+        }
+        LOGGER.fine("There is no more messages waiting to be delivered, closing the publisher");
+        drainFuture.complete(null);
+    }
+
     @Override
     public void onPublishError(Throwable exception) {
         LOGGER.severe("Error delivering message to the subscriber", exception);
-        TOPIC_PUBLISHER_ERRORS_COUNT_METER.add(1, metricAttributes);
+        metrics.onPublisherError();
+    }
+
+    /**
+     * Sits right in front of the user subscriber and counts all messages consumed by it (delivered
+     * or dropped), so that publisher knows when there is no more pending messages left.
+     *
+     * <p>It also keeps submit time of each pending message to record delivery latency. Times are
+     * stored in the preallocated ring next to the messages themselves.
+     *
+     * <p>Each pending message holds one reference of the {@link MessagePool}. It is released once
+     * the message is delivered or dropped, or when subscriber terminates, which covers messages
+     * left in the buffers of the {@link SubmissionPublisher} and of the buffering subscribers.
+     * Whoever takes the message out of its ring slot first releases it.
+     *
+     * <p>Buffering subscribers (see {@link OverflowPolicy#DROP_OLDEST}) drop messages on the
+     * publisher thread while delivering previous ones on their own thread, so slots are not freed
+     * in the order they were taken. Because of that each message which leaves the tracker takes the
+     * slot which holds it, and new messages skip slots which are still occupied.
+     */
+    private class DeliveryTracker implements Subscriber<M>, Subscription {
+        private final Subscriber<? super M> subscriber;
+        private final int subscriberId;
+        private final TopicMetrics metrics;
+        private final AtomicLong consumedCount = new AtomicLong();
+        private Subscriber<? super M> publisherSubscriber;
+        private Subscription subscription;
+
+        /** Number of messages submitted while this tracker is subscribed, updated under lock */
+        private volatile long enqueuedCount;
+
+        private final AtomicBoolean isTerminated = new AtomicBoolean();
+        private final long[] submitTimes;
+        private final AtomicReferenceArray<M> pendingMessages;
+        private final int mask;
+
+        /** Accessed only under the submit lock */
+        private int writeIndex;
+
+        /** Where to start looking for the slot of the message which leaves the tracker */
+        private volatile int readIndex;
+
+        /** Memory budget which is held by the messages queued for this subscriber */
+        private final AtomicLong queuedBytes = new AtomicLong();
+
+        private final AtomicLong queuedMessages = new AtomicLong();
+
+        DeliveryTracker(
+                Subscriber<? super M> subscriber,
+                int subscriberId,
+                TopicMetrics metrics,
+                int bufferCapacity) {
+            this.subscriber = subscriber;
+            this.subscriberId = subscriberId;
+            this.metrics = metrics;
+            // pending messages may be buffered both by the publisher (its capacity is rounded up
+            // to the power of two) and by the buffering subscriber, few more are in transit
+            var size = Integer.highestOneBit(Math.max(1, bufferCapacity) * 4 + 3) << 1;
+            submitTimes = new long[size];
+            pendingMessages = new AtomicReferenceArray<>(size);
+            mask = size - 1;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(M item) {
+            var index = take(item);
+            // subscriber was cancelled concurrently and the message is already released
+            if (index < 0) return;
+            var submitNanos = submitTimes[index];
+            metrics.onSent(submitNanos);
+            try {
+                subscriber.onNext(item);
+            } finally {
+                metrics.onDelivered(submitNanos);
+                onDequeued(item);
+                releaseMessage(item);
+                onConsumed();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            terminate();
+            subscriber.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            terminate();
+            subscriber.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            terminate();
+            subscription.cancel();
+        }
+
+        void onSubmitted(long submitNanos, M item) {
+            enqueuedCount++;
+            var index = writeIndex++ & mask;
+            // slot of the message which is still being delivered
+            for (int i = 1; i < pendingMessages.length() && pendingMessages.get(index) != null; i++)
+                index = writeIndex++ & mask;
+            submitTimes[index] = submitNanos;
+            retainMessage(item);
+            pendingMessages.set(index, item);
+            // terminated subscriber may already be gone from the SubmissionPublisher
+            if (isTerminated.get() && pendingMessages.compareAndSet(index, item, null))
+                releaseMessage(item);
+        }
+
+        void onQueued(long size) {
+            queuedBytes.addAndGet(size);
+            queuedMessages.incrementAndGet();
+        }
+
+        void onDequeued(M item) {
+            if (budgetAccount == null) return;
+            // subscriber which joined during submit may receive message it was not accounted for
+            if (queuedMessages.getAndUpdate(v -> v > 0 ? v - 1 : 0) == 0) return;
+            var size = memoryBudget.estimateSize(item);
+            queuedBytes.addAndGet(-size);
+            memoryBudget.release(budgetAccount, size, 1);
+        }
+
+        /** Release message which was dropped before it was delivered */
+        void discard(M item) {
+            if (take(item) >= 0) releaseMessage(item);
+        }
+
+        /**
+         * Take message out of its slot. Messages leave almost in order, so the slot is searched
+         * starting from the one which follows the slot taken last.
+         *
+         * @return index of the slot or -1 if message was already released
+         */
+        private int take(M item) {
+            var start = readIndex;
+            for (int i = 0; i < pendingMessages.length(); i++) {
+                var index = (start + i) & mask;
+                if (pendingMessages.get(index) == item
+                        && pendingMessages.compareAndSet(index, item, null)) {
+                    readIndex = index + 1;
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        private void release(int index) {
+            var item = pendingMessages.getAndSet(index, null);
+            if (item != null) releaseMessage(item);
+        }
+
+        void onConsumed() {
+            consumedCount.incrementAndGet();
+            if (isClosing) checkDrained();
+        }
+
+        boolean isDrained() {
+            return isTerminated.get() || consumedCount.get() >= enqueuedCount;
+        }
+
+        private void terminate() {
+            if (!isTerminated.compareAndSet(false, true)) return;
+            releaseSubscriberId(subscriberId);
+            // messages which are not going to be delivered
+            for (int i = 0; i < pendingMessages.length(); i++) release(i);
+            TopicMetricsRegistry.getDefault().release(metrics);
+            if (budgetAccount != null) {
+                var messages = queuedMessages.getAndSet(0);
+                var bytes = queuedBytes.getAndSet(0);
+                if (messages > 0) memoryBudget.release(budgetAccount, bytes, messages);
+            }
+            removeTracker(this);
+            if (isClosing) checkDrained();
+        }
     }
 }
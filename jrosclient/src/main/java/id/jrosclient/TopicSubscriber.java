@@ -18,16 +18,14 @@
 package id.jrosclient;
 
 import id.jrosclient.impl.JRosClientSubscription;
-import id.jrosclient.metrics.JRosClientMetrics;
+import id.jrosclient.metrics.TopicMetrics;
+import id.jrosclient.metrics.TopicMetricsRegistry;
 import id.jroscommon.RosName;
 import id.jrosmessages.Message;
 import id.jrosmessages.MessageDescriptor;
 import id.xfunction.Preconditions;
 import id.xfunction.logging.XLogger;
-import io.opentelemetry.api.GlobalOpenTelemetry;
-import io.opentelemetry.api.common.Attributes;
-import io.opentelemetry.api.metrics.LongCounter;
-import io.opentelemetry.api.metrics.Meter;
+import java.lang.ref.Cleaner;
 import java.util.Optional;
 import java.util.concurrent.Flow;
 import java.util.concurrent.Flow.Subscription;
@@ -48,35 +46,40 @@ import java.util.concurrent.Flow.Subscription;
  * @author lambdaprime intid@protonmail.com
  */
 public abstract class TopicSubscriber<M extends Message> implements Flow.Subscriber<M> {
-    private final XLogger LOGGER = XLogger.getLogger(this);
+    /**
+     * Releases metrics of the subscribers which were never terminated (or which redefine terminal
+     * methods without calling them) once they are not reachable anymore
+     */
+    private static final Cleaner CLEANER = Cleaner.create();
 
-    private final Meter METER =
-            GlobalOpenTelemetry.getMeter(TopicSubmissionPublisher.class.getSimpleName());
-    private final LongCounter TOPIC_SUBSCRIBER_OBJECTS_COUNT_METER =
-            METER.counterBuilder(JRosClientMetrics.TOPIC_SUBSCRIBER_OBJECTS_COUNT_METRIC)
-                    .setDescription(
-                            JRosClientMetrics.TOPIC_SUBSCRIBER_OBJECTS_COUNT_METRIC_DESCRIPTION)
-                    .build();
-    private final LongCounter TOPIC_SUBSCRIBER_MESSAGES_RECEIVED_COUNT_METER =
-            METER.counterBuilder(JRosClientMetrics.TOPIC_SUBSCRIBER_MESSAGES_RECEIVED_COUNT_METRIC)
-                    .setDescription(
-                            JRosClientMetrics
-                                    .TOPIC_SUBSCRIBER_MESSAGES_RECEIVED_COUNT_METRIC_DESCRIPTION)
-                    .build();
+    private final XLogger LOGGER = XLogger.getLogger(this);
 
     private MessageDescriptor<M> messageDescriptor;
     private Optional<Subscription> subscription = Optional.empty();
     private RosName topic;
     private int initNumOfMessages = 1;
+    private DemandStrategy demandStrategy = DemandStrategy.MANUAL;
+    private SchedulingPolicy schedulingPolicy = SchedulingPolicy.DEFAULT;
+    private JRosClientSubscription jrosClientSubscription;
     private boolean muteDefaultHandlerDetails;
-    private Attributes metricAttributes;
+    private TopicMetrics metrics;
+
+    /** Releases reference to the metrics, does nothing when called more than once */
+    private Cleaner.Cleanable metricsReference;
+
+    /** {@link System#nanoTime()} when subscriber was passed to the client, 0 if not known yet */
+    private volatile long subscribeNanos;
+
+    private boolean isFirstMessageReceived;
 
     /**
      * Simplified version of {@link #TopicSubscriber(MessageDescriptor, RosName)} where topic is
      * converted to {@link RosName} and messageClass to {@link MessageDescriptor}
      */
     public TopicSubscriber(Class<M> messageClass, String topic) {
-        this(new MessageDescriptor<>(messageClass), new RosName(topic));
+        this(
+                MessageDescriptorCache.getDefault().getMessageDescriptor(messageClass),
+                MessageDescriptorCache.getDefault().getTopicName(topic));
     }
 
     /**
@@ -89,8 +92,11 @@ public abstract class TopicSubscriber<M extends Message> implements Flow.Subscri
     public TopicSubscriber(MessageDescriptor<M> messageDescriptor, RosName topic) {
         this.messageDescriptor = messageDescriptor;
         this.topic = topic;
-        metricAttributes = Attributes.builder().put("topic", topic.toString()).build();
-        TOPIC_SUBSCRIBER_OBJECTS_COUNT_METER.add(1, metricAttributes);
+        var metrics = TopicMetricsRegistry.getDefault().getMetrics(topic);
+        metrics.onSubscriberCreated();
+        metricsReference =
+                CLEANER.register(this, () -> TopicMetricsRegistry.getDefault().release(metrics));
+        this.metrics = metrics;
     }
 
     /**
@@ -102,16 +108,111 @@ public abstract class TopicSubscriber<M extends Message> implements Flow.Subscri
         return this;
     }
 
+    /**
+     * Allows to set how this subscriber requests messages. By default it is {@link
+     * DemandStrategy#MANUAL}, which means that subscriber requests {@link #withInitialRequest(int)}
+     * messages and then user code needs to request more from each onNext.
+     *
+     * <p>Other strategies request messages automatically, as long as onNext of the subscriber calls
+     * onNext of this class.
+     */
+    public TopicSubscriber<M> withDemandStrategy(DemandStrategy demandStrategy) {
+        this.demandStrategy = demandStrategy;
+        return this;
+    }
+
+    /**
+     * Allows to set priority and deadline of this subscriber. Subscribers with non default policy
+     * receive their messages on the {@link TopicScheduler} of the client (see {@link
+     * JRosClient#subscribe(TopicSubscriber)}).
+     */
+    public TopicSubscriber<M> withSchedulingPolicy(SchedulingPolicy schedulingPolicy) {
+        this.schedulingPolicy = schedulingPolicy;
+        return this;
+    }
+
     @Override
     public void onSubscribe(Subscription subscription) {
         Preconditions.isTrue(this.subscription.isEmpty(), "Already subscribed");
-        this.subscription = Optional.of(new JRosClientSubscription(subscription));
-        this.subscription.get().request(initNumOfMessages);
+        if (subscribeNanos == 0) subscribeNanos = System.nanoTime();
+        jrosClientSubscription =
+                new JRosClientSubscription(subscription, metrics, demandStrategy) {
+                    @Override
+                    public void cancel() {
+                        super.cancel();
+                        releaseMetrics();
+                    }
+                };
+        this.subscription = Optional.of(jrosClientSubscription);
+        jrosClientSubscription.requestInitial(initNumOfMessages);
     }
 
+    /**
+     * Subscribers which redefine this method should call it for each received message (it updates
+     * the metrics and requests more messages according to the {@link DemandStrategy})
+     */
     @Override
     public void onNext(M item) {
-        TOPIC_SUBSCRIBER_MESSAGES_RECEIVED_COUNT_METER.add(1, metricAttributes);
+        if (!isFirstMessageReceived) {
+            isFirstMessageReceived = true;
+            metrics.onFirstMessage(subscribeNanos);
+        }
+        metrics.onReceived();
+        if (jrosClientSubscription != null) jrosClientSubscription.onReceived();
+    }
+
+    /**
+     * Called once onNext of this subscriber returns, so that {@link
+     * DemandStrategy.Type#ADAPTIVE_WINDOW} can adapt to the time which subscriber spends on each
+     * message
+     *
+     * @param startNanos {@link System#nanoTime()} when onNext was called
+     */
+    void onProcessed(long startNanos) {
+        if (jrosClientSubscription != null)
+            jrosClientSubscription.onProcessed(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Subscriber which {@link JRosClient#subscribe(TopicSubscriber)} passes to the client. For
+     * {@link DemandStrategy.Type#ADAPTIVE_WINDOW} it measures how long onNext of this subscriber
+     * takes, other subscribers are passed as is.
+     */
+    Flow.Subscriber<M> toClientSubscriber() {
+        if (demandStrategy.getType() != DemandStrategy.Type.ADAPTIVE_WINDOW) return this;
+        var subscriber = this;
+        return new Flow.Subscriber<M>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(M item) {
+                var startNanos = System.nanoTime();
+                subscriber.onNext(item);
+                subscriber.onProcessed(startNanos);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        };
+    }
+
+    /**
+     * Called by {@link JRosClient#subscribe(TopicSubscriber)} so that time to the first message
+     * includes time spent by the client on subscribing. For subscribers which are passed to the
+     * client directly it is counted from {@link #onSubscribe(Subscription)}.
+     */
+    void onSubscribeRequested() {
+        subscribeNanos = System.nanoTime();
     }
 
     /**
@@ -120,6 +221,9 @@ public abstract class TopicSubscriber<M extends Message> implements Flow.Subscri
      * <ul>
      *   <li>EOFException - publisher unexpectedly closed the connection
      * </ul>
+     *
+     * <p>Default implementation also releases metrics of the subscriber, subscribers which redefine
+     * this method without calling it release them only once they are garbage collected.
      */
     @Override
     public void onError(Throwable throwable) {
@@ -132,17 +236,59 @@ public abstract class TopicSubscriber<M extends Message> implements Flow.Subscri
             muteDefaultHandlerDetails = true;
         }
         throwable.printStackTrace();
+        releaseMetrics();
     }
 
-    /** Default implementation does nothing but it can be redefined. */
+    /**
+     * Default implementation only releases metrics of the subscriber. It can be redefined, but
+     * subscribers which do not call it release their metrics only once they are garbage collected.
+     */
     @Override
-    public void onComplete() {}
+    public void onComplete() {
+        releaseMetrics();
+    }
 
     /** Descriptor of the messages in the current topic */
     public MessageDescriptor<M> getMessageDescriptor() {
         return messageDescriptor;
     }
 
+    /**
+     * Prevent pooled message from returning to the {@link MessagePool} after onNext returns, so
+     * that subscriber can keep using it. Each call must be followed by {@link #release(Message)}.
+     *
+     * <p>Does nothing if message is not pooled.
+     */
+    public void retain(M message) {
+        MessagePool.find(messageDescriptor).ifPresent(pool -> pool.retain(message));
+    }
+
+    /**
+     * Release pooled message which was retained by {@link #retain(Message)}
+     *
+     * <p>Does nothing if message is not pooled.
+     */
+    public void release(M message) {
+        MessagePool.find(messageDescriptor).ifPresent(pool -> pool.release(message));
+    }
+
+    public DemandStrategy getDemandStrategy() {
+        return demandStrategy;
+    }
+
+    public SchedulingPolicy getSchedulingPolicy() {
+        return schedulingPolicy;
+    }
+
+    TopicMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** Give back reference to the metrics once subscriber is terminated */
+    void releaseMetrics() {
+        metricsReference.clean();
+    }
+
     public Optional<Subscription> getSubscription() {
         return subscription;
     }
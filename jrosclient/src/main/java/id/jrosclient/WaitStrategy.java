@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Defines how threads of {@link RingBufferTopicPublisher} wait when there is nothing to do (no new
+ * messages for the subscriber, or no free space in the ring buffer for the producer).
+ *
+ * <p>Strategies are listed from the lowest latency and highest CPU usage to the highest latency and
+ * lowest CPU usage.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spin in a loop without releasing the CPU. Gives the lowest latency but fully occupies one CPU
+     * core per waiting thread.
+     */
+    BUSY_SPIN,
+
+    /** Spin for a short period and then keep calling {@link Thread#yield()} */
+    YIELD,
+
+    /**
+     * Spin and yield for a short period and then park the thread until it is signalled (or for a
+     * short timeout). Recommended when number of topics is larger than number of CPU cores.
+     */
+    PARK;
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long PARK_NANOS = 50_000;
+
+    /**
+     * @return true if {@link #idle(int)} is going to park the thread for given value of the counter
+     */
+    boolean parks(int counter) {
+        return this == PARK && counter >= YIELD_TRIES;
+    }
+
+    /**
+     * Called by the waiting thread on each unsuccessful iteration of its wait loop.
+     *
+     * @param counter value returned by previous call to this method within current wait loop (or 0
+     *     for the first call)
+     * @return counter value for the next call
+     */
+    int idle(int counter) {
+        switch (this) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELD -> {
+                if (counter < SPIN_TRIES) Thread.onSpinWait();
+                else Thread.yield();
+            }
+            case PARK -> {
+                if (counter < SPIN_TRIES) Thread.onSpinWait();
+                else if (counter < YIELD_TRIES) Thread.yield();
+                else LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        return counter < YIELD_TRIES ? counter + 1 : counter;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.impl;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Subscriber which requests all items from the upstream publisher and keeps them in its own bounded
+ * buffer until downstream subscriber requests them. When buffer is full, items are dropped
+ * according to the implementation and passed to the drop handler.
+ *
+ * <p>Items are delivered to the downstream subscriber asynchronously using the given executor, so
+ * that upstream publisher is never blocked by the slow downstream subscriber.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public abstract class BufferingSubscriber<M> implements Subscriber<M>, Subscription {
+
+    private final Subscriber<? super M> downstream;
+    private final Consumer<? super M> dropHandler;
+    private final Executor executor;
+    private final Runnable drainTask = this::drainLoop;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong demand = new AtomicLong();
+    private volatile Subscription upstream;
+    private volatile boolean isDone;
+    private volatile boolean isCancelled;
+    private volatile Throwable requestError;
+    private Throwable error;
+    private boolean isTerminated;
+
+    protected BufferingSubscriber(
+            Subscriber<? super M> downstream, Executor executor, Consumer<? super M> dropHandler) {
+        this.downstream = downstream;
+        this.executor = executor;
+        this.dropHandler = dropHandler;
+    }
+
+    /** Put item to the buffer, if buffer is full some item needs to be dropped */
+    protected abstract void offer(M item);
+
+    /**
+     * @return null if buffer is empty
+     */
+    protected abstract M poll();
+
+    protected abstract boolean isEmpty();
+
+    /** Remove all items from the buffer and pass each of them to {@link #onReleased(Object)} */
+    protected abstract void clear();
+
+    protected void onDrop(M item) {
+        dropHandler.accept(item);
+        onReleased(item);
+    }
+
+    /**
+     * Called when item leaves this subscriber: after it was delivered downstream, dropped or
+     * cleared when subscriber terminates. Subclasses which hold references to pooled items release
+     * them here.
+     */
+    protected void onReleased(M item) {}
+
+    /** Called once when subscriber is terminated and no more items are delivered downstream */
+    protected void onTerminated() {}
+
+    public Subscriber<? super M> getDownstream() {
+        return downstream;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(M item) {
+        if (isCancelled) return;
+        offer(item);
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            // signalled by the drain loop so that it does not overlap with onNext
+            requestError =
+                    new IllegalArgumentException("Number of requested items must be positive");
+            cancel();
+            return;
+        }
+        demand.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        isCancelled = true;
+        var subscription = upstream;
+        if (subscription != null) subscription.cancel();
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) return;
+        executor.execute(drainTask);
+    }
+
+    private void drainLoop() {
+        var missed = 1;
+        do {
+            var requested = demand.get();
+            var emitted = 0L;
+            while (emitted != requested) {
+                if (checkTerminated()) return;
+                var item = poll();
+                if (item == null) break;
+                try {
+                    downstream.onNext(item);
+                } catch (Throwable e) {
+                    cancel();
+                    terminate();
+                    downstream.onError(e);
+                    return;
+                } finally {
+                    onReleased(item);
+                }
+                emitted++;
+            }
+            if (checkTerminated()) return;
+            if (emitted != 0 && requested != Long.MAX_VALUE) demand.addAndGet(-emitted);
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /** Must be called only from the drain loop */
+    private boolean checkTerminated() {
+        if (isTerminated) return true;
+        if (isCancelled) {
+            clear();
+            terminate();
+            var e = requestError;
+            if (e != null) downstream.onError(e);
+            return true;
+        }
+        if (isDone && (error != null || isEmpty())) {
+            clear();
+            terminate();
+            if (error != null) downstream.onError(error);
+            else downstream.onComplete();
+            return true;
+        }
+        return false;
+    }
+
+    /** Must be called only from the drain loop */
+    private void terminate() {
+        isTerminated = true;
+        onTerminated();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.impl;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Keeps only the latest item in a single atomic slot. Any item which was not yet delivered to the
+ * downstream subscriber is dropped when new item arrives.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ConflatingSubscriber<M> extends BufferingSubscriber<M> {
+
+    private final AtomicReference<M> latest = new AtomicReference<>();
+
+    public ConflatingSubscriber(
+            Subscriber<? super M> downstream, Executor executor, Consumer<? super M> dropHandler) {
+        super(downstream, executor, dropHandler);
+    }
+
+    @Override
+    protected void offer(M item) {
+        var dropped = latest.getAndSet(item);
+        if (dropped != null) onDrop(dropped);
+    }
+
+    @Override
+    protected M poll() {
+        return latest.getAndSet(null);
+    }
+
+    @Override
+    protected boolean isEmpty() {
+        return latest.get() == null;
+    }
+
+    @Override
+    protected void clear() {
+        var item = latest.getAndSet(null);
+        if (item != null) onReleased(item);
+    }
+}
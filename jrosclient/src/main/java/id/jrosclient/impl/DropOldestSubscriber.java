@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.impl;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.function.Consumer;
+
+/**
+ * Buffers up to given number of items and when buffer is full drops the oldest one.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DropOldestSubscriber<M> extends BufferingSubscriber<M> {
+
+    private final Object[] buffer;
+    private int head;
+    private int size;
+
+    public DropOldestSubscriber(
+            Subscriber<? super M> downstream,
+            Executor executor,
+            Consumer<? super M> dropHandler,
+            int capacity) {
+        super(downstream, executor, dropHandler);
+        buffer = new Object[capacity];
+    }
+
+    @Override
+    protected void offer(M item) {
+        M dropped = null;
+        synchronized (buffer) {
+            if (size == buffer.length) {
+                dropped = take();
+            }
+            buffer[(head + size) % buffer.length] = item;
+            size++;
+        }
+        if (dropped != null) onDrop(dropped);
+    }
+
+    @Override
+    protected M poll() {
+        synchronized (buffer) {
+            if (size == 0) return null;
+            return take();
+        }
+    }
+
+    @Override
+    protected boolean isEmpty() {
+        synchronized (buffer) {
+            return size == 0;
+        }
+    }
+
+    @Override
+    protected void clear() {
+        synchronized (buffer) {
+            while (size > 0) onReleased(take());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private M take() {
+        var item = (M) buffer[head];
+        buffer[head] = null;
+        head = (head + 1) % buffer.length;
+        size--;
+        return item;
+    }
+}
@@ -17,40 +17,117 @@
  */
 package id.jrosclient.impl;
 
-import id.jrosclient.metrics.JRosClientMetrics;
+import id.jrosclient.DemandStrategy;
+import id.jrosclient.metrics.TopicMetrics;
+import id.jrosclient.metrics.TopicMetricsRegistry;
 import id.xfunction.logging.XLogger;
-import io.opentelemetry.api.GlobalOpenTelemetry;
-import io.opentelemetry.api.metrics.LongCounter;
-import io.opentelemetry.api.metrics.Meter;
 import java.util.concurrent.Flow.Subscription;
 
 /**
+ * Subscription which is given to the {@link id.jrosclient.TopicSubscriber}.
+ *
+ * <p>Besides forwarding requests to the publisher it requests messages automatically according to
+ * the {@link DemandStrategy} of the subscriber.
+ *
  * @author lambdaprime intid@protonmail.com
  */
 public class JRosClientSubscription implements Subscription {
 
     private static final XLogger LOGGER = XLogger.getLogger(JRosClientSubscription.class);
 
-    private final Meter METER =
-            GlobalOpenTelemetry.getMeter(JRosClientSubscription.class.getSimpleName());
-    private final LongCounter TOPIC_SUBSCRIBER_MESSAGES_REQUESTED_COUNT_METER =
-            METER.counterBuilder(JRosClientMetrics.TOPIC_SUBSCRIBER_MESSAGES_REQUESTED_COUNT_METRIC)
-                    .setDescription(
-                            JRosClientMetrics
-                                    .TOPIC_SUBSCRIBER_MESSAGES_REQUESTED_COUNT_METRIC_DESCRIPTION)
-                    .build();
+    /** Weight of the new value in the average processing time */
+    private static final double ALPHA = 0.1;
 
     private Subscription subscription;
+    private TopicMetrics metrics;
+    private DemandStrategy demandStrategy;
+
+    // demand state is accessed only from onSubscribe/onNext (and right after it returns) which are
+    // called sequentially
+    private long outstanding;
+    private int window;
+    private double avgProcessingNanos;
 
     public JRosClientSubscription(Subscription subscription) {
+        this(subscription, TopicMetricsRegistry.getDefault().getMetrics());
+    }
+
+    public JRosClientSubscription(Subscription subscription, TopicMetrics metrics) {
+        this(subscription, metrics, DemandStrategy.MANUAL);
+    }
+
+    public JRosClientSubscription(
+            Subscription subscription, TopicMetrics metrics, DemandStrategy demandStrategy) {
         this.subscription = subscription;
+        this.metrics = metrics;
+        this.demandStrategy = demandStrategy;
+        window = demandStrategy.getMinWindow();
+    }
+
+    /**
+     * Issue first request to the publisher
+     *
+     * @param numOfMessages how many messages to request for {@link DemandStrategy.Type#MANUAL},
+     *     other strategies request the whole window
+     */
+    public void requestInitial(long numOfMessages) {
+        if (demandStrategy.getType() == DemandStrategy.Type.MANUAL) {
+            request(numOfMessages);
+            return;
+        }
+        outstanding = window;
+        request(window);
+    }
+
+    /**
+     * Must be called for each message received by the subscriber, requests more messages when
+     * demand drops to the low watermark
+     */
+    public void onReceived() {
+        if (demandStrategy.getType() == DemandStrategy.Type.MANUAL) return;
+        outstanding--;
+        var lowWatermark =
+                demandStrategy.getType() == DemandStrategy.Type.FIXED_WINDOW
+                        ? demandStrategy.getLowWatermark()
+                        : window / 4;
+        if (outstanding > lowWatermark) return;
+        // when window shrinks outstanding demand may be larger than the window
+        var n = window - outstanding;
+        if (n <= 0) return;
+        outstanding += n;
+        request(n);
+    }
+
+    /**
+     * Called after subscriber returned from onNext, {@link DemandStrategy.Type#ADAPTIVE_WINDOW}
+     * adapts the window to the time which subscriber spends processing each message
+     *
+     * @param processingNanos time between onNext was called and when it returned
+     */
+    public void onProcessed(long processingNanos) {
+        if (demandStrategy.getType() != DemandStrategy.Type.ADAPTIVE_WINDOW) return;
+        avgProcessingNanos =
+                avgProcessingNanos == 0
+                        ? processingNanos
+                        : avgProcessingNanos + ALPHA * (processingNanos - avgProcessingNanos);
+        var size = demandStrategy.getTargetTime().toNanos() / Math.max(1, avgProcessingNanos);
+        window =
+                (int)
+                        Math.max(
+                                demandStrategy.getMinWindow(),
+                                Math.min(demandStrategy.getMaxWindow(), size));
+    }
+
+    /** Current window size, for {@link DemandStrategy.Type#MANUAL} it is always 0 */
+    public int getWindow() {
+        return window;
     }
 
     @Override
     public void request(long n) {
         LOGGER.entering("request", n);
         subscription.request(n);
-        TOPIC_SUBSCRIBER_MESSAGES_REQUESTED_COUNT_METER.add(n);
+        metrics.onRequested(n);
         LOGGER.exiting("request");
     }
 
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Moves delivery of the items to the downstream subscriber to the given executor. Items are
+ * delivered in order and one at a time.
+ *
+ * <p>Unlike {@link BufferingSubscriber}, requests of the downstream subscriber are passed directly
+ * to the upstream subscription so number of items pending delivery is bounded by the demand of the
+ * downstream subscriber.
+ *
+ * <p>Time which items spend waiting for the delivery is reported to the dispatch listener.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class SchedulingSubscriber<M> implements Subscriber<M> {
+
+    private record Pending<M>(M item, long receiveNanos) {}
+
+    private final Subscriber<? super M> downstream;
+    private final Executor executor;
+    private final LongConsumer dispatchListener;
+    private final Runnable drainTask = this::drainLoop;
+    private final Queue<Pending<M>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile Subscription upstream;
+    private volatile boolean isDone;
+    private Throwable error;
+    private boolean isTerminated;
+
+    /**
+     * @param dispatchListener called right before item is delivered downstream with {@link
+     *     System#nanoTime()} when the item was received
+     */
+    public SchedulingSubscriber(
+            Subscriber<? super M> downstream, Executor executor, LongConsumer dispatchListener) {
+        this.downstream = downstream;
+        this.executor = executor;
+        this.dispatchListener = dispatchListener;
+    }
+
+    public Subscriber<? super M> getDownstream() {
+        return downstream;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        upstream = subscription;
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(M item) {
+        queue.add(new Pending<>(item, System.nanoTime()));
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        isDone = true;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) return;
+        executor.execute(drainTask);
+    }
+
+    private void drainLoop() {
+        var missed = 1;
+        do {
+            if (isTerminated) return;
+            Pending<M> pending;
+            while ((pending = queue.poll()) != null) {
+                try {
+                    dispatchListener.accept(pending.receiveNanos());
+                    downstream.onNext(pending.item());
+                } catch (Throwable e) {
+                    upstream.cancel();
+                    queue.clear();
+                    isTerminated = true;
+                    downstream.onError(e);
+                    return;
+                }
+            }
+            if (isDone && queue.isEmpty()) {
+                isTerminated = true;
+                if (error != null) downstream.onError(error);
+                else downstream.onComplete();
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
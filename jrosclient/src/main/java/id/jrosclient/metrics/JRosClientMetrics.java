@@ -17,6 +17,8 @@
  */
 package id.jrosclient.metrics;
 
+import java.util.List;
+
 /**
  * List of metrics emitted by <b>jrosclient</b>.
  *
@@ -29,6 +31,9 @@ package id.jrosclient.metrics;
  * registry</a> or in <a
  * href="https://github.com/lambdaprime/opentelemetry-exporters-pack">opentelemetry-exporters-pack</a>
  *
+ * <p>Topic metrics are collected through {@link TopicMetricsRegistry} which also allows to disable
+ * them.
+ *
  * <p>Example of Elasticsearch dashboard (with exporter from opentelemetry-exporters-pack):
  *
  * <p><img alt="" src="doc-files/elasticsearch.png"/>
@@ -66,6 +71,11 @@ public interface JRosClientMetrics {
     String TOPIC_PUBLISHER_ERRORS_COUNT_METRIC_DESCRIPTION =
             "Total number of submit errors in TopicPublisher";
 
+    String TOPIC_PUBLISHER_DROPPED_MESSAGES_COUNT_METRIC = "topic_publisher_dropped_messages_total";
+    String TOPIC_PUBLISHER_DROPPED_MESSAGES_COUNT_METRIC_DESCRIPTION =
+            "Total number of messages which TopicPublisher dropped for the subscriber according to"
+                    + " its OverflowPolicy";
+
     String TOPIC_SUBSCRIBER_OBJECTS_COUNT_METRIC = "topic_subscriber_objects_total";
     String TOPIC_SUBSCRIBER_OBJECTS_COUNT_METRIC_DESCRIPTION =
             "Total number of TopicSubscriber objects";
@@ -79,4 +89,74 @@ public interface JRosClientMetrics {
             "topic_subscriber_messages_requested_total";
     String TOPIC_SUBSCRIBER_MESSAGES_REQUESTED_COUNT_METRIC_DESCRIPTION =
             "Total number of messages requested by TopicSubscriber";
+
+    String TOPIC_SUBSCRIBER_MESSAGES_CONFLATED_COUNT_METRIC =
+            "topic_subscriber_messages_conflated_total";
+    String TOPIC_SUBSCRIBER_MESSAGES_CONFLATED_COUNT_METRIC_DESCRIPTION =
+            "Total number of messages which were dropped before reaching the subscriber because"
+                    + " newer message arrived (see SubscriptionMode.KEEP_LATEST)";
+
+    String TOPIC_SUBSCRIBER_MESSAGES_FILTERED_COUNT_METRIC =
+            "topic_subscriber_messages_filtered_total";
+    String TOPIC_SUBSCRIBER_MESSAGES_FILTERED_COUNT_METRIC_DESCRIPTION =
+            "Total number of received messages which were not passed to the subscriber by rate"
+                    + " limiting, decimating or sampling subscribers";
+
+    String MESSAGE_POOL_HITS_COUNT_METRIC = "message_pool_hits_total";
+    String MESSAGE_POOL_HITS_COUNT_METRIC_DESCRIPTION =
+            "Total number of messages leased from the MessagePool without allocation";
+
+    String MESSAGE_POOL_MISSES_COUNT_METRIC = "message_pool_misses_total";
+    String MESSAGE_POOL_MISSES_COUNT_METRIC_DESCRIPTION =
+            "Total number of times MessagePool had no free messages and new message was allocated";
+
+    String MESSAGE_POOL_LEAKS_COUNT_METRIC = "message_pool_leaks_total";
+    String MESSAGE_POOL_LEAKS_COUNT_METRIC_DESCRIPTION =
+            "Total number of messages which were not returned to the MessagePool for too long";
+
+    String TOPIC_DEADLINE_MISSED_COUNT_METRIC = "topic_deadline_missed_total";
+    String TOPIC_DEADLINE_MISSED_COUNT_METRIC_DESCRIPTION =
+            "Total number of topic deliveries which were started by the TopicScheduler after their"
+                    + " deadline";
+
+    String TOPIC_QUEUED_BYTES_METRIC = "topic_queued_bytes";
+    String TOPIC_QUEUED_BYTES_METRIC_DESCRIPTION =
+            "Number of bytes of the messages which publishers of the topic keep queued for their"
+                    + " subscribers (see MemoryBudget)";
+
+    String TOPIC_QUEUED_MESSAGES_METRIC = "topic_queued_messages";
+    String TOPIC_QUEUED_MESSAGES_METRIC_DESCRIPTION =
+            "Number of messages which publishers of the topic keep queued for their subscribers"
+                    + " (see MemoryBudget)";
+
+    String TOPIC_PUBLISHER_SEND_LATENCY_METRIC = "topic_publisher_send_latency_micros";
+    String TOPIC_PUBLISHER_SEND_LATENCY_METRIC_DESCRIPTION =
+            "Time between message is submitted to TopicPublisher and when it is passed to the"
+                    + " subscriber. For subscribers which send messages over the network it is"
+                    + " publish-to-send latency.";
+
+    String TOPIC_PUBLISHER_DELIVERY_LATENCY_METRIC = "topic_publisher_delivery_latency_micros";
+    String TOPIC_PUBLISHER_DELIVERY_LATENCY_METRIC_DESCRIPTION =
+            "Time between message is submitted to TopicPublisher and when subscriber finished"
+                    + " processing it";
+
+    String TOPIC_SUBSCRIBER_DISPATCH_LATENCY_METRIC = "topic_subscriber_dispatch_latency_micros";
+    String TOPIC_SUBSCRIBER_DISPATCH_LATENCY_METRIC_DESCRIPTION =
+            "Time between message is received by the client and when it is dispatched to"
+                    + " TopicSubscriber";
+
+    String TOPIC_SUBSCRIBER_FIRST_MESSAGE_LATENCY_METRIC =
+            "topic_subscriber_first_message_latency_micros";
+    String TOPIC_SUBSCRIBER_FIRST_MESSAGE_LATENCY_METRIC_DESCRIPTION =
+            "Time between TopicSubscriber is subscribed and when it receives its first message."
+                    + " Reported for the last subscriber of the topic which received one"
+                    + " (see JRosClient::warmUp)";
+
+    /**
+     * Latency metrics are reported as separate gauges for each of these quantiles. Name of the
+     * gauge is the name of the latency metric followed by the suffix, for example
+     * "topic_publisher_delivery_latency_micros_p99". Each value is calculated over the latencies
+     * recorded since the previous collection.
+     */
+    List<String> LATENCY_QUANTILE_SUFFIXES = List.of("_p50", "_p99", "_p999");
 }
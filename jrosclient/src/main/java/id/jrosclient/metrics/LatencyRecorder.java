@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram with HDR-style log-linear buckets.
+ *
+ * <p>Values are recorded in microseconds. Values below {@link #SUB_BUCKET_COUNT} are stored
+ * exactly, larger values are stored with relative error below 1/{@link #SUB_BUCKET_HALF_COUNT}. All
+ * buckets are preallocated so recording does not allocate and does not take any locks.
+ *
+ * <p>Recorded values are accumulated until they are moved to the snapshot with {@link
+ * #snapshot(long[])}, so each snapshot describes the latencies since the previous one.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+final class LatencyRecorder {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    /** Values above it (~19 hours) are recorded as this value */
+    private static final long MAX_VALUE_MICROS = (1L << 36) - 1;
+
+    /** Number of buckets which is required to store any value up to {@link #MAX_VALUE_MICROS} */
+    static final int BUCKET_COUNT = index(MAX_VALUE_MICROS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /** Record latency of the operation which started at given {@link System#nanoTime()} */
+    void recordSince(long startNanos) {
+        record((System.nanoTime() - startNanos) / 1_000);
+    }
+
+    void record(long micros) {
+        counts.incrementAndGet(index(Math.max(0, Math.min(micros, MAX_VALUE_MICROS))));
+    }
+
+    /**
+     * Move all values recorded so far to the snapshot. Values which are recorded concurrently with
+     * this operation are included either to this or to the next snapshot.
+     *
+     * @param snapshot array of {@link #BUCKET_COUNT} elements
+     * @return number of values in the snapshot
+     */
+    long snapshot(long[] snapshot) {
+        var total = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            // avoid write when bucket is empty
+            var count = counts.get(i) == 0 ? 0 : counts.getAndSet(i, 0);
+            snapshot[i] = count;
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @param snapshot snapshot returned by {@link #snapshot(long[])}
+     * @param total number of values in the snapshot
+     * @param quantile value in range [0..1]
+     * @return value in microseconds such that given fraction of all values in the snapshot are less
+     *     or equal to it
+     */
+    static long valueAtQuantile(long[] snapshot, long total, double quantile) {
+        var rank = Math.max(1, (long) Math.ceil(quantile * total));
+        var count = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += snapshot[i];
+            if (count >= rank) return highestValue(i);
+        }
+        return MAX_VALUE_MICROS;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+        var shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    private static long highestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        var shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        var subBucket = index % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1L) << shift) - 1;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.metrics;
+
+import io.opentelemetry.api.common.Attributes;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Preallocated counters for one set of metric attributes (usually one topic).
+ *
+ * <p>Counters are striped {@link LongAdder} accumulators so updating them from multiple threads
+ * does not allocate and does not contend. Their values are read only when OpenTelemetry collects
+ * metrics (see {@link TopicMetricsRegistry}).
+ *
+ * <p>When metrics are disabled (see {@link TopicMetricsRegistry#isEnabled()}) all methods are
+ * no-op.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class TopicMetrics {
+
+    private static final boolean IS_ENABLED = TopicMetricsRegistry.isEnabled();
+
+    final Attributes attributes;
+    final LongAdder publisherObjects = new LongAdder();
+    final LongAdder submittedMessages = new LongAdder();
+    final LongAdder publisherErrors = new LongAdder();
+    final LongAdder droppedMessages = new LongAdder();
+    final LongAdder subscriberObjects = new LongAdder();
+    final LongAdder receivedMessages = new LongAdder();
+    final LongAdder requestedMessages = new LongAdder();
+    final LongAdder conflatedMessages = new LongAdder();
+    final LongAdder filteredMessages = new LongAdder();
+    final LongAdder poolHits = new LongAdder();
+    final LongAdder poolMisses = new LongAdder();
+    final LongAdder poolLeaks = new LongAdder();
+    final LongAdder deadlineMisses = new LongAdder();
+    final LongAdder queuedBytes = new LongAdder();
+    final LongAdder queuedMessages = new LongAdder();
+
+    /** Number of owners of these metrics, guarded by the {@link TopicMetricsRegistry} */
+    int references;
+
+    /** Queued gauges are reported only for the topics which use memory budget */
+    volatile boolean hasQueue;
+
+    final LatencyRecorder sendLatency = new LatencyRecorder();
+    final LatencyRecorder deliveryLatency = new LatencyRecorder();
+    final LatencyRecorder dispatchLatency = new LatencyRecorder();
+
+    /** Last reported time to the first message, negative until it is reported */
+    volatile long firstMessageMicros = -1;
+
+    TopicMetrics(Attributes attributes) {
+        this.attributes = attributes;
+    }
+
+    public Attributes getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * @see JRosClientMetrics#TOPIC_PUBLISHER_OBJECTS_COUNT_METRIC
+     */
+    public void onPublisherCreated() {
+        if (IS_ENABLED) publisherObjects.increment();
+    }
+
+    /**
+     * @see JRosClientMetrics#TOPIC_PUBLISHER_SUBMITTED_MESSAGES_COUNT_METRIC
+     */
+    public void onSubmitted(long count) {
+        if (IS_ENABLED) submittedMessages.add(count);
+    }
+
+    /**
+     * @see JRosClientMetrics#TOPIC_PUBLISHER_ERRORS_COUNT_METRIC
+     */
+    public void onPublisherError() {
+        if (IS_ENABLED) publisherErrors.increment();
+    }
+
+    /**
+     * @see JRosClientMetrics#TOPIC_PUBLISHER_DROPPED_MESSAGES_COUNT_METRIC
+     */
+    public void onDropped() {
+        if (IS_ENABLED) droppedMessages.increment();
+    }
+
+    /**
+     * @see JRosClientMetrics#TOPIC_PUBLISHER_DROPPED_MESSAGES_COUNT_METRIC
+     */
+    public void onDropped(long count) {
+        if (IS_ENABLED) droppedMessages.add(count);
+    }
+
+    /**
+     * @see JRosClientMetrics#TOPIC_SUBSCRIBER_OBJECTS_COUNT_METRIC
+     */
+    public void onSubscriberCreated() {
+        if (IS_ENABLED) subscriberObjects.increment();
+    }
+
+    /**
+     * @see JRosClientMetrics#TOPIC_SUBSCRIBER_MESSAGES_RECEIVED_COUNT_METRIC
+     */
+    public void onReceived() {
+        if (IS_ENABLED) receivedMessages.increment();
+    }
+
+    /**
+     * @see JRosClientMetrics#TOPIC_SUBSCRIBER_MESSAGES_REQUESTED_COUNT_METRIC
+     */
+    public void onRequested(long count) {
+        if (IS_ENABLED) requestedMessages.add(count);
+    }
+
+    /**
+     * @see JRosClientMetrics#TOPIC_SUBSCRIBER_MESSAGES_CONFLATED_COUNT_METRIC
+     */
+    public void onConflated() {
+        if (IS_ENABLED) conflatedMessages.increment();
+    }
+
+    /**
+     * @see JRosClientMetrics#TOPIC_SUBSCRIBER_MESSAGES_FILTERED_COUNT_METRIC
+     */
+    public void onFiltered() {
+        if (IS_ENABLED) filteredMessages.increment();
+    }
+
+    /**
+     * @see JRosClientMetrics#MESSAGE_POOL_HITS_COUNT_METRIC
+     */
+    public void onPoolHit() {
+        if (IS_ENABLED) poolHits.increment();
+    }
+
+    /**
+     * @see JRosClientMetrics#MESSAGE_POOL_MISSES_COUNT_METRIC
+     */
+    public void onPoolMiss() {
+        if (IS_ENABLED) poolMisses.increment();
+    }
+
+    /**
+     * @see JRosClientMetrics#MESSAGE_POOL_LEAKS_COUNT_METRIC
+     */
+    public void onPoolLeak() {
+        if (IS_ENABLED) poolLeaks.increment();
+    }
+
+    /**
+     * @see JRosClientMetrics#TOPIC_DEADLINE_MISSED_COUNT_METRIC
+     */
+    public void onDeadlineMissed() {
+        if (IS_ENABLED) deadlineMisses.increment();
+    }
+
+    /**
+     * @param bytes change in number of queued bytes, negative when messages are dequeued
+     * @param messages change in number of queued messages, negative when messages are dequeued
+     * @see JRosClientMetrics#TOPIC_QUEUED_BYTES_METRIC
+     * @see JRosClientMetrics#TOPIC_QUEUED_MESSAGES_METRIC
+     */
+    public void onQueued(long bytes, long messages) {
+        if (!IS_ENABLED) return;
+        if (!hasQueue) hasQueue = true;
+        queuedBytes.add(bytes);
+        queuedMessages.add(messages);
+    }
+
+    /**
+     * Called when submitted message is passed to the subscriber (including subscribers of the
+     * client which send messages over the network)
+     *
+     * @param submitNanos {@link System#nanoTime()} when message was submitted to the publisher
+     * @see JRosClientMetrics#TOPIC_PUBLISHER_SEND_LATENCY_METRIC
+     */
+    public void onSent(long submitNanos) {
+        if (IS_ENABLED) sendLatency.recordSince(submitNanos);
+    }
+
+    /**
+     * Called when subscriber finished processing of the submitted message
+     *
+     * @param submitNanos {@link System#nanoTime()} when message was submitted to the publisher
+     * @see JRosClientMetrics#TOPIC_PUBLISHER_DELIVERY_LATENCY_METRIC
+     */
+    public void onDelivered(long submitNanos) {
+        if (IS_ENABLED) deliveryLatency.recordSince(submitNanos);
+    }
+
+    /**
+     * Called when subscriber receives its first message
+     *
+     * @param subscribeNanos {@link System#nanoTime()} when subscriber was subscribed
+     * @see JRosClientMetrics#TOPIC_SUBSCRIBER_FIRST_MESSAGE_LATENCY_METRIC
+     */
+    public void onFirstMessage(long subscribeNanos) {
+        if (IS_ENABLED) firstMessageMicros = (System.nanoTime() - subscribeNanos) / 1_000;
+    }
+
+    /**
+     * Called when message received by the client is dispatched to the {@link
+     * id.jrosclient.TopicSubscriber}
+     *
+     * @param receiveNanos {@link System#nanoTime()} when message was received
+     * @see JRosClientMetrics#TOPIC_SUBSCRIBER_DISPATCH_LATENCY_METRIC
+     */
+    public void onDispatched(long receiveNanos) {
+        if (IS_ENABLED) dispatchLatency.recordSince(receiveNanos);
+    }
+}
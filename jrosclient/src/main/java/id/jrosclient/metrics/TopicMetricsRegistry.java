@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.metrics;
+
+import id.jroscommon.RosName;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Owns all OpenTelemetry instruments for topic related metrics from {@link JRosClientMetrics}.
+ *
+ * <p>Instruments are built only once and they are asynchronous (observable): instead of updating
+ * OpenTelemetry on each message, publishers and subscribers update preallocated {@link
+ * TopicMetrics} counters and OpenTelemetry reads them only when it collects the metrics. This makes
+ * metrics on the publish/receive path free of allocations and attribute lookups.
+ *
+ * <p>Each {@link #getMetrics(Attributes)} call holds a reference to the returned metrics. Owners
+ * with a lifecycle (publishers, subscribers) give their reference back with {@link
+ * #release(TopicMetrics)} once they terminate, and when there is no references left the metrics are
+ * removed, so they are not reported anymore and dynamic topics or subscribers do not accumulate.
+ *
+ * <p>Metrics can be disabled completely with system property {@value #METRICS_ENABLED_PROPERTY} set
+ * to "false". In that case no instruments are registered and all {@link TopicMetrics} operations
+ * are no-op.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TopicMetricsRegistry {
+
+    /** System property which allows to disable all topic metrics */
+    public static final String METRICS_ENABLED_PROPERTY = "jrosclient.metrics.enabled";
+
+    private static final boolean IS_ENABLED =
+            !"false".equalsIgnoreCase(System.getProperty(METRICS_ENABLED_PROPERTY));
+
+    /** Quantiles which correspond to {@link JRosClientMetrics#LATENCY_QUANTILE_SUFFIXES} */
+    private static final double[] LATENCY_QUANTILES = {0.5, 0.99, 0.999};
+
+    private final Map<Attributes, TopicMetrics> metrics = new ConcurrentHashMap<>();
+    private final TopicMetrics defaultMetrics;
+
+    /** Lazy initialization, so that users have a chance to configure OpenTelemetry first */
+    private static class Holder {
+        static final TopicMetricsRegistry INSTANCE =
+                new TopicMetricsRegistry(
+                        GlobalOpenTelemetry.getMeter(TopicMetricsRegistry.class.getSimpleName()));
+    }
+
+    private TopicMetricsRegistry(Meter meter) {
+        defaultMetrics = getMetrics(Attributes.empty());
+        if (!IS_ENABLED) return;
+        registerCounter(
+                meter,
+                JRosClientMetrics.TOPIC_PUBLISHER_OBJECTS_COUNT_METRIC,
+                JRosClientMetrics.TOPIC_PUBLISHER_OBJECTS_COUNT_METRIC_DESCRIPTION,
+                m -> m.publisherObjects);
+        registerCounter(
+                meter,
+                JRosClientMetrics.TOPIC_PUBLISHER_SUBMITTED_MESSAGES_COUNT_METRIC,
+                JRosClientMetrics.TOPIC_PUBLISHER_SUBMITTED_MESSAGES_COUNT_METRIC_DESCRIPTION,
+                m -> m.submittedMessages);
+        registerCounter(
+                meter,
+                JRosClientMetrics.TOPIC_PUBLISHER_ERRORS_COUNT_METRIC,
+                JRosClientMetrics.TOPIC_PUBLISHER_ERRORS_COUNT_METRIC_DESCRIPTION,
+                m -> m.publisherErrors);
+        registerCounter(
+                meter,
+                JRosClientMetrics.TOPIC_PUBLISHER_DROPPED_MESSAGES_COUNT_METRIC,
+                JRosClientMetrics.TOPIC_PUBLISHER_DROPPED_MESSAGES_COUNT_METRIC_DESCRIPTION,
+                m -> m.droppedMessages);
+        registerCounter(
+                meter,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_OBJECTS_COUNT_METRIC,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_OBJECTS_COUNT_METRIC_DESCRIPTION,
+                m -> m.subscriberObjects);
+        registerCounter(
+                meter,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_MESSAGES_RECEIVED_COUNT_METRIC,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_MESSAGES_RECEIVED_COUNT_METRIC_DESCRIPTION,
+                m -> m.receivedMessages);
+        registerCounter(
+                meter,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_MESSAGES_REQUESTED_COUNT_METRIC,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_MESSAGES_REQUESTED_COUNT_METRIC_DESCRIPTION,
+                m -> m.requestedMessages);
+        registerCounter(
+                meter,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_MESSAGES_CONFLATED_COUNT_METRIC,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_MESSAGES_CONFLATED_COUNT_METRIC_DESCRIPTION,
+                m -> m.conflatedMessages);
+        registerCounter(
+                meter,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_MESSAGES_FILTERED_COUNT_METRIC,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_MESSAGES_FILTERED_COUNT_METRIC_DESCRIPTION,
+                m -> m.filteredMessages);
+        registerCounter(
+                meter,
+                JRosClientMetrics.MESSAGE_POOL_HITS_COUNT_METRIC,
+                JRosClientMetrics.MESSAGE_POOL_HITS_COUNT_METRIC_DESCRIPTION,
+                m -> m.poolHits);
+        registerCounter(
+                meter,
+                JRosClientMetrics.MESSAGE_POOL_MISSES_COUNT_METRIC,
+                JRosClientMetrics.MESSAGE_POOL_MISSES_COUNT_METRIC_DESCRIPTION,
+                m -> m.poolMisses);
+        registerCounter(
+                meter,
+                JRosClientMetrics.MESSAGE_POOL_LEAKS_COUNT_METRIC,
+                JRosClientMetrics.MESSAGE_POOL_LEAKS_COUNT_METRIC_DESCRIPTION,
+                m -> m.poolLeaks);
+        registerCounter(
+                meter,
+                JRosClientMetrics.TOPIC_DEADLINE_MISSED_COUNT_METRIC,
+                JRosClientMetrics.TOPIC_DEADLINE_MISSED_COUNT_METRIC_DESCRIPTION,
+                m -> m.deadlineMisses);
+        registerGauge(
+                meter,
+                JRosClientMetrics.TOPIC_QUEUED_BYTES_METRIC,
+                JRosClientMetrics.TOPIC_QUEUED_BYTES_METRIC_DESCRIPTION,
+                m -> m.queuedBytes);
+        registerGauge(
+                meter,
+                JRosClientMetrics.TOPIC_QUEUED_MESSAGES_METRIC,
+                JRosClientMetrics.TOPIC_QUEUED_MESSAGES_METRIC_DESCRIPTION,
+                m -> m.queuedMessages);
+        registerLatency(
+                meter,
+                JRosClientMetrics.TOPIC_PUBLISHER_SEND_LATENCY_METRIC,
+                JRosClientMetrics.TOPIC_PUBLISHER_SEND_LATENCY_METRIC_DESCRIPTION,
+                m -> m.sendLatency);
+        registerLatency(
+                meter,
+                JRosClientMetrics.TOPIC_PUBLISHER_DELIVERY_LATENCY_METRIC,
+                JRosClientMetrics.TOPIC_PUBLISHER_DELIVERY_LATENCY_METRIC_DESCRIPTION,
+                m -> m.deliveryLatency);
+        registerLatency(
+                meter,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_DISPATCH_LATENCY_METRIC,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_DISPATCH_LATENCY_METRIC_DESCRIPTION,
+                m -> m.dispatchLatency);
+        // happens once per subscriber, so distribution between collections would be mostly empty
+        registerLastValue(
+                meter,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_FIRST_MESSAGE_LATENCY_METRIC,
+                JRosClientMetrics.TOPIC_SUBSCRIBER_FIRST_MESSAGE_LATENCY_METRIC_DESCRIPTION,
+                m -> m.firstMessageMicros);
+    }
+
+    public static TopicMetricsRegistry getDefault() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return false if metrics were disabled with {@value #METRICS_ENABLED_PROPERTY} system
+     *     property
+     */
+    public static boolean isEnabled() {
+        return IS_ENABLED;
+    }
+
+    /** Metrics which are not associated with any topic */
+    public TopicMetrics getMetrics() {
+        return defaultMetrics;
+    }
+
+    /** Metrics with "topic" attribute */
+    public TopicMetrics getMetrics(RosName topic) {
+        return getMetrics(Attributes.builder().put("topic", topic.toGlobalName()).build());
+    }
+
+    /**
+     * Metrics with "topic" and "subscriber" attributes. Subscriber id needs to be unique only
+     * within the topic.
+     */
+    public TopicMetrics getMetrics(RosName topic, String subscriberId) {
+        return getMetrics(
+                Attributes.builder()
+                        .put("topic", topic.toGlobalName())
+                        .put("subscriber", subscriberId)
+                        .build());
+    }
+
+    /**
+     * Returns metrics for given attributes, they are created only once and shared by all callers
+     * until each of them calls {@link #release(TopicMetrics)}
+     */
+    public TopicMetrics getMetrics(Attributes attributes) {
+        return metrics.compute(
+                attributes,
+                (k, m) -> {
+                    if (m == null) m = new TopicMetrics(k);
+                    m.references++;
+                    return m;
+                });
+    }
+
+    /**
+     * Give back reference to the metrics which was obtained from {@link #getMetrics(Attributes)}.
+     * When it is the last reference the metrics are removed from the registry.
+     */
+    public void release(TopicMetrics topicMetrics) {
+        metrics.computeIfPresent(
+                topicMetrics.attributes,
+                (k, m) -> m != topicMetrics || --m.references > 0 ? m : null);
+    }
+
+    private void registerCounter(
+            Meter meter,
+            String name,
+            String description,
+            Function<TopicMetrics, LongAdder> counter) {
+        meter.counterBuilder(name)
+                .setDescription(description)
+                .buildWithCallback(
+                        measurement -> {
+                            for (var m : metrics.values()) {
+                                var value = counter.apply(m).sum();
+                                // skip series which never changed
+                                if (value != 0) measurement.record(value, m.attributes);
+                            }
+                        });
+    }
+
+    private void registerGauge(
+            Meter meter, String name, String description, Function<TopicMetrics, LongAdder> gauge) {
+        meter.gaugeBuilder(name)
+                .setDescription(description)
+                .ofLongs()
+                .buildWithCallback(
+                        measurement -> {
+                            for (var m : metrics.values()) {
+                                if (m.hasQueue)
+                                    measurement.record(gauge.apply(m).sum(), m.attributes);
+                            }
+                        });
+    }
+
+    /** Register gauge which reports last value in microseconds, negative values are not reported */
+    private void registerLastValue(
+            Meter meter, String name, String description, ToLongFunction<TopicMetrics> value) {
+        meter.gaugeBuilder(name)
+                .setDescription(description)
+                .setUnit("us")
+                .ofLongs()
+                .buildWithCallback(
+                        measurement -> {
+                            for (var m : metrics.values()) {
+                                var micros = value.applyAsLong(m);
+                                if (micros >= 0) measurement.record(micros, m.attributes);
+                            }
+                        });
+    }
+
+    /**
+     * Register gauge for each of {@link JRosClientMetrics#LATENCY_QUANTILE_SUFFIXES}. All of them
+     * are observed from the same snapshot of the recorder.
+     */
+    private void registerLatency(
+            Meter meter,
+            String name,
+            String description,
+            Function<TopicMetrics, LatencyRecorder> recorder) {
+        var suffixes = JRosClientMetrics.LATENCY_QUANTILE_SUFFIXES;
+        var gauges = new ObservableLongMeasurement[suffixes.size()];
+        for (int i = 0; i < gauges.length; i++) {
+            gauges[i] =
+                    meter.gaugeBuilder(name + suffixes.get(i))
+                            .setDescription(description)
+                            .setUnit("us")
+                            .ofLongs()
+                            .buildObserver();
+        }
+        // snapshot is reused between collections, in case there are several metric readers
+        // they need to take turns
+        var snapshot = new long[LatencyRecorder.BUCKET_COUNT];
+        meter.batchCallback(
+                () -> {
+                    synchronized (snapshot) {
+                        for (var m : metrics.values()) {
+                            var total = recorder.apply(m).snapshot(snapshot);
+                            // skip series which have no new values
+                            if (total == 0) continue;
+                            for (int i = 0; i < gauges.length; i++) {
+                                gauges[i].record(
+                                        LatencyRecorder.valueAtQuantile(
+                                                snapshot, total, LATENCY_QUANTILES[i]),
+                                        m.attributes);
+                            }
+                        }
+                    }
+                },
+                gauges[0],
+                Arrays.copyOfRange(gauges, 1, gauges.length));
+    }
+}
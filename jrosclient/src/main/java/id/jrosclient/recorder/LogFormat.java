@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import id.jrosclient.exceptions.JRosClientException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Layout of the recording directory.
+ *
+ * <p>Directory consists of the segment files which are read in the order of their names, the {@link
+ * #TOPICS_FILE} which maps topic ids to their names and the {@link #SEGMENTS_INDEX_FILE}. Each
+ * closed segment also has the sparse index file next to it (see {@link SegmentIndex}).
+ *
+ * <p>Each segment starts with the header:
+ *
+ * <pre>
+ * int magic, int version, long first timestamp, long last timestamp, long number of records
+ * </pre>
+ *
+ * <p>Header is followed by the records, each of them is aligned to 8 bytes:
+ *
+ * <pre>
+ * int record size (including record header), int topic id, long timestamp, message bytes
+ * </pre>
+ *
+ * <p>Record with zero size marks the end of the segment. Timestamps are in nanoseconds since epoch
+ * and they never decrease within the recording.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+final class LogFormat {
+
+    static final int MAGIC = 0x4A524543;
+    static final int VERSION = 1;
+
+    static final int HEADER_MAGIC_OFFSET = 0;
+    static final int HEADER_VERSION_OFFSET = 4;
+    static final int HEADER_FIRST_TIMESTAMP_OFFSET = 8;
+    static final int HEADER_LAST_TIMESTAMP_OFFSET = 16;
+    static final int HEADER_RECORD_COUNT_OFFSET = 24;
+    static final int SEGMENT_HEADER_SIZE = 32;
+
+    static final int RECORD_SIZE_OFFSET = 0;
+    static final int RECORD_TOPIC_OFFSET = 4;
+    static final int RECORD_TIMESTAMP_OFFSET = 8;
+    static final int RECORD_HEADER_SIZE = 16;
+    static final int RECORD_ALIGNMENT = 8;
+
+    static final int INDEX_MAGIC = 0x4A524958;
+    static final String INDEX_SUFFIX = ".idx";
+    static final int INDEX_BLOCK_SIZE = 64 * 1024;
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final String TOPICS_FILE = "topics";
+    static final String SEGMENTS_INDEX_FILE = "segments.idx";
+
+    private LogFormat() {}
+
+    static int align(int size) {
+        return (size + RECORD_ALIGNMENT - 1) & -RECORD_ALIGNMENT;
+    }
+
+    /** Convert to nanoseconds since epoch, values outside of the long range are saturated */
+    static long toEpochNanos(Instant instant) {
+        try {
+            return Math.addExact(
+                    Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L),
+                    instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    static String segmentFileName(long ordinal) {
+        return String.format("%s%010d%s", SEGMENT_PREFIX, ordinal, SEGMENT_SUFFIX);
+    }
+
+    static long segmentOrdinal(Path segment) {
+        var name = segment.getFileName().toString();
+        return Long.parseLong(
+                name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /** Segment files of the recording sorted in the order they were written */
+    static List<Path> listSegments(Path directory) {
+        try (var files = Files.list(directory)) {
+            return files.filter(
+                            p -> {
+                                var name = p.getFileName().toString();
+                                return name.startsWith(SEGMENT_PREFIX)
+                                        && name.endsWith(SEGMENT_SUFFIX);
+                            })
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new JRosClientException(e);
+        }
+    }
+}
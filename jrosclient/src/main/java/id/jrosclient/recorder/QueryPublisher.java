@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import id.jrosclient.MessageDecoder;
+import id.jrosclient.PayloadArena;
+import id.jrosmessages.Message;
+import id.xfunction.XJson;
+import id.xfunction.logging.XLogger;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes decoded messages of the topic which were recorded within the given time range.
+ *
+ * <p>Each subscriber gets its own {@link RecordingCursor}, so it receives all matching messages
+ * from the start. Messages are read and decoded on the executor only when subscriber requests them.
+ * Publisher completes the subscriber when there is no more matching messages.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+final class QueryPublisher<M extends Message> implements Publisher<M> {
+    private final XLogger LOGGER = XLogger.getLogger(this);
+
+    private final Path directory;
+    private final int topicId;
+    private final long fromTimestamp;
+    private final long toTimestamp;
+    private final MessageDecoder<M> decoder;
+    private final PayloadArena payloadArena;
+    private final Executor executor;
+
+    /**
+     * @param payloadArena arena for the payloads of decoded messages, may be null
+     */
+    QueryPublisher(
+            Path directory,
+            int topicId,
+            long fromTimestamp,
+            long toTimestamp,
+            MessageDecoder<M> decoder,
+            PayloadArena payloadArena,
+            Executor executor) {
+        this.directory = directory;
+        this.topicId = topicId;
+        this.fromTimestamp = fromTimestamp;
+        this.toTimestamp = toTimestamp;
+        this.decoder = decoder;
+        this.payloadArena = payloadArena;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super M> subscriber) {
+        subscriber.onSubscribe(new QuerySubscription(subscriber));
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString(
+                "directory",
+                directory,
+                "topicId",
+                topicId,
+                "fromTimestamp",
+                fromTimestamp,
+                "toTimestamp",
+                toTimestamp);
+    }
+
+    private class QuerySubscription implements Subscription {
+        private final Subscriber<? super M> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+
+        /** Serializes drains, see {@link #schedule()} */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private volatile boolean isDone;
+        private volatile Throwable requestError;
+
+        /** Created inside the drain so that errors are delivered to the subscriber */
+        private RecordingCursor cursor;
+
+        QuerySubscription(Subscriber<? super M> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (isDone) return;
+            if (n <= 0) {
+                // signalled by the drain so that it does not overlap with onNext
+                requestError =
+                        new IllegalArgumentException("Non positive request " + n + " received");
+                schedule();
+                return;
+            }
+            demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            isDone = true;
+        }
+
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) executor.execute(this::drain);
+        }
+
+        private void drain() {
+            var missed = 1;
+            do {
+                try {
+                    if (cursor == null)
+                        cursor =
+                                new RecordingCursor(directory, topicId, fromTimestamp, toTimestamp);
+                    while (!isDone && requestError == null && demand.get() > 0) {
+                        if (!cursor.next()) {
+                            isDone = true;
+                            LOGGER.fine("Query completed: {0}", QueryPublisher.this);
+                            subscriber.onComplete();
+                            break;
+                        }
+                        var data = cursor.getReader().getData();
+                        var message =
+                                payloadArena != null
+                                        ? decoder.decode(data, payloadArena)
+                                        : decoder.decode(data);
+                        demand.decrementAndGet();
+                        subscriber.onNext(message);
+                    }
+                } catch (Exception e) {
+                    if (!isDone) {
+                        isDone = true;
+                        LOGGER.severe(e.getMessage());
+                        subscriber.onError(e);
+                    }
+                }
+                var error = requestError;
+                if (error != null && !isDone) {
+                    isDone = true;
+                    subscriber.onError(error);
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
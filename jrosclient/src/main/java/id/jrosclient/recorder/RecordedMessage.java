@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import id.jroscommon.RosName;
+import java.nio.ByteBuffer;
+
+/**
+ * Message as it is stored in the recording.
+ *
+ * <p>To avoid allocations same instance is reused for all messages, so it is valid only until the
+ * consumer which received it returns. Same applies to the buffer returned by {@link #getData()}: it
+ * points directly to the memory-mapped segment file.
+ *
+ * @see TopicReplayer#forEach(java.util.function.Consumer)
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class RecordedMessage {
+
+    private RosName topic;
+    private String messageClass;
+    private long timestamp;
+    private ByteBuffer data;
+
+    RecordedMessage() {}
+
+    void set(RosName topic, String messageClass, long timestamp, ByteBuffer data) {
+        this.topic = topic;
+        this.messageClass = messageClass;
+        this.timestamp = timestamp;
+        this.data = data;
+    }
+
+    public RosName getTopic() {
+        return topic;
+    }
+
+    /** Name of the class of the message as it was recorded */
+    public String getMessageClass() {
+        return messageClass;
+    }
+
+    /** Time when message was received by the recorder, in nanoseconds since epoch */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /** Read-only buffer with the serialized message, from its position to the limit */
+    public ByteBuffer getData() {
+        return data;
+    }
+}
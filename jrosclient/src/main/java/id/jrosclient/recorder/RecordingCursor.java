@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Iterates over the records of the recording which belong to the given time range and topic.
+ *
+ * <p>Since timestamps never decrease within the recording, segments which end before the range are
+ * skipped using their headers, inside of the segment cursor seeks to the first matching record
+ * using {@link SegmentIndex} and iteration stops at the first record after the range. Segments
+ * without index (the one which is still being recorded, or not properly closed) are scanned from
+ * the beginning. Not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+final class RecordingCursor {
+
+    private final Iterator<Path> segments;
+    private final int topicId;
+    private final long fromTimestamp;
+    private final long toTimestamp;
+    private SegmentReader reader;
+    private boolean isDone;
+
+    /**
+     * @param topicId negative for all topics
+     * @param fromTimestamp inclusive, in nanoseconds since epoch
+     * @param toTimestamp inclusive, in nanoseconds since epoch
+     */
+    RecordingCursor(Path directory, int topicId, long fromTimestamp, long toTimestamp) {
+        segments = LogFormat.listSegments(directory).iterator();
+        this.topicId = topicId;
+        this.fromTimestamp = fromTimestamp;
+        this.toTimestamp = toTimestamp;
+    }
+
+    /**
+     * Advance to the next matching record
+     *
+     * @return false if there is no more records
+     */
+    boolean next() {
+        while (!isDone) {
+            if (reader == null && !openNextSegment()) {
+                isDone = true;
+                break;
+            }
+            while (reader.next()) {
+                var timestamp = reader.getTimestamp();
+                if (timestamp > toTimestamp) {
+                    isDone = true;
+                    return false;
+                }
+                if (timestamp < fromTimestamp) continue;
+                if (topicId >= 0 && reader.getTopicId() != topicId) continue;
+                return true;
+            }
+            reader = null;
+        }
+        return false;
+    }
+
+    /** Reader positioned at the current record */
+    SegmentReader getReader() {
+        return reader;
+    }
+
+    private boolean openNextSegment() {
+        while (segments.hasNext()) {
+            var file = segments.next();
+            var segment = new SegmentReader(file);
+            var indexFile = SegmentIndex.indexFile(file);
+            var isClosed = Files.exists(indexFile);
+            if (segment.getRecordCount() > 0) {
+                // first timestamp does not change once it is flushed, but last timestamp is
+                // final only for closed segments
+                if (segment.getFirstTimestamp() > toTimestamp) return false;
+                if (isClosed && segment.getLastTimestamp() < fromTimestamp) continue;
+            }
+            var offset = LogFormat.SEGMENT_HEADER_SIZE;
+            if (isClosed) {
+                var index = SegmentIndex.read(indexFile).orElse(null);
+                if (index != null) offset = index.seek(fromTimestamp, topicId);
+                if (offset < 0) continue;
+            }
+            segment.seek(offset);
+            reader = segment;
+            return true;
+        }
+        return false;
+    }
+}
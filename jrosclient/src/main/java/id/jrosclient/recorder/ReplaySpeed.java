@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import id.xfunction.Preconditions;
+import id.xfunction.XJson;
+import java.util.Objects;
+
+/**
+ * Defines how fast {@link TopicReplayer} publishes recorded messages.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class ReplaySpeed {
+
+    /** Keep original intervals between the messages */
+    public static final ReplaySpeed ORIGINAL = new ReplaySpeed(1);
+
+    /** Publish messages as fast as subscribers can receive them */
+    public static final ReplaySpeed MAXIMUM = new ReplaySpeed(0);
+
+    private final double factor;
+
+    private ReplaySpeed(double factor) {
+        this.factor = factor;
+    }
+
+    /**
+     * @param factor how many times faster than original messages are published (values less than 1
+     *     slow the replay down)
+     */
+    public static ReplaySpeed scaled(double factor) {
+        Preconditions.isTrue(factor > 0, "Speed factor must be positive");
+        return new ReplaySpeed(factor);
+    }
+
+    /** Speed factor, zero for {@link #MAXIMUM} */
+    public double getFactor() {
+        return factor;
+    }
+
+    public boolean isMaximum() {
+        return factor == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(factor);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        var other = (ReplaySpeed) obj;
+        return factor == other.factor;
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString("factor", factor);
+    }
+}
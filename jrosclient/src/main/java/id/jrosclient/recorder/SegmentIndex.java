@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import id.jrosclient.exceptions.JRosClientException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Sparse index of the segment which allows to seek to the records of the given topic and time
+ * without scanning the whole segment.
+ *
+ * <p>Segment is split into blocks of approximately {@link LogFormat#INDEX_BLOCK_SIZE} bytes. For
+ * each block index keeps timestamp and offset of its first record and bitmap of the topics which
+ * have records in it. Topics with ids larger than 62 share the last bit of the bitmap.
+ *
+ * <p>Index is stored next to the segment in the file with {@link LogFormat#INDEX_SUFFIX} as a
+ * header (int magic, int version, int number of entries) followed by the entries (long timestamp,
+ * int offset, int padding, long topic bitmap).
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+final class SegmentIndex {
+
+    private static final int HEADER_SIZE = 12;
+    private static final int ENTRY_SIZE = 24;
+
+    private long[] timestamps;
+    private int[] offsets;
+    private long[] topicBits;
+    private int size;
+
+    SegmentIndex() {
+        this(16);
+    }
+
+    private SegmentIndex(int capacity) {
+        timestamps = new long[capacity];
+        offsets = new int[capacity];
+        topicBits = new long[capacity];
+    }
+
+    static long topicBit(int topicId) {
+        return topicId < Long.SIZE - 1 ? 1L << topicId : Long.MIN_VALUE;
+    }
+
+    static Path indexFile(Path segment) {
+        var name = segment.getFileName().toString();
+        return segment.resolveSibling(
+                name.substring(0, name.length() - LogFormat.SEGMENT_SUFFIX.length())
+                        + LogFormat.INDEX_SUFFIX);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Called for each record appended to the segment */
+    void onRecord(int offset, long timestamp, int topicId) {
+        if (size == 0 || offset - offsets[size - 1] >= LogFormat.INDEX_BLOCK_SIZE) {
+            if (size == offsets.length) {
+                var capacity = size * 2;
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                offsets = Arrays.copyOf(offsets, capacity);
+                topicBits = Arrays.copyOf(topicBits, capacity);
+            }
+            timestamps[size] = timestamp;
+            offsets[size] = offset;
+            topicBits[size] = 0;
+            size++;
+        }
+        topicBits[size - 1] |= topicBit(topicId);
+    }
+
+    /**
+     * Find where to start reading records of the topic which are not older than given timestamp
+     *
+     * @param topicId negative for any topic
+     * @return offset of the record in the segment or -1 if segment has no records of the topic
+     *     starting from given timestamp
+     */
+    int seek(long fromTimestamp, int topicId) {
+        // last block which starts before the timestamp, since timestamps may repeat the records
+        // with the given timestamp may also be at the end of the block which precedes the one
+        // that starts with it
+        var low = 0;
+        var high = size - 1;
+        var block = 0;
+        while (low <= high) {
+            var mid = (low + high) >>> 1;
+            if (timestamps[mid] < fromTimestamp) {
+                block = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        var bit = topicId < 0 ? -1L : topicBit(topicId);
+        while (block < size && (topicBits[block] & bit) == 0) block++;
+        return block < size ? offsets[block] : -1;
+    }
+
+    void write(Path file) {
+        var buffer = ByteBuffer.allocate(HEADER_SIZE + size * ENTRY_SIZE);
+        buffer.putInt(LogFormat.INDEX_MAGIC).putInt(LogFormat.VERSION).putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(timestamps[i]).putInt(offsets[i]).putInt(0).putLong(topicBits[i]);
+        }
+        try {
+            Files.write(file, buffer.array());
+        } catch (IOException e) {
+            throw new JRosClientException(e);
+        }
+    }
+
+    /**
+     * @return empty if segment has no index (it was not closed properly or it is still being
+     *     recorded)
+     */
+    static Optional<SegmentIndex> read(Path file) {
+        if (!Files.exists(file)) return Optional.empty();
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new JRosClientException(e);
+        }
+        if (buffer.remaining() < HEADER_SIZE
+                || buffer.getInt() != LogFormat.INDEX_MAGIC
+                || buffer.getInt() != LogFormat.VERSION)
+            throw new JRosClientException("File %s is not a segment index", file);
+        var size = buffer.getInt();
+        if (buffer.remaining() != size * ENTRY_SIZE)
+            throw new JRosClientException("Segment index %s is corrupted", file);
+        var index = new SegmentIndex(Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            index.timestamps[i] = buffer.getLong();
+            index.offsets[i] = buffer.getInt();
+            buffer.getInt();
+            index.topicBits[i] = buffer.getLong();
+        }
+        index.size = size;
+        return Optional.of(index);
+    }
+}
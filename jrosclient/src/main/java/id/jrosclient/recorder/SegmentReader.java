@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import id.jrosclient.exceptions.JRosClientException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads records of the memory-mapped segment file. Not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+final class SegmentReader {
+
+    private final Path file;
+    private final ByteBuffer buffer;
+
+    /** Reused view of the data of the current record */
+    private final ByteBuffer data;
+
+    private int position = LogFormat.SEGMENT_HEADER_SIZE;
+    private int recordTopicId;
+    private long recordTimestamp;
+
+    SegmentReader(Path file) {
+        this.file = file;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // mapping stays valid after the channel is closed
+            buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new JRosClientException(e);
+        }
+        if (buffer.capacity() < LogFormat.SEGMENT_HEADER_SIZE
+                || buffer.getInt(LogFormat.HEADER_MAGIC_OFFSET) != LogFormat.MAGIC)
+            throw new JRosClientException("File %s is not a recording segment", file);
+        var version = buffer.getInt(LogFormat.HEADER_VERSION_OFFSET);
+        if (version != LogFormat.VERSION)
+            throw new JRosClientException("Segment %s has unsupported version %d", file, version);
+        data = buffer.asReadOnlyBuffer();
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /** Header values are up to date only for the segments which were flushed or closed */
+    long getRecordCount() {
+        return buffer.getLong(LogFormat.HEADER_RECORD_COUNT_OFFSET);
+    }
+
+    long getFirstTimestamp() {
+        return buffer.getLong(LogFormat.HEADER_FIRST_TIMESTAMP_OFFSET);
+    }
+
+    long getLastTimestamp() {
+        return buffer.getLong(LogFormat.HEADER_LAST_TIMESTAMP_OFFSET);
+    }
+
+    /** Move to the record at the given offset from the beginning of the segment */
+    void seek(int offset) {
+        position = offset;
+    }
+
+    /**
+     * Advance to the next record
+     *
+     * @return false if there is no more records
+     */
+    boolean next() {
+        if (buffer.capacity() - position < LogFormat.RECORD_HEADER_SIZE) return false;
+        var size = buffer.getInt(position + LogFormat.RECORD_SIZE_OFFSET);
+        if (size == 0) return false;
+        if (size < LogFormat.RECORD_HEADER_SIZE || size > buffer.capacity() - position)
+            throw new JRosClientException(
+                    "Segment %s has corrupted record at offset %d", file, position);
+        recordTopicId = buffer.getInt(position + LogFormat.RECORD_TOPIC_OFFSET);
+        recordTimestamp = buffer.getLong(position + LogFormat.RECORD_TIMESTAMP_OFFSET);
+        data.limit(position + size).position(position + LogFormat.RECORD_HEADER_SIZE);
+        position += LogFormat.align(size);
+        return true;
+    }
+
+    int getTopicId() {
+        return recordTopicId;
+    }
+
+    long getTimestamp() {
+        return recordTimestamp;
+    }
+
+    /** Data of the current record, it is valid until {@link #next()} is called */
+    ByteBuffer getData() {
+        return data;
+    }
+}
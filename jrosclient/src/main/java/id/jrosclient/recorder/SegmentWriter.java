@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import id.jrosclient.exceptions.JRosClientException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Appends records to the memory-mapped segment file.
+ *
+ * <p>Space for the record is reserved first, which is not thread safe, and then record is written
+ * into it. Writes of different records may run concurrently, so the expensive copying of the
+ * message bytes does not need to be serialized.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+final class SegmentWriter implements AutoCloseable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final BitSet topics = new BitSet();
+    private final SegmentIndex index = new SegmentIndex();
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private long recordCount;
+
+    /** Records which have space reserved but are not written yet */
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+
+    SegmentWriter(Path file, int size) {
+        this.file = file;
+        try {
+            channel =
+                    FileChannel.open(
+                            file,
+                            StandardOpenOption.CREATE_NEW,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE);
+            // mapping beyond the end of the file extends it with zeros, which also marks the end
+            // of the segment
+            buffer = channel.map(MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new JRosClientException(e);
+        }
+        buffer.putInt(LogFormat.HEADER_MAGIC_OFFSET, LogFormat.MAGIC);
+        buffer.putInt(LogFormat.HEADER_VERSION_OFFSET, LogFormat.VERSION);
+        buffer.position(LogFormat.SEGMENT_HEADER_SIZE);
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    boolean isEmpty() {
+        return recordCount == 0;
+    }
+
+    /**
+     * Reserve space for the record with the message of the given size. Each successful reservation
+     * must be followed by {@link #write(int, int, long, ByteBuffer)}.
+     *
+     * <p>Reservations must not be made concurrently.
+     *
+     * @return offset of the record or -1 if there is no space left in the segment
+     */
+    int reserve(int topicId, long timestamp, int dataSize) {
+        var start = buffer.position();
+        var size = LogFormat.RECORD_HEADER_SIZE + dataSize;
+        if (buffer.capacity() - start < size) return -1;
+        buffer.position(Math.min(buffer.capacity(), start + LogFormat.align(size)));
+        if (recordCount == 0) firstTimestamp = timestamp;
+        lastTimestamp = timestamp;
+        recordCount++;
+        topics.set(topicId);
+        index.onRecord(start, timestamp, topicId);
+        pendingWrites.incrementAndGet();
+        return start;
+    }
+
+    /**
+     * Write record into the space which was reserved for it. Records with different offsets can be
+     * written concurrently.
+     */
+    void write(int start, int topicId, long timestamp, ByteBuffer data) {
+        var size = LogFormat.RECORD_HEADER_SIZE + data.remaining();
+        buffer.put(start + LogFormat.RECORD_HEADER_SIZE, data, data.position(), data.remaining());
+        buffer.putInt(start + LogFormat.RECORD_TOPIC_OFFSET, topicId);
+        buffer.putLong(start + LogFormat.RECORD_TIMESTAMP_OFFSET, timestamp);
+        // size is written last, readers treat zero size as the end of the segment
+        buffer.putInt(start + LogFormat.RECORD_SIZE_OFFSET, size);
+        pendingWrites.decrementAndGet();
+    }
+
+    /** Write data to the disk */
+    void force() {
+        buffer.putLong(LogFormat.HEADER_FIRST_TIMESTAMP_OFFSET, firstTimestamp);
+        buffer.putLong(LogFormat.HEADER_LAST_TIMESTAMP_OFFSET, lastTimestamp);
+        buffer.putLong(LogFormat.HEADER_RECORD_COUNT_OFFSET, recordCount);
+        buffer.force();
+    }
+
+    /**
+     * Line of the {@link LogFormat#SEGMENTS_INDEX_FILE}: tab separated file name, first and last
+     * timestamps, number of records and comma separated ids of the topics
+     */
+    String toIndexLine() {
+        return String.format(
+                "%s\t%d\t%d\t%d\t%s%n",
+                file.getFileName(),
+                firstTimestamp,
+                lastTimestamp,
+                recordCount,
+                topics.stream().mapToObj(Integer::toString).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * Wait for the reserved records to be written, write the header and the index and truncate the
+     * file to the used length
+     */
+    @Override
+    public void close() {
+        // writes only copy the data which is already in memory
+        while (pendingWrites.get() != 0) Thread.onSpinWait();
+        force();
+        index.write(SegmentIndex.indexFile(file));
+        try {
+            // segment was extended to its full size when it was mapped
+            channel.truncate(buffer.position());
+            channel.close();
+        } catch (IOException e) {
+            throw new JRosClientException(e);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import id.jrosclient.JRosClient;
+import id.jrosclient.LazyMessage;
+import id.jrosclient.MessageCodec;
+import id.jrosclient.exceptions.JRosClientException;
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.Preconditions;
+import id.xfunction.XJson;
+import id.xfunction.logging.XLogger;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+
+/**
+ * Records messages of the topics to the directory on the disk.
+ *
+ * <p>Recorder subscribes to the topics through the {@link JRosClient} and appends their messages to
+ * the memory-mapped segment files. When segment is full new one is created. Messages which clients
+ * deliver in the serialized form (see {@link JRosClient#subscribeLazy(RosName, MessageDescriptor,
+ * Subscriber)}) are copied to the segment as is, others are encoded with the topic {@link
+ * MessageCodec} into the buffer of the topic and then copied.
+ *
+ * <p>Topics are recorded concurrently: recorder only reserves space for each message in the segment
+ * under the lock, and messages are copied into it by their topic subscribers. Messages which are
+ * larger than the segment are logged and counted as dropped (see {@link #getDroppedCount()}).
+ *
+ * <p>Each message is stamped with the time it was received. Recording can be read with {@link
+ * TopicReplayer}. Recorder can continue existing recording, in that case new segments are added
+ * after the existing ones. Closed segments are truncated to the size of their records.
+ *
+ * <pre>{@code
+ * try (var recorder = new TopicRecorder(client, Paths.get("/tmp/recording"))) {
+ *     recorder.record(new RosName("/scan"), descriptor, codec);
+ *     ...
+ * }
+ * }</pre>
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TopicRecorder implements AutoCloseable {
+    private final XLogger LOGGER = XLogger.getLogger(this);
+
+    /** Default size of the segment files */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final JRosClient client;
+    private final Path directory;
+    private final int segmentSize;
+    private final TopicTable topics;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /** Epoch time which corresponds to {@link #baseNanoTime} */
+    private final long baseEpochNanos;
+
+    private final long baseNanoTime;
+    private SegmentWriter segment;
+    private long nextSegmentOrdinal;
+
+    /** Timestamps are kept monotonic so that time index stays valid even if clock goes back */
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    private long recordedCount;
+    private long droppedCount;
+    private volatile boolean isClosed;
+
+    /** Recorder with {@link #DEFAULT_SEGMENT_SIZE} */
+    public TopicRecorder(JRosClient client, Path directory) {
+        this(client, directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param client client which is used to subscribe to the topics
+     * @param directory recording directory, it is created if it does not exist
+     * @param segmentSize size of each segment file, messages larger than segment cannot be recorded
+     */
+    public TopicRecorder(JRosClient client, Path directory, int segmentSize) {
+        Preconditions.isTrue(
+                segmentSize > LogFormat.SEGMENT_HEADER_SIZE + LogFormat.RECORD_HEADER_SIZE,
+                "Segment size is too small");
+        this.client = client;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new JRosClientException(e);
+        }
+        topics = TopicTable.load(directory);
+        var segments = LogFormat.listSegments(directory);
+        if (!segments.isEmpty()) {
+            var last = segments.get(segments.size() - 1);
+            nextSegmentOrdinal = LogFormat.segmentOrdinal(last) + 1;
+            lastTimestamp = new SegmentReader(last).getLastTimestamp();
+        }
+        baseEpochNanos = System.currentTimeMillis() * 1_000_000;
+        baseNanoTime = System.nanoTime();
+    }
+
+    /**
+     * Subscribe to the topic and start recording its messages
+     *
+     * @param codec used to encode messages which client delivers already decoded
+     */
+    public <M extends Message> void record(
+            RosName topic, MessageDescriptor<M> messageDescriptor, MessageCodec<M> codec)
+            throws JRosClientException {
+        Preconditions.isTrue(!isClosed, "Recorder is closed");
+        var topicId =
+                topics.register(topic.toGlobalName(), messageDescriptor.getMessageClass().getName())
+                        .id();
+        LOGGER.fine("Recording topic {0} with id {1}", topic, topicId);
+        client.subscribeLazy(
+                topic, messageDescriptor, new RecordingSubscriber<>(topic, topicId, codec));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /** Number of messages recorded by this recorder */
+    public synchronized long getRecordedCount() {
+        return recordedCount;
+    }
+
+    /** Number of messages which were not recorded because they do not fit into the segment */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /** Write all recorded messages to the disk */
+    public synchronized void flush() {
+        if (segment != null) segment.force();
+    }
+
+    /** Stop recording and close the current segment */
+    @Override
+    public void close() {
+        if (isClosed) return;
+        isClosed = true;
+        subscriptions.forEach(Subscription::cancel);
+        synchronized (this) {
+            if (segment != null) closeSegment();
+        }
+        LOGGER.fine("Recording closed: {0}", this);
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString(
+                "directory",
+                directory,
+                "segmentSize",
+                segmentSize,
+                "recordedCount",
+                recordedCount,
+                "droppedCount",
+                droppedCount);
+    }
+
+    private void append(RosName topic, int topicId, ByteBuffer data) {
+        SegmentWriter target = null;
+        var start = -1;
+        long timestamp;
+        // only reservation of the space is serialized between the topics
+        synchronized (this) {
+            if (isClosed) return;
+            timestamp =
+                    Math.max(lastTimestamp, baseEpochNanos + (System.nanoTime() - baseNanoTime));
+            lastTimestamp = timestamp;
+            for (int attempt = 0; attempt < 2; attempt++) {
+                if (segment == null) openSegment();
+                start = segment.reserve(topicId, timestamp, data.remaining());
+                if (start >= 0) {
+                    target = segment;
+                    recordedCount++;
+                    break;
+                }
+                if (segment.isEmpty()) break;
+                closeSegment();
+            }
+        }
+        if (target == null) {
+            onOversized(topic);
+            return;
+        }
+        // segment is not closed until all reserved records are written
+        target.write(start, topicId, timestamp, data);
+    }
+
+    private void onOversized(RosName topic) {
+        synchronized (this) {
+            droppedCount++;
+        }
+        LOGGER.warning(
+                "Message of topic {0} does not fit into the segment of size {1}, dropping it",
+                topic, segmentSize);
+    }
+
+    private void openSegment() {
+        var file = directory.resolve(LogFormat.segmentFileName(nextSegmentOrdinal++));
+        LOGGER.fine("Opening new segment {0}", file);
+        segment = new SegmentWriter(file, segmentSize);
+    }
+
+    private void closeSegment() {
+        segment.close();
+        try {
+            Files.writeString(
+                    directory.resolve(LogFormat.SEGMENTS_INDEX_FILE),
+                    segment.toIndexLine(),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new JRosClientException(e);
+        }
+        segment = null;
+    }
+
+    /**
+     * Subscriber of single topic. Messages which client delivers decoded are encoded into the
+     * buffer which is reused between the messages of the topic, since they are delivered one after
+     * another.
+     */
+    private class RecordingSubscriber<M extends Message> implements Subscriber<LazyMessage<M>> {
+        private static final int INITIAL_BUFFER_SIZE = 4096;
+        private final RosName topic;
+        private final int topicId;
+        private final MessageCodec<M> codec;
+        private ByteBuffer encodeBuffer;
+
+        RecordingSubscriber(RosName topic, int topicId, MessageCodec<M> codec) {
+            this.topic = topic;
+            this.topicId = topicId;
+            this.codec = codec;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscriptions.add(subscription);
+            if (isClosed) subscription.cancel();
+            else subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(LazyMessage<M> item) {
+            var data = item.getData().orElse(null);
+            if (data == null) data = encode(item.get());
+            if (data != null) append(topic, topicId, data);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            LOGGER.severe("Recording of topic " + topic + " failed", throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            LOGGER.fine("Topic {0} completed", topic);
+        }
+
+        /**
+         * @return null if message does not fit into the segment
+         */
+        private ByteBuffer encode(M message) {
+            var maxSize =
+                    segmentSize - LogFormat.SEGMENT_HEADER_SIZE - LogFormat.RECORD_HEADER_SIZE;
+            if (encodeBuffer == null)
+                encodeBuffer = ByteBuffer.allocate(Math.min(INITIAL_BUFFER_SIZE, maxSize));
+            while (true) {
+                encodeBuffer.clear();
+                try {
+                    codec.encode(message, encodeBuffer);
+                    return encodeBuffer.flip();
+                } catch (BufferOverflowException e) {
+                    if (encodeBuffer.capacity() >= maxSize) break;
+                    encodeBuffer =
+                            ByteBuffer.allocate(
+                                    (int) Math.min(2L * encodeBuffer.capacity(), maxSize));
+                }
+            }
+            onOversized(topic);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import id.jrosclient.JRosClient;
+import id.jrosclient.MessageDecoder;
+import id.jrosclient.OverflowPolicy;
+import id.jrosclient.PayloadArena;
+import id.jrosclient.TopicSubmissionPublisher;
+import id.jrosclient.exceptions.JRosClientException;
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.xfunction.XJson;
+import id.xfunction.logging.XLogger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Reads recording made by {@link TopicRecorder} and publishes its messages.
+ *
+ * <p>Messages are decoded directly from the memory-mapped segment files without copying them.
+ * Payloads of {@link id.jrosclient.PayloadMessage} messages are copied to the {@link PayloadArena}
+ * when it is available (see {@link #withPayloadArena(PayloadArena)}).
+ *
+ * <p>Besides replaying whole recording, replayer allows to query messages which were recorded
+ * within the given time range. Queries use sparse time and topic index of the segments to seek
+ * straight to the first matching message, so their cost does not depend on the size of the
+ * recording:
+ *
+ * <pre>{@code
+ * client.publish(topic, descriptor, replayer.query(topic, descriptor, codec, from, to));
+ * }</pre>
+ *
+ * <pre>{@code
+ * try (var replayer = new TopicReplayer(Paths.get("/tmp/recording"))) {
+ *     replayer.publish(client, new RosName("/scan"), descriptor, codec);
+ *     replayer.replay(ReplaySpeed.ORIGINAL);
+ * }
+ * }</pre>
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TopicReplayer implements AutoCloseable {
+    private final XLogger LOGGER = XLogger.getLogger(this);
+
+    private final Path directory;
+    private final TopicTable topics;
+    private final Map<Integer, RosName> topicNames = new HashMap<>();
+    private final Map<Integer, Sink<?>> sinks = new HashMap<>();
+    private volatile PayloadArena payloadArena;
+    private volatile boolean isStopped;
+
+    private record Sink<M extends Message>(
+            MessageDecoder<M> decoder,
+            TopicSubmissionPublisher<M> publisher,
+            PayloadArena payloadArena) {
+
+        void submit(ByteBuffer data) {
+            publisher.submit(
+                    payloadArena != null
+                            ? decoder.decode(data, payloadArena)
+                            : decoder.decode(data));
+        }
+    }
+
+    /**
+     * @param directory recording directory
+     * @throws JRosClientException if directory does not exist
+     */
+    public TopicReplayer(Path directory) {
+        if (!Files.isDirectory(directory))
+            throw new JRosClientException("Recording directory %s does not exist", directory);
+        this.directory = directory;
+        topics = TopicTable.load(directory);
+        for (var entry : topics.getEntries())
+            topicNames.put(entry.id(), new RosName(entry.topic()));
+    }
+
+    /** Topics which are present in the recording */
+    public List<RosName> getTopics() {
+        return topics.getEntries().stream()
+                .map(e -> topicNames.get(e.id()))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Arena for the payloads of the messages which are decoded after this call (see {@link
+     * MessageDecoder#decode(ByteBuffer, PayloadArena)}). Subscribers are responsible to release
+     * such payloads.
+     */
+    public TopicReplayer withPayloadArena(PayloadArena payloadArena) {
+        this.payloadArena = payloadArena;
+        return this;
+    }
+
+    /**
+     * Replay messages of the topic to the given publisher. Messages of the topics which were not
+     * added are skipped.
+     *
+     * @throws JRosClientException if topic with such message type is not present in the recording
+     */
+    public <M extends Message> TopicReplayer withTopic(
+            RosName topic, MessageDecoder<M> decoder, TopicSubmissionPublisher<M> publisher) {
+        return withTopic(topic, decoder, publisher, payloadArena);
+    }
+
+    /**
+     * Create publisher for the topic using given client and replay messages of the topic to it.
+     * Payloads of the messages are allocated in the arena of the client, if it has one (see {@link
+     * JRosClient#getPayloadArena()}).
+     *
+     * @return publisher which was created, it is owned by the user
+     */
+    public <M extends Message> TopicSubmissionPublisher<M> publish(
+            JRosClient client,
+            RosName topic,
+            MessageDescriptor<M> messageDescriptor,
+            MessageDecoder<M> decoder)
+            throws JRosClientException {
+        var publisher = client.publish(topic, messageDescriptor, OverflowPolicy.BLOCK);
+        withTopic(topic, decoder, publisher, client.getPayloadArena().orElse(payloadArena));
+        return publisher;
+    }
+
+    /**
+     * Publish recorded messages of all added topics in the order they were recorded. Blocks until
+     * all messages are published or until replay is stopped.
+     *
+     * @return number of published messages
+     */
+    public long replay(ReplaySpeed speed) {
+        Map<Integer, Sink<?>> sinks;
+        synchronized (this.sinks) {
+            sinks = Map.copyOf(this.sinks);
+        }
+        var count = new long[1];
+        scan(
+                new RecordingCursor(directory, -1, Long.MIN_VALUE, Long.MAX_VALUE),
+                speed,
+                sinks::containsKey,
+                reader -> {
+                    sinks.get(reader.getTopicId()).submit(reader.getData());
+                    count[0]++;
+                });
+        LOGGER.fine("Replayed {0} messages", count[0]);
+        return count[0];
+    }
+
+    /**
+     * Query messages of the topic which were recorded within the given time range. Each subscriber
+     * of the returned publisher receives all matching messages in the order they were recorded and
+     * then it is completed. Messages are read only when subscriber requests them.
+     *
+     * <p>Returned publisher can be published with {@link JRosClient#publish(RosName,
+     * MessageDescriptor, java.util.concurrent.Flow.Publisher)}.
+     *
+     * @param from inclusive
+     * @param to inclusive
+     * @throws JRosClientException if topic with such message type is not present in the recording
+     */
+    public <M extends Message> Publisher<M> query(
+            RosName topic,
+            MessageDescriptor<M> messageDescriptor,
+            MessageDecoder<M> decoder,
+            Instant from,
+            Instant to) {
+        return query(topic, messageDescriptor, decoder, from, to, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Version of {@link #query(RosName, MessageDescriptor, MessageDecoder, Instant, Instant)} where
+     * messages are read and delivered to the subscribers on the given executor
+     */
+    public <M extends Message> Publisher<M> query(
+            RosName topic,
+            MessageDescriptor<M> messageDescriptor,
+            MessageDecoder<M> decoder,
+            Instant from,
+            Instant to,
+            Executor executor) {
+        var entry = findTopic(topic, messageDescriptor.getMessageClass().getName());
+        return new QueryPublisher<>(
+                directory,
+                entry.id(),
+                LogFormat.toEpochNanos(from),
+                LogFormat.toEpochNanos(to),
+                decoder,
+                payloadArena,
+                executor);
+    }
+
+    /**
+     * Read all messages of the recording without decoding them and as fast as possible
+     *
+     * @return number of messages
+     */
+    public long forEach(Consumer<RecordedMessage> consumer) {
+        return forEach(Instant.MIN, Instant.MAX, consumer);
+    }
+
+    /**
+     * Read messages of all topics which were recorded within the given time range, without decoding
+     * them and as fast as possible
+     *
+     * @param from inclusive
+     * @param to inclusive
+     * @return number of messages
+     */
+    public long forEach(Instant from, Instant to, Consumer<RecordedMessage> consumer) {
+        var message = new RecordedMessage();
+        var count = new long[1];
+        scan(
+                new RecordingCursor(
+                        directory, -1, LogFormat.toEpochNanos(from), LogFormat.toEpochNanos(to)),
+                ReplaySpeed.MAXIMUM,
+                topicId -> true,
+                reader -> {
+                    var topicId = reader.getTopicId();
+                    message.set(
+                            topicNames.get(topicId),
+                            topics.get(topicId).map(TopicTable.Entry::messageClass).orElse(null),
+                            reader.getTimestamp(),
+                            reader.getData());
+                    consumer.accept(message);
+                    count[0]++;
+                });
+        return count[0];
+    }
+
+    /** Stop replay which is in progress */
+    public void stop() {
+        isStopped = true;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    @Override
+    public String toString() {
+        return XJson.asString("directory", directory);
+    }
+
+    private <M extends Message> TopicReplayer withTopic(
+            RosName topic,
+            MessageDecoder<M> decoder,
+            TopicSubmissionPublisher<M> publisher,
+            PayloadArena payloadArena) {
+        var entry = findTopic(topic, publisher.getMessageDescriptor().getMessageClass().getName());
+        synchronized (sinks) {
+            sinks.put(entry.id(), new Sink<>(decoder, publisher, payloadArena));
+        }
+        return this;
+    }
+
+    private TopicTable.Entry findTopic(RosName topic, String messageClass) {
+        return topics.find(topic.toGlobalName(), messageClass)
+                .orElseThrow(
+                        () ->
+                                new JRosClientException(
+                                        "Topic %s with messages %s is not present in the"
+                                                + " recording %s",
+                                        topic, messageClass, directory));
+    }
+
+    /**
+     * @param topicFilter records of the topics which are not accepted are skipped without waiting
+     *     for them
+     */
+    private void scan(
+            RecordingCursor cursor,
+            ReplaySpeed speed,
+            IntPredicate topicFilter,
+            Consumer<SegmentReader> handler) {
+        isStopped = false;
+        var factor = speed.getFactor();
+        var firstTimestamp = 0L;
+        var startNanos = 0L;
+        var isStarted = false;
+        while (cursor.next()) {
+            if (isStopped) return;
+            var reader = cursor.getReader();
+            if (!topicFilter.test(reader.getTopicId())) continue;
+            if (!speed.isMaximum()) {
+                var timestamp = reader.getTimestamp();
+                if (!isStarted) {
+                    firstTimestamp = timestamp;
+                    startNanos = System.nanoTime();
+                    isStarted = true;
+                }
+                var targetNanos = startNanos + (long) ((timestamp - firstTimestamp) / factor);
+                long delay;
+                while ((delay = targetNanos - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(delay);
+                    if (isStopped) return;
+                }
+            }
+            handler.accept(reader);
+        }
+    }
+}
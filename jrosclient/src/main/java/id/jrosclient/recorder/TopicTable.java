@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import id.jrosclient.exceptions.JRosClientException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Topics of the recording, stored in {@link LogFormat#TOPICS_FILE} one per line as tab separated
+ * id, topic name and message class.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+final class TopicTable {
+
+    record Entry(int id, String topic, String messageClass) {}
+
+    private final Path file;
+    private final Map<Integer, Entry> entries = new LinkedHashMap<>();
+
+    private TopicTable(Path file) {
+        this.file = file;
+    }
+
+    static TopicTable load(Path directory) {
+        var table = new TopicTable(directory.resolve(LogFormat.TOPICS_FILE));
+        if (!Files.exists(table.file)) return table;
+        try {
+            for (var line : Files.readAllLines(table.file)) {
+                if (line.isBlank()) continue;
+                var fields = line.split("\t");
+                if (fields.length != 3)
+                    throw new JRosClientException("Malformed line in %s: %s", table.file, line);
+                var entry = new Entry(Integer.parseInt(fields[0]), fields[1], fields[2]);
+                table.entries.put(entry.id(), entry);
+            }
+        } catch (IOException e) {
+            throw new JRosClientException(e);
+        }
+        return table;
+    }
+
+    synchronized Optional<Entry> find(String topic, String messageClass) {
+        return entries.values().stream()
+                .filter(e -> e.topic().equals(topic) && e.messageClass().equals(messageClass))
+                .findFirst();
+    }
+
+    /** Find existing topic or add new one */
+    synchronized Entry register(String topic, String messageClass) {
+        var existing = find(topic, messageClass);
+        if (existing.isPresent()) return existing.get();
+        var entry = new Entry(entries.size(), topic, messageClass);
+        try {
+            Files.writeString(
+                    file,
+                    String.format("%d\t%s\t%s%n", entry.id(), topic, messageClass),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new JRosClientException(e);
+        }
+        entries.put(entry.id(), entry);
+        return entry;
+    }
+
+    synchronized Optional<Entry> get(int id) {
+        return Optional.ofNullable(entries.get(id));
+    }
+
+    synchronized Collection<Entry> getEntries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+}
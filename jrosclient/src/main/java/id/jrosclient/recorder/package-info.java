@@ -0,0 +1,27 @@
+/*
+ * Copyright 2026 jrosclient project
+ *
+ * Website: https://github.com/lambdaprime/jrosclient
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Recording of the topics to the disk and their replay.
+ *
+ * <p>{@link id.jrosclient.recorder.TopicRecorder} subscribes to the topics through {@link
+ * id.jrosclient.JRosClient} and appends their messages to the memory-mapped segment files. {@link
+ * id.jrosclient.recorder.TopicReplayer} reads them back and publishes to the topics.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+package id.jrosclient.recorder;
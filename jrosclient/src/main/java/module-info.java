@@ -35,4 +35,5 @@ module jrosclient {
     exports id.jrosclient;
     exports id.jrosclient.metrics;
     exports id.jrosclient.exceptions;
+    exports id.jrosclient.recorder;
 }
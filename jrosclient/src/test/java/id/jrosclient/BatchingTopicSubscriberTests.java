@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jroscommon.RosName;
+import id.jrosmessages.MessageDescriptor;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class BatchingTopicSubscriberTests {
+
+    private static final MessageDescriptor<StringMessage> DESCRIPTOR =
+            new MessageDescriptor<>(StringMessage.class);
+
+    private static class CollectingSubscriber extends BatchingTopicSubscriber<StringMessage> {
+        List<List<String>> batches = new ArrayList<>();
+        CompletableFuture<Void> firstBatch = new CompletableFuture<>();
+
+        CollectingSubscriber(String topic, int maxBatchSize, Duration maxBatchDelay) {
+            super(DESCRIPTOR, new RosName(topic), maxBatchSize, maxBatchDelay);
+        }
+
+        @Override
+        public void onNextBatch(List<StringMessage> batch) {
+            batches.add(batch.stream().map(m -> m.data).collect(Collectors.toList()));
+            firstBatch.complete(null);
+        }
+    }
+
+    private TopicSubmissionPublisher<StringMessage> newSyncPublisher(String topic) {
+        return new TopicSubmissionPublisher<>(
+                DESCRIPTOR, new RosName(topic), Runnable::run, 4, OverflowPolicy.BLOCK);
+    }
+
+    @Test
+    public void test_batches_of_max_size() {
+        var publisher = newSyncPublisher("/batching1");
+        var subscriber = new CollectingSubscriber("/batching1", 3, Duration.ofMinutes(1));
+        publisher.subscribe(subscriber);
+        for (int i = 0; i < 7; i++) publisher.submit(new StringMessage().withData("" + i));
+        Assertions.assertEquals(
+                List.of(List.of("0", "1", "2"), List.of("3", "4", "5")), subscriber.batches);
+        // pending batch is delivered on completion
+        publisher.close();
+        Assertions.assertEquals(
+                List.of(List.of("0", "1", "2"), List.of("3", "4", "5"), List.of("6")),
+                subscriber.batches);
+    }
+
+    @Test
+    public void test_batch_is_delivered_after_max_delay() throws Exception {
+        var publisher = newSyncPublisher("/batching2");
+        var subscriber = new CollectingSubscriber("/batching2", 10, Duration.ofMillis(50));
+        publisher.subscribe(subscriber);
+        var startAt = System.nanoTime();
+        publisher.submit(new StringMessage().withData("0"));
+        publisher.submit(new StringMessage().withData("1"));
+        subscriber.firstBatch.get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - startAt).toMillis() >= 50);
+        Assertions.assertEquals(List.of(List.of("0", "1")), subscriber.batches);
+        publisher.close();
+        Assertions.assertEquals(1, subscriber.batches.size());
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class BlockingCallsExecutorTests {
+
+    @Test
+    public void test_number_of_threads_is_bounded() throws Exception {
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var tasks = new CompletableFuture<?>[BlockingCallsExecutor.MAX_THREADS * 3];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] =
+                    CompletableFuture.runAsync(
+                            () -> {
+                                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                try {
+                                    Thread.sleep(10);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                                running.decrementAndGet();
+                            },
+                            BlockingCallsExecutor.get());
+        }
+        CompletableFuture.allOf(tasks).get(10, TimeUnit.SECONDS);
+        if (!ExecutionMode.isVirtualThreadsSupported())
+            Assertions.assertTrue(maxRunning.get() <= BlockingCallsExecutor.MAX_THREADS);
+        Assertions.assertTrue(maxRunning.get() > 1, "Blocking calls should run concurrently");
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ExecutionModeTests {
+
+    @Test
+    public void test_fork_join_pool() {
+        Assertions.assertSame(
+                ForkJoinPool.commonPool(), ExecutionMode.FORK_JOIN_POOL.newExecutor("test"));
+    }
+
+    @Test
+    public void test_virtual_threads() throws Exception {
+        if (!ExecutionMode.isVirtualThreadsSupported()) {
+            Assertions.assertThrows(
+                    JRosClientException.class,
+                    () -> ExecutionMode.VIRTUAL_THREADS.newExecutor("test"));
+            return;
+        }
+        var executor = ExecutionMode.VIRTUAL_THREADS.newExecutor("test");
+        var threadName = new CompletableFuture<String>();
+        executor.execute(() -> threadName.complete(Thread.currentThread().getName()));
+        Assertions.assertTrue(threadName.get(5, TimeUnit.SECONDS).startsWith("test-"));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jroscommon.RosName;
+import id.jrosmessages.MessageDescriptor;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class FanOutJRosClientTests {
+
+    private static final MessageDescriptor<StringMessage> DESCRIPTOR =
+            new MessageDescriptor<>(StringMessage.class);
+
+    private static class CollectingSubscriber implements Subscriber<StringMessage> {
+        List<String> messages = new CopyOnWriteArrayList<>();
+        CountDownLatch received;
+        CountDownLatch completed = new CountDownLatch(1);
+        volatile Subscription subscription;
+
+        CollectingSubscriber(int count) {
+            received = new CountDownLatch(count);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(StringMessage item) {
+            messages.add(item.data);
+            received.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {}
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+
+    @Test
+    public void test_subscribers_share_subscription() throws Exception {
+        var topic = new RosName("/fanout1");
+        try (var client = new LoopbackJRosClient();
+                var fanOutClient = new FanOutJRosClient(client)) {
+            var publisher = client.publish(topic, DESCRIPTOR, OverflowPolicy.BLOCK);
+            var subscribers = List.of(new CollectingSubscriber(10), new CollectingSubscriber(10));
+            for (var subscriber : subscribers)
+                fanOutClient.subscribe(topic, DESCRIPTOR, subscriber);
+            Assertions.assertEquals(1, publisher.getNumberOfSubscribers());
+            awaitSubscribed(subscribers);
+            for (int i = 0; i < 10; i++) publisher.submit(new StringMessage().withData("" + i));
+            for (var subscriber : subscribers) {
+                Assertions.assertTrue(subscriber.received.await(10, TimeUnit.SECONDS));
+                Assertions.assertEquals(
+                        List.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9"),
+                        subscriber.messages);
+            }
+        }
+    }
+
+    @Test
+    public void test_last_cancelled_subscriber_cancels_shared_subscription() throws Exception {
+        var topic = new RosName("/fanout2");
+        try (var client = new LoopbackJRosClient();
+                var fanOutClient = new FanOutJRosClient(client)) {
+            var publisher = client.publish(topic, DESCRIPTOR, OverflowPolicy.BLOCK);
+            var subscribers = List.of(new CollectingSubscriber(1), new CollectingSubscriber(1));
+            for (var subscriber : subscribers)
+                fanOutClient.subscribe(topic, DESCRIPTOR, subscriber);
+            awaitSubscribed(subscribers);
+            subscribers.get(0).subscription.cancel();
+            Assertions.assertEquals(1, publisher.getNumberOfSubscribers());
+            subscribers.get(1).subscription.cancel();
+            awaitNoSubscribers(publisher);
+            // new subscriber creates new shared subscription
+            var subscriber = new CollectingSubscriber(1);
+            fanOutClient.subscribe(topic, DESCRIPTOR, subscriber);
+            awaitSubscribed(List.of(subscriber));
+            Assertions.assertEquals(1, publisher.getNumberOfSubscribers());
+            publisher.submit(new StringMessage().withData("a"));
+            Assertions.assertTrue(subscriber.received.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void test_subscriber_which_cancels_on_subscribe() throws Exception {
+        var topic = new RosName("/fanout3");
+        try (var client = new LoopbackJRosClient();
+                var fanOutClient = new FanOutJRosClient(client)) {
+            var publisher = client.publish(topic, DESCRIPTOR, OverflowPolicy.BLOCK);
+            var subscriber =
+                    new CollectingSubscriber(1) {
+                        @Override
+                        public void onSubscribe(Subscription subscription) {
+                            this.subscription = subscription;
+                            subscription.cancel();
+                        }
+                    };
+            fanOutClient.subscribe(topic, DESCRIPTOR, subscriber);
+            awaitSubscribed(List.of(subscriber));
+            awaitNoSubscribers(publisher);
+        }
+    }
+
+    private static void awaitSubscribed(List<CollectingSubscriber> subscribers)
+            throws InterruptedException {
+        for (var subscriber : subscribers) {
+            while (subscriber.subscription == null) Thread.sleep(1);
+        }
+    }
+
+    private static void awaitNoSubscribers(TopicSubmissionPublisher<?> publisher)
+            throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (publisher.getNumberOfSubscribers() != 0) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "Shared subscription is active");
+            Thread.sleep(1);
+        }
+    }
+}
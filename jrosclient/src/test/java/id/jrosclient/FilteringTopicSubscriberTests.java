@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosmessages.std_msgs.StringMessage;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link FilteringTopicSubscriber} decorators
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class FilteringTopicSubscriberTests {
+
+    private static class UpstreamSubscription implements Subscription {
+        AtomicLong requested = new AtomicLong();
+        volatile boolean isCancelled;
+
+        @Override
+        public void request(long n) {
+            requested.addAndGet(n);
+        }
+
+        @Override
+        public void cancel() {
+            isCancelled = true;
+        }
+
+        void awaitRequested(long n) throws InterruptedException {
+            var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (requested.get() < n) {
+                Assertions.assertTrue(System.nanoTime() < deadline, "Request did not arrive");
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static class CollectingSubscriber extends TopicSubscriber<StringMessage> {
+        List<String> messages = new CopyOnWriteArrayList<>();
+        volatile boolean isCompleted;
+
+        CollectingSubscriber(String topic, int initialRequest) {
+            super(StringMessage.class, topic);
+            withInitialRequest(initialRequest);
+        }
+
+        @Override
+        public void onNext(StringMessage item) {
+            super.onNext(item);
+            messages.add(item.data);
+        }
+
+        @Override
+        public void onComplete() {
+            super.onComplete();
+            isCompleted = true;
+        }
+    }
+
+    private static void submit(TopicSubscriber<StringMessage> subscriber, int from, int to) {
+        for (int i = from; i < to; i++) subscriber.onNext(new StringMessage().withData("" + i));
+    }
+
+    @Test
+    public void test_decimating() {
+        var downstream = new CollectingSubscriber("/filtering1", 2);
+        var subscriber = new DecimatingTopicSubscriber<>(downstream, 3);
+        var upstream = new UpstreamSubscription();
+        subscriber.onSubscribe(upstream);
+        Assertions.assertEquals(6, upstream.requested.get());
+        submit(subscriber, 0, 6);
+        Assertions.assertEquals(List.of("0", "3"), downstream.messages);
+        // no demand, decimation phase still follows the topic
+        submit(subscriber, 6, 7);
+        downstream.getSubscription().orElseThrow().request(1);
+        Assertions.assertEquals(9, upstream.requested.get());
+        submit(subscriber, 7, 10);
+        Assertions.assertEquals(List.of("0", "3", "9"), downstream.messages);
+        subscriber.onComplete();
+        Assertions.assertTrue(downstream.isCompleted);
+    }
+
+    @Test
+    public void test_rate_limited() throws Exception {
+        var downstream = new CollectingSubscriber("/filtering2", 10);
+        var subscriber = new RateLimitedTopicSubscriber<>(downstream, Duration.ofMillis(100));
+        var upstream = new UpstreamSubscription();
+        var startAt = System.nanoTime();
+        subscriber.onSubscribe(upstream);
+        Assertions.assertEquals(1, upstream.requested.get());
+        submit(subscriber, 0, 1);
+        // messages which were not requested
+        submit(subscriber, 1, 3);
+        Assertions.assertEquals(List.of("0"), downstream.messages);
+        upstream.awaitRequested(2);
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - startAt).toMillis() >= 100);
+        submit(subscriber, 3, 4);
+        Assertions.assertEquals(List.of("0", "3"), downstream.messages);
+        downstream.getSubscription().orElseThrow().cancel();
+        Assertions.assertTrue(upstream.isCancelled);
+    }
+
+    @Test
+    public void test_sampling() throws Exception {
+        var downstream = new CollectingSubscriber("/filtering3", 10);
+        var subscriber = new SamplingTopicSubscriber<>(downstream, Duration.ofMillis(200));
+        var upstream = new UpstreamSubscription();
+        subscriber.onSubscribe(upstream);
+        // messages are requested only at the start of each window
+        Assertions.assertEquals(0, upstream.requested.get());
+        submit(subscriber, 0, 1);
+        upstream.awaitRequested(1);
+        submit(subscriber, 1, 3);
+        Assertions.assertEquals(List.of("1"), downstream.messages);
+        upstream.awaitRequested(2);
+        submit(subscriber, 3, 4);
+        Assertions.assertEquals(List.of("1", "3"), downstream.messages);
+        downstream.getSubscription().orElseThrow().cancel();
+        Assertions.assertTrue(upstream.isCancelled);
+        // timer is stopped
+        Thread.sleep(500);
+        Assertions.assertEquals(2, upstream.requested.get());
+    }
+}
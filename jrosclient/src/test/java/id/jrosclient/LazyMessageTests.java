@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import id.jroscommon.RosName;
+import id.jrosmessages.MessageDescriptor;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class LazyMessageTests {
+
+    private static final MessageDescriptor<StringMessage> DESCRIPTOR =
+            new MessageDescriptor<>(StringMessage.class);
+
+    private static class CountingCodec extends StringMessageCodec {
+        int decodeCount;
+
+        @Override
+        public StringMessage decode(ByteBuffer data) {
+            decodeCount++;
+            return super.decode(data);
+        }
+    }
+
+    /** Codec which decodes the only field without creating the message */
+    private static class FieldCodec extends CountingCodec {
+        @Override
+        public Object decodeField(ByteBuffer data, String fieldName) {
+            if (!fieldName.equals("data")) return super.decodeField(data, fieldName);
+            var bytes = new byte[data.getInt()];
+            data.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static ByteBuffer encode(String data) {
+        var buffer = ByteBuffer.allocate(100);
+        new StringMessageCodec().encode(new StringMessage().withData(data), buffer);
+        return buffer.flip();
+    }
+
+    @Test
+    public void test_message_is_decoded_once() {
+        var codec = new CountingCodec();
+        var data = encode("hello");
+        var message = LazyMessage.of(DESCRIPTOR, data, codec);
+        Assertions.assertFalse(message.isDecoded());
+        Assertions.assertEquals(0, codec.decodeCount);
+        Assertions.assertEquals("hello", message.get().data);
+        Assertions.assertTrue(message.isDecoded());
+        Assertions.assertSame(message.get(), message.get());
+        Assertions.assertEquals(1, codec.decodeCount);
+        // buffer of the caller is not changed
+        Assertions.assertEquals(0, data.position());
+        Assertions.assertEquals(data, message.getData().orElseThrow());
+    }
+
+    @Test
+    public void test_field_with_default_decoder() {
+        var codec = new CountingCodec();
+        var message = LazyMessage.of(DESCRIPTOR, encode("hello"), codec);
+        Assertions.assertEquals("hello", message.getField("data", String.class));
+        Assertions.assertTrue(message.isDecoded());
+        Assertions.assertEquals("hello", message.getField("data", String.class));
+        Assertions.assertEquals(1, codec.decodeCount);
+    }
+
+    @Test
+    public void test_field_with_field_decoder() {
+        var codec = new FieldCodec();
+        var message = LazyMessage.of(DESCRIPTOR, encode("hello"), codec);
+        Assertions.assertEquals("hello", message.getField("data", String.class));
+        Assertions.assertEquals("hello", message.getField("data", Object.class));
+        Assertions.assertFalse(message.isDecoded());
+        Assertions.assertEquals(0, codec.decodeCount);
+    }
+
+    @Test
+    public void test_invalid_field() {
+        var message = LazyMessage.of(DESCRIPTOR, encode("hello"), new CountingCodec());
+        Assertions.assertThrows(
+                JRosClientException.class, () -> message.getField("data", Integer.class));
+        Assertions.assertThrows(
+                JRosClientException.class, () -> message.getField("unknown", String.class));
+    }
+
+    @Test
+    public void test_decoded_message() {
+        var decoded = new StringMessage().withData("hello");
+        var message = LazyMessage.ofMessage(DESCRIPTOR, decoded);
+        Assertions.assertTrue(message.isDecoded());
+        Assertions.assertTrue(message.getData().isEmpty());
+        Assertions.assertSame(decoded, message.get());
+        Assertions.assertEquals("hello", message.getField("data", String.class));
+    }
+
+    @Test
+    public void test_subscribe_lazy_to_client_without_lazy_decoding() throws Exception {
+        var topic = new RosName("/lazy1");
+        var received = new CompletableFuture<LazyMessage<StringMessage>>();
+        try (var client = new LoopbackJRosClient()) {
+            var publisher = client.publish(topic, DESCRIPTOR, OverflowPolicy.BLOCK);
+            client.subscribeLazy(
+                    topic,
+                    DESCRIPTOR,
+                    new Subscriber<>() {
+                        @Override
+                        public void onSubscribe(Subscription subscription) {
+                            subscription.request(1);
+                        }
+
+                        @Override
+                        public void onNext(LazyMessage<StringMessage> item) {
+                            received.complete(item);
+                        }
+
+                        @Override
+                        public void onError(Throwable throwable) {}
+
+                        @Override
+                        public void onComplete() {}
+                    });
+            publisher.submit(new StringMessage().withData("hello"));
+            var message = received.get(5, TimeUnit.SECONDS);
+            Assertions.assertTrue(message.isDecoded());
+            Assertions.assertEquals("hello", message.get().data);
+        }
+    }
+}
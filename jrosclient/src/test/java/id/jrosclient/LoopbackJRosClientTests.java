@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import id.jroscommon.RosName;
+import id.jrosmessages.MessageDescriptor;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class LoopbackJRosClientTests {
+
+    private static final MessageDescriptor<StringMessage> DESCRIPTOR =
+            new MessageDescriptor<>(StringMessage.class);
+
+    private static class CollectingSubscriber implements Subscriber<StringMessage> {
+        List<StringMessage> messages = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(StringMessage item) {
+            messages.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed.complete(null);
+        }
+    }
+
+    @Test
+    public void test_local_subscriber_receives_same_messages() throws Exception {
+        var topic = new RosName("/loopback1");
+        var subscriber = new CollectingSubscriber();
+        var message = new StringMessage().withData("hello");
+        try (var client = new LoopbackJRosClient()) {
+            var publisher = client.publish(topic, DESCRIPTOR, OverflowPolicy.BLOCK);
+            Assertions.assertTrue(client.hasPublisher(topic));
+            client.subscribe(topic, DESCRIPTOR, subscriber);
+            publisher.submit(message);
+        }
+        subscriber.completed.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(1, subscriber.messages.size());
+        Assertions.assertSame(message, subscriber.messages.get(0));
+    }
+
+    @Test
+    public void test_subscriber_waits_for_publisher() throws Exception {
+        var topic = new RosName("/loopback2");
+        var subscriber = new CollectingSubscriber();
+        try (var client = new LoopbackJRosClient()) {
+            client.subscribe(topic, DESCRIPTOR, subscriber);
+            Assertions.assertFalse(client.hasPublisher(topic));
+            var publisher = client.publish(topic, DESCRIPTOR, OverflowPolicy.BLOCK);
+            Assertions.assertEquals(1, publisher.getNumberOfSubscribers());
+            publisher.submit(new StringMessage().withData("hello"));
+        }
+        subscriber.completed.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals("hello", subscriber.messages.get(0).data);
+    }
+
+    @Test
+    public void test_topic_can_have_only_one_local_publisher() {
+        var topic = new RosName("/loopback3");
+        try (var client = new LoopbackJRosClient()) {
+            client.publish(topic, DESCRIPTOR, OverflowPolicy.BLOCK);
+            Assertions.assertThrows(
+                    JRosClientException.class,
+                    () -> client.publish(topic, DESCRIPTOR, OverflowPolicy.BLOCK));
+            client.unpublish(topic, DESCRIPTOR);
+            Assertions.assertFalse(client.hasPublisher(topic));
+            client.publish(topic, DESCRIPTOR, OverflowPolicy.BLOCK);
+        }
+    }
+
+    @Test
+    public void test_subscriber_without_local_publisher_uses_decorated_client() throws Exception {
+        var topic = new RosName("/loopback4");
+        var subscriber = new CollectingSubscriber();
+        try (var remoteClient = new LoopbackJRosClient();
+                var client = new LoopbackJRosClient(remoteClient)) {
+            var publisher = remoteClient.publish(topic, DESCRIPTOR, OverflowPolicy.BLOCK);
+            Assertions.assertTrue(client.hasPublisher(topic));
+            client.subscribe(topic, DESCRIPTOR, subscriber);
+            Assertions.assertEquals(1, publisher.getNumberOfSubscribers());
+            publisher.submit(new StringMessage().withData("hello"));
+        }
+        subscriber.completed.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals("hello", subscriber.messages.get(0).data);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jroscommon.RosName;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MemoryBudgetTests {
+
+    @Test
+    public void test_topic_borrows_while_budget_is_not_exhausted() {
+        var budget = new MemoryBudget(100);
+        var a = budget.register(new RosName("/a"));
+        budget.register(new RosName("/b"));
+        Assertions.assertEquals(50, budget.getFairShareMessages());
+        for (int i = 0; i < 100; i++) Assertions.assertTrue(budget.tryAcquire(a, 0, 1));
+        Assertions.assertFalse(budget.tryAcquire(a, 0, 1));
+        Assertions.assertEquals(100, a.getMessages());
+        Assertions.assertEquals(100, budget.getUsedMessages());
+    }
+
+    @Test
+    public void test_topic_can_always_use_its_fair_share() {
+        var budget = new MemoryBudget(100);
+        var a = budget.register(new RosName("/a"));
+        var b = budget.register(new RosName("/b"));
+        for (int i = 0; i < 100; i++) budget.tryAcquire(a, 0, 1);
+        // budget is exhausted by the other topic
+        for (int i = 0; i < 50; i++) Assertions.assertTrue(budget.tryAcquire(b, 0, 1));
+        Assertions.assertFalse(budget.tryAcquire(b, 0, 1));
+        Assertions.assertEquals(150, budget.getUsedMessages());
+        // topic which is over its share cannot borrow until it goes under its share
+        budget.release(a, 0, 40);
+        Assertions.assertFalse(budget.tryAcquire(a, 0, 1));
+        budget.release(a, 0, 20);
+        Assertions.assertTrue(budget.tryAcquire(a, 0, 1));
+        Assertions.assertEquals(41, a.getMessages());
+        Assertions.assertEquals(50, b.getMessages());
+    }
+
+    @Test
+    public void test_fair_share_changes_with_number_of_topics() {
+        var budget = new MemoryBudget(100);
+        var a = budget.register(new RosName("/a"));
+        Assertions.assertEquals(100, budget.getFairShareMessages());
+        // publishers of the same topic share one account
+        Assertions.assertSame(a, budget.register(new RosName("/a")));
+        var b = budget.register(new RosName("/b"));
+        Assertions.assertEquals(50, budget.getFairShareMessages());
+        budget.unregister(b);
+        Assertions.assertEquals(100, budget.getFairShareMessages());
+        budget.unregister(a);
+        Assertions.assertTrue(budget.getAccount(new RosName("/a")).isPresent());
+        budget.unregister(a);
+        Assertions.assertTrue(budget.getAccount(new RosName("/a")).isEmpty());
+    }
+
+    @Test
+    public void test_bytes() {
+        var budget = new MemoryBudget(1000, Long.MAX_VALUE, m -> 100);
+        var a = budget.register(new RosName("/a"));
+        Assertions.assertTrue(budget.tryAcquire(a, 600, 1));
+        Assertions.assertFalse(budget.tryAcquire(a, 600, 1));
+        Assertions.assertTrue(budget.tryAcquire(a, 400, 1));
+        Assertions.assertEquals(1000, budget.getUsedBytes());
+        budget.release(a, 1000, 2);
+        Assertions.assertEquals(0, a.getBytes());
+    }
+
+    @Test
+    public void test_acquire_timeout() {
+        var budget = new MemoryBudget(1);
+        var a = budget.register(new RosName("/a"));
+        Assertions.assertTrue(budget.acquire(a, 0, 1, -1));
+        Assertions.assertFalse(budget.acquire(a, 0, 1, TimeUnit.MILLISECONDS.toNanos(50)));
+    }
+
+    @Test
+    public void test_concurrent_borrowing_does_not_exceed_budget() throws Exception {
+        var budget = new MemoryBudget(100);
+        var a = budget.register(new RosName("/a"));
+        var b = budget.register(new RosName("/b"));
+        for (int i = 0; i < 50; i++) {
+            budget.tryAcquire(a, 0, 1);
+            budget.tryAcquire(b, 0, 1);
+        }
+        budget.release(b, 0, 10);
+        var executor = Executors.newFixedThreadPool(4);
+        var start = new CountDownLatch(1);
+        var maxUsed = new AtomicLong();
+        for (int t = 0; t < 4; t++) {
+            executor.submit(
+                    () -> {
+                        start.await();
+                        for (int i = 0; i < 10_000; i++) {
+                            if (!budget.tryAcquire(a, 0, 1)) continue;
+                            maxUsed.accumulateAndGet(budget.getUsedMessages(), Math::max);
+                            budget.release(a, 0, 1);
+                        }
+                        return null;
+                    });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        Assertions.assertTrue(maxUsed.get() <= 100, "Budget exceeded: " + maxUsed);
+        Assertions.assertEquals(90, budget.getUsedMessages());
+    }
+}
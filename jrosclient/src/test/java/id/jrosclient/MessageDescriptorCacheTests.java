@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import id.jrosmessages.Message;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MessageDescriptorCache} and {@link MessageMetadata}
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MessageDescriptorCacheTests {
+
+    public static class PointMessage implements Message {
+        public static final int DIMENSIONS = 3;
+        public double x, y, z;
+        int ignored;
+    }
+
+    public static class StampedPointMessage extends PointMessage {
+        public int stamp;
+        public PointMessage previous;
+    }
+
+    public static class TreeMessage implements Message {
+        public TreeMessage child;
+
+        public TreeMessage(TreeMessage child) {
+            this.child = child;
+        }
+    }
+
+    private static List<String> fieldNames(MessageMetadata<?> metadata) {
+        return metadata.getFields().stream().map(Field::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void test_metadata() {
+        var cache = new MessageDescriptorCache();
+        var metadata = cache.getMetadata(StampedPointMessage.class);
+        Assertions.assertSame(metadata, cache.getMetadata(StampedPointMessage.class));
+        Assertions.assertSame(
+                metadata.getMessageDescriptor(),
+                cache.getMessageDescriptor(StampedPointMessage.class));
+        Assertions.assertEquals(List.of("x", "y", "z", "stamp", "previous"), fieldNames(metadata));
+        Assertions.assertTrue(metadata.getField("stamp").isPresent());
+        Assertions.assertTrue(metadata.getField("ignored").isEmpty());
+        Assertions.assertEquals(OptionalInt.of(3 * 8 + 4 + 3 * 8), metadata.getFixedSize());
+        Assertions.assertInstanceOf(StampedPointMessage.class, metadata.newMessage());
+    }
+
+    @Test
+    public void test_messages_without_fixed_size() {
+        var cache = new MessageDescriptorCache();
+        Assertions.assertEquals(
+                OptionalInt.empty(), cache.getMetadata(StringMessage.class).getFixedSize());
+        Assertions.assertEquals(
+                OptionalInt.empty(), cache.getMetadata(TreeMessage.class).getFixedSize());
+        Assertions.assertThrows(
+                JRosClientException.class, () -> cache.getMetadata(TreeMessage.class).newMessage());
+    }
+
+    @Test
+    public void test_codec() {
+        var cache = new MessageDescriptorCache();
+        Assertions.assertTrue(cache.getCodec(StringMessage.class).isEmpty());
+        var codec = new StringMessageCodec();
+        cache.registerCodec(StringMessage.class, codec);
+        Assertions.assertSame(codec, cache.getCodec(StringMessage.class).orElseThrow());
+    }
+
+    @Test
+    public void test_topic_names() {
+        var cache = new MessageDescriptorCache();
+        var name = cache.getTopicName("/cache1");
+        Assertions.assertEquals("/cache1", name.toGlobalName());
+        Assertions.assertSame(name, cache.getTopicName("/cache1"));
+        // cache stays bounded
+        for (int i = 0; i < 2 * MessageDescriptorCache.MAX_TOPIC_NAMES; i++)
+            cache.getTopicName("/cache" + i);
+        Assertions.assertEquals("/cache1", cache.getTopicName("/cache1").toGlobalName());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MessagePoolTests {
+
+    /** Pools are per message type, each test uses its own type to start with empty pool */
+    public static class Message1 implements Message {}
+
+    public static class Message2 implements Message {}
+
+    public static class Message3 implements Message {}
+
+    public static class Message4 implements Message {}
+
+    public static class Message5 implements Message {
+        public int data;
+    }
+
+    @Test
+    public void test_message_returns_to_pool_when_released() {
+        var pool = MessagePool.forDescriptor(new MessageDescriptor<>(Message1.class), 2);
+        var message = pool.lease();
+        Assertions.assertTrue(pool.isPooled(message));
+        pool.retain(message);
+        pool.release(message);
+        // still used by whoever retained it
+        Assertions.assertNotSame(message, pool.lease());
+        pool.release(message);
+        Assertions.assertSame(message, pool.lease());
+        pool.release(message);
+    }
+
+    @Test
+    public void test_pool_exhausted() {
+        var pool = MessagePool.forDescriptor(new MessageDescriptor<>(Message2.class), 4);
+        Assertions.assertEquals(4, pool.getCapacity());
+        var leased = Collections.newSetFromMap(new IdentityHashMap<Message2, Boolean>());
+        for (int i = 0; i < 4; i++) leased.add(pool.lease());
+        Assertions.assertEquals(4, leased.size());
+        var message = pool.lease();
+        Assertions.assertFalse(leased.contains(message));
+        Assertions.assertFalse(pool.isPooled(message));
+        // messages which are not from the pool are ignored
+        pool.release(message);
+    }
+
+    @Test
+    public void test_release_more_than_retained() {
+        var pool = MessagePool.forDescriptor(new MessageDescriptor<>(Message3.class), 1);
+        var message = pool.lease();
+        pool.release(message);
+        Assertions.assertThrows(JRosClientException.class, () -> pool.release(message));
+        // reference count is not corrupted
+        Assertions.assertSame(message, pool.lease());
+    }
+
+    @Test
+    public void test_publisher_releases_message_after_all_subscribers() throws Exception {
+        var pool = MessagePool.forDescriptor(new MessageDescriptor<>(Message4.class), 2);
+        var publisher = new TopicSubmissionPublisher<>(Message4.class, "/pool1");
+        var kept = new ArrayList<Message4>();
+        var subscriber1 =
+                new TopicSubscriber<>(Message4.class, "/pool1") {
+                    @Override
+                    public void onNext(Message4 item) {
+                        retain(item);
+                        kept.add(item);
+                        super.onNext(item);
+                    }
+                };
+        var subscriber2 = new TopicSubscriber<>(Message4.class, "/pool1") {};
+        publisher.subscribe(subscriber1);
+        publisher.subscribe(subscriber2);
+        var message = publisher.lease();
+        Assertions.assertTrue(pool.isPooled(message));
+        publisher.submit(message);
+        publisher.close();
+        Assertions.assertSame(message, kept.get(0));
+        // subscriber1 still holds the message
+        var other = pool.lease();
+        Assertions.assertNotSame(message, other);
+        pool.release(other);
+        subscriber1.release(message);
+        Assertions.assertSame(message, pool.lease());
+        pool.release(message);
+    }
+
+    @Test
+    public void test_drop_oldest_does_not_release_message_which_is_delivered() {
+        var descriptor = new MessageDescriptor<>(Message5.class);
+        var pool = MessagePool.forDescriptor(descriptor, 16);
+        var executor = Executors.newFixedThreadPool(4);
+        var publisher =
+                new TopicSubmissionPublisher<>(
+                        descriptor, new RosName("/pool2"), executor, 4, OverflowPolicy.DROP_OLDEST);
+        var received = new AtomicInteger();
+        var corrupted = new AtomicInteger();
+        var subscriber =
+                new TopicSubscriber<>(Message5.class, "/pool2") {
+                    int last = -1;
+
+                    @Override
+                    public void onNext(Message5 item) {
+                        var data = item.data;
+                        if (data <= last) corrupted.incrementAndGet();
+                        last = data;
+                        // message which returned to the pool too early is leased and overwritten
+                        for (int i = 0; i < 100; i++) Thread.onSpinWait();
+                        if (item.data != data) corrupted.incrementAndGet();
+                        received.incrementAndGet();
+                        super.onNext(item);
+                    }
+                };
+        subscriber.withDemandStrategy(DemandStrategy.fixedWindow(4));
+        publisher.subscribe(subscriber);
+        for (int i = 0; i < 20_000; i++) {
+            var message = publisher.lease();
+            message.data = i;
+            publisher.submit(message);
+        }
+        publisher.close();
+        executor.shutdown();
+        Assertions.assertEquals(0, corrupted.get());
+        Assertions.assertTrue(received.get() > 0);
+        // all messages are back in the pool
+        for (int i = 0; i < pool.getCapacity(); i++) {
+            Assertions.assertTrue(pool.isPooled(pool.lease()));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jroscommon.RosName;
+import id.jrosmessages.MessageDescriptor;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ParallelTopicSubscriberTests {
+
+    private static final MessageDescriptor<StringMessage> DESCRIPTOR =
+            new MessageDescriptor<>(StringMessage.class);
+    private static final int COUNT = 100;
+
+    private static class TestSubscriber extends ParallelTopicSubscriber<StringMessage, Integer> {
+        List<Integer> results = new ArrayList<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        AtomicInteger processing = new AtomicInteger();
+        volatile int maxProcessing;
+        ExecutorService executor;
+
+        TestSubscriber(String topic, int parallelism, int maxInFlight) {
+            this(topic, parallelism, maxInFlight, Executors.newFixedThreadPool(8));
+        }
+
+        private TestSubscriber(
+                String topic, int parallelism, int maxInFlight, ExecutorService executor) {
+            super(DESCRIPTOR, new RosName(topic), parallelism, maxInFlight, executor);
+            this.executor = executor;
+        }
+
+        @Override
+        protected Integer process(StringMessage message) {
+            var count = processing.incrementAndGet();
+            synchronized (this) {
+                maxProcessing = Math.max(maxProcessing, count);
+            }
+            try {
+                var value = Integer.parseInt(message.data);
+                // later messages often finish earlier than preceding ones
+                Thread.sleep((value * 7) % 5);
+                return value;
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } finally {
+                processing.decrementAndGet();
+            }
+        }
+
+        @Override
+        protected void onResult(Integer result) {
+            results.add(result);
+        }
+
+        @Override
+        public void onComplete() {
+            super.onComplete();
+            completed.complete(null);
+        }
+    }
+
+    /**
+     * Publisher delivers messages on the thread which submits or requests them, so subscriber
+     * receives completion from one of its worker threads
+     */
+    private void publish(String topic, TestSubscriber subscriber) throws Exception {
+        var publisher =
+                new TopicSubmissionPublisher<>(
+                        DESCRIPTOR, new RosName(topic), Runnable::run, 4, OverflowPolicy.BLOCK);
+        publisher.subscribe(subscriber);
+        for (int i = 0; i < COUNT; i++) publisher.submit(new StringMessage().withData("" + i));
+        publisher.close();
+        try {
+            subscriber.completed.get(10, TimeUnit.SECONDS);
+        } finally {
+            subscriber.executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_ordered_output() throws Exception {
+        var subscriber = new TestSubscriber("/parallel1", 4, 8);
+        subscriber.withOrderedOutput(true);
+        publish("/parallel1", subscriber);
+        Assertions.assertEquals(
+                IntStream.range(0, COUNT).boxed().collect(Collectors.toList()), subscriber.results);
+        Assertions.assertTrue(subscriber.maxProcessing <= 4);
+    }
+
+    @Test
+    public void test_unordered_output() throws Exception {
+        var subscriber = new TestSubscriber("/parallel2", 4, 8);
+        publish("/parallel2", subscriber);
+        Assertions.assertEquals(
+                IntStream.range(0, COUNT).boxed().collect(Collectors.toSet()),
+                subscriber.results.stream().collect(Collectors.toSet()));
+        Assertions.assertEquals(COUNT, subscriber.results.size());
+        Assertions.assertTrue(subscriber.maxProcessing <= 4);
+    }
+
+    @Test
+    public void test_partition_key() throws Exception {
+        var active = new AtomicInteger[3];
+        for (int i = 0; i < active.length; i++) active[i] = new AtomicInteger();
+        var overlaps = new AtomicInteger();
+        var order = new ArrayList<List<Integer>>();
+        for (int i = 0; i < active.length; i++) order.add(new ArrayList<>());
+        var subscriber =
+                new TestSubscriber("/parallel3", 3, 6) {
+                    @Override
+                    protected Integer process(StringMessage message) {
+                        var value = Integer.parseInt(message.data);
+                        var key = value % 3;
+                        if (active[key].incrementAndGet() > 1) overlaps.incrementAndGet();
+                        try {
+                            synchronized (order) {
+                                order.get(key).add(value);
+                            }
+                            return super.process(message);
+                        } finally {
+                            active[key].decrementAndGet();
+                        }
+                    }
+                };
+        subscriber.withPartitionKey(m -> Integer.parseInt(m.data) % 3);
+        publish("/parallel3", subscriber);
+        Assertions.assertEquals(0, overlaps.get());
+        for (int key = 0; key < 3; key++) {
+            var expected = new ArrayList<Integer>();
+            for (int i = key; i < COUNT; i += 3) expected.add(i);
+            Assertions.assertEquals(expected, order.get(key));
+        }
+    }
+
+    @Test
+    public void test_failed_messages_are_skipped() throws Exception {
+        var subscriber =
+                new TestSubscriber("/parallel4", 4, 8) {
+                    @Override
+                    protected Integer process(StringMessage message) {
+                        if (Integer.parseInt(message.data) % 10 == 0)
+                            throw new IllegalStateException("Test failure");
+                        return super.process(message);
+                    }
+                };
+        subscriber.withOrderedOutput(true);
+        publish("/parallel4", subscriber);
+        Assertions.assertEquals(
+                IntStream.range(0, COUNT)
+                        .filter(i -> i % 10 != 0)
+                        .boxed()
+                        .collect(Collectors.toList()),
+                subscriber.results);
+    }
+}
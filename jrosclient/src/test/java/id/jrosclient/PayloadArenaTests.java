@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.exceptions.JRosClientException;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class PayloadArenaTests {
+
+    @Test
+    public void test_released_buffers_are_reused() {
+        try (var arena = new PayloadArena()) {
+            var payload = arena.allocate(new byte[] {1, 2, 3});
+            Assertions.assertArrayEquals(new byte[] {1, 2, 3}, payload.toByteArray());
+            Assertions.assertEquals(4096, arena.getAllocatedBytes());
+            var buffer = payload.getBuffer();
+            payload.release();
+            Assertions.assertEquals(0, arena.getAllocatedBytes());
+            Assertions.assertEquals(4096, arena.getCachedBytes());
+            // same size class
+            var newPayload = arena.allocate(4000);
+            Assertions.assertEquals(4000, newPayload.size());
+            Assertions.assertEquals(0, arena.getCachedBytes());
+            newPayload.getBuffer().put(0, (byte) 7);
+            Assertions.assertEquals(7, buffer.get(0));
+            newPayload.release();
+        }
+    }
+
+    @Test
+    public void test_size_classes() {
+        try (var arena = new PayloadArena()) {
+            var payload = arena.allocate(4097);
+            Assertions.assertEquals(8192, arena.getAllocatedBytes());
+            payload.release();
+            payload = arena.allocate(ByteBuffer.wrap(new byte[100_000]));
+            Assertions.assertEquals(131072, arena.getAllocatedBytes());
+            Assertions.assertEquals(100_000, payload.size());
+            payload.release();
+            Assertions.assertEquals(8192 + 131072, arena.getCachedBytes());
+        }
+    }
+
+    @Test
+    public void test_cache_limit() {
+        try (var arena = new PayloadArena(4096)) {
+            var payload1 = arena.allocate(100);
+            var payload2 = arena.allocate(100);
+            payload1.release();
+            payload2.release();
+            Assertions.assertEquals(4096, arena.getCachedBytes());
+        }
+    }
+
+    @Test
+    public void test_closed_arena_does_not_cache() {
+        var arena = new PayloadArena();
+        var payload = arena.allocate(100);
+        arena.allocate(100).release();
+        arena.close();
+        Assertions.assertEquals(0, arena.getCachedBytes());
+        payload.release();
+        Assertions.assertEquals(0, arena.getCachedBytes());
+        Assertions.assertEquals(0, arena.getAllocatedBytes());
+    }
+
+    @Test
+    public void test_reference_counting() {
+        try (var arena = new PayloadArena()) {
+            var payload = arena.allocate(10).retain();
+            payload.release();
+            Assertions.assertEquals(4096, arena.getAllocatedBytes());
+            payload.release();
+            Assertions.assertEquals(0, arena.getAllocatedBytes());
+            Assertions.assertThrows(JRosClientException.class, payload::release);
+            Assertions.assertThrows(JRosClientException.class, payload::retain);
+            Assertions.assertThrows(JRosClientException.class, payload::getBuffer);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jroscommon.RosName;
+import id.jrosmessages.MessageDescriptor;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class RingBufferTopicPublisherTests {
+
+    private static final MessageDescriptor<StringMessage> DESCRIPTOR =
+            new MessageDescriptor<>(StringMessage.class);
+
+    private static class CollectingSubscriber implements Subscriber<StringMessage> {
+        List<String> messages = new ArrayList<>();
+        AtomicInteger completed = new AtomicInteger();
+        boolean isSlow;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(StringMessage item) {
+            messages.add(item.data);
+            if (isSlow) Thread.yield();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {}
+
+        @Override
+        public void onComplete() {
+            completed.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void test_messages_are_delivered_in_sequence() {
+        var publisher =
+                new RingBufferTopicPublisher<>(
+                        DESCRIPTOR, new RosName("/ring1"), null, 8, WaitStrategy.PARK);
+        Assertions.assertEquals(8, publisher.getBufferCapacity());
+        var subscribers = List.of(new CollectingSubscriber(), new CollectingSubscriber());
+        subscribers.forEach(publisher::subscribe);
+        var expected = new ArrayList<String>();
+        for (int i = 0; i < 10_000; i++) {
+            var data = "" + i;
+            expected.add(data);
+            publisher.submit(new StringMessage().withData(data));
+        }
+        publisher.close();
+        for (var subscriber : subscribers) {
+            Assertions.assertEquals(expected, subscriber.messages);
+            Assertions.assertEquals(1, subscriber.completed.get());
+        }
+    }
+
+    @Test
+    public void test_batches_are_delivered_in_sequence() {
+        var publisher =
+                new RingBufferTopicPublisher<>(
+                        DESCRIPTOR, new RosName("/ring2"), null, 5, WaitStrategy.YIELD);
+        Assertions.assertEquals(8, publisher.getBufferCapacity());
+        var subscriber = new CollectingSubscriber();
+        publisher.subscribe(subscriber);
+        var expected = new ArrayList<String>();
+        for (int i = 0; i < 1_000; i++) {
+            var batch = new ArrayList<StringMessage>();
+            // batches larger than the ring buffer are written in parts
+            for (int j = 0; j < 11; j++) {
+                var data = i + "." + j;
+                expected.add(data);
+                batch.add(new StringMessage().withData(data));
+            }
+            var result = publisher.submitAll(batch);
+            Assertions.assertEquals(0, result.getSubscribers().get(0).dropped());
+        }
+        publisher.close();
+        Assertions.assertEquals(expected, subscriber.messages);
+    }
+
+    @Test
+    public void test_subscriber_receives_only_new_messages() {
+        var publisher =
+                new RingBufferTopicPublisher<>(
+                        DESCRIPTOR, new RosName("/ring3"), null, 8, WaitStrategy.PARK);
+        publisher.submit(new StringMessage().withData("lost"));
+        var subscriber = new CollectingSubscriber();
+        publisher.subscribe(subscriber);
+        publisher.submit(new StringMessage().withData("received"));
+        publisher.close();
+        Assertions.assertEquals(List.of("received"), subscriber.messages);
+    }
+
+    @Test
+    public void test_drop_oldest_accounts_every_message() {
+        var publisher =
+                new RingBufferTopicPublisher<>(
+                        DESCRIPTOR,
+                        new RosName("/ring4"),
+                        null,
+                        8,
+                        WaitStrategy.PARK,
+                        OverflowPolicy.DROP_OLDEST);
+        var subscriber = new CollectingSubscriber();
+        subscriber.isSlow = true;
+        publisher.subscribe(subscriber);
+        var count = 20_000;
+        var dropped = 0;
+        for (int i = 0; i < count; i++) {
+            var result = publisher.submitAll(List.of(new StringMessage().withData("" + i)));
+            dropped += result.getSubscribers().get(0).dropped();
+        }
+        publisher.close();
+        Assertions.assertEquals(count, subscriber.messages.size() + dropped);
+        // messages which are not dropped keep their order
+        var last = -1;
+        for (var data : subscriber.messages) {
+            var i = Integer.parseInt(data);
+            Assertions.assertTrue(i > last);
+            last = i;
+        }
+    }
+
+    @Test
+    public void test_submit_after_close() {
+        var publisher = new RingBufferTopicPublisher<>(DESCRIPTOR, new RosName("/ring5"));
+        publisher.close();
+        Assertions.assertThrows(
+                IllegalStateException.class, () -> publisher.submit(new StringMessage()));
+        var subscriber = new CollectingSubscriber();
+        publisher.subscribe(subscriber);
+        Assertions.assertEquals(1, subscriber.completed.get());
+    }
+
+    @Test
+    public void test_invalid_request_is_signalled_by_delivery_thread() throws Exception {
+        var publisher = new RingBufferTopicPublisher<>(DESCRIPTOR, new RosName("/ring6"));
+        var subscription = new CompletableFuture<Subscription>();
+        var deliveryThread = new CompletableFuture<Thread>();
+        var errorThread = new CompletableFuture<Thread>();
+        publisher.subscribe(
+                new Subscriber<StringMessage>() {
+                    @Override
+                    public void onSubscribe(Subscription s) {
+                        s.request(1);
+                        subscription.complete(s);
+                    }
+
+                    @Override
+                    public void onNext(StringMessage item) {
+                        deliveryThread.complete(Thread.currentThread());
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        Assertions.assertInstanceOf(IllegalArgumentException.class, throwable);
+                        errorThread.complete(Thread.currentThread());
+                    }
+
+                    @Override
+                    public void onComplete() {}
+                });
+        publisher.submit(new StringMessage());
+        var thread = deliveryThread.get(5, TimeUnit.SECONDS);
+        subscription.get().request(0);
+        Assertions.assertSame(thread, errorThread.get(5, TimeUnit.SECONDS));
+        Assertions.assertNotSame(Thread.currentThread(), thread);
+        publisher.close();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosmessages.std_msgs.StringMessage;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codec of {@link StringMessage} for the tests: length of the data followed by its UTF-8 bytes
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class StringMessageCodec implements MessageCodec<StringMessage> {
+
+    @Override
+    public StringMessage decode(ByteBuffer data) {
+        var bytes = new byte[data.getInt()];
+        data.get(bytes);
+        return new StringMessage().withData(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void encode(StringMessage message, ByteBuffer buffer) {
+        var bytes = message.data.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.metrics.TopicMetricsRegistry;
+import id.jroscommon.RosName;
+import id.jrosmessages.std_msgs.StringMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TopicDeclarationTests {
+
+    public static class Message1 extends StringMessage {}
+
+    @Test
+    public void test_prepare() {
+        var declaration = TopicDeclaration.of("/declared", Message1.class).withMessagePool(4);
+        declaration.prepare(MessageDescriptorCache.getDefault());
+        Assertions.assertEquals(
+                4,
+                MessagePool.find(declaration.getMessageDescriptor()).orElseThrow().getCapacity());
+        // warm up does not keep reference to the topic metrics, so they are removed once
+        // released by their only owner
+        var registry = TopicMetricsRegistry.getDefault();
+        var metrics = registry.getMetrics(new RosName("/declared"));
+        registry.release(metrics);
+        var newMetrics = registry.getMetrics(new RosName("/declared"));
+        registry.release(newMetrics);
+        Assertions.assertNotSame(metrics, newMetrics);
+    }
+}
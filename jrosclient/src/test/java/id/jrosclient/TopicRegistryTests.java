@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jroscommon.RosName;
+import id.jrosmessages.Message;
+import id.jrosmessages.MessageDescriptor;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TopicRegistryTests {
+
+    private static final MessageDescriptor<StringMessage> STRING =
+            new MessageDescriptor<>(StringMessage.class);
+    private static final MessageDescriptor<CounterMessage> COUNTER =
+            new MessageDescriptor<>(CounterMessage.class);
+
+    public static class CounterMessage implements Message {
+        public int value;
+    }
+
+    @Test
+    public void test_publishers_are_registered_per_message_type() {
+        var registry = new TopicRegistry();
+        var topic = new RosName("/registry1");
+        try (var stringPublisher = new TopicSubmissionPublisher<>(STRING, topic);
+                var otherStringPublisher = new TopicSubmissionPublisher<>(STRING, topic);
+                var counterPublisher = new TopicSubmissionPublisher<>(COUNTER, topic)) {
+            Assertions.assertFalse(registry.hasPublisher(topic));
+            Assertions.assertTrue(registry.register(stringPublisher));
+            Assertions.assertFalse(registry.register(otherStringPublisher));
+            Assertions.assertTrue(registry.register(counterPublisher));
+            Assertions.assertTrue(registry.hasPublisher(topic));
+            Assertions.assertEquals(1, registry.getTopicCount());
+            Assertions.assertEquals(2, registry.getPublishers().size());
+            Assertions.assertSame(stringPublisher, registry.find(topic, STRING).orElseThrow());
+            Assertions.assertSame(counterPublisher, registry.find(topic, COUNTER).orElseThrow());
+            Assertions.assertTrue(registry.find(new RosName("/registry2"), STRING).isEmpty());
+
+            // other publisher of the same type is not removed
+            Assertions.assertFalse(registry.remove(otherStringPublisher));
+            Assertions.assertTrue(registry.remove(stringPublisher));
+            Assertions.assertTrue(registry.find(topic, STRING).isEmpty());
+            Assertions.assertTrue(registry.hasPublisher(topic));
+            Assertions.assertSame(counterPublisher, registry.remove(topic, COUNTER).orElseThrow());
+            Assertions.assertTrue(registry.remove(topic, COUNTER).isEmpty());
+            Assertions.assertFalse(registry.hasPublisher(topic));
+            Assertions.assertEquals(0, registry.getTopicCount());
+        }
+    }
+
+    @Test
+    public void test_concurrent_registration() throws Exception {
+        var registry = new TopicRegistry();
+        var registered = new AtomicInteger();
+        var publishers = new ArrayList<TopicSubmissionPublisher<StringMessage>>();
+        for (int i = 0; i < 8; i++)
+            publishers.add(new TopicSubmissionPublisher<>(STRING, new RosName("/registry3")));
+        var tasks =
+                publishers.stream()
+                        .map(
+                                p ->
+                                        CompletableFuture.runAsync(
+                                                () -> {
+                                                    if (registry.register(p))
+                                                        registered.incrementAndGet();
+                                                }))
+                        .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(tasks).get();
+        Assertions.assertEquals(1, registered.get());
+        Assertions.assertEquals(
+                List.of(registry.find(new RosName("/registry3"), STRING).orElseThrow()),
+                registry.getPublishers());
+        publishers.forEach(TopicSubmissionPublisher::close);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jroscommon.RosName;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TopicSchedulerTests {
+
+    @Test
+    public void test_pending_tasks_are_ordered_by_policy() throws Exception {
+        var order = new CopyOnWriteArrayList<String>();
+        var done = new CountDownLatch(6);
+        try (var scheduler = new TopicScheduler(1)) {
+            // occupy the only scheduler thread so that all other tasks become pending
+            var isBlocked = new CountDownLatch(1);
+            var unblock = new CountDownLatch(1);
+            scheduler
+                    .newExecutor(new RosName("/scheduler1"), SchedulingPolicy.DEFAULT)
+                    .execute(
+                            () -> {
+                                isBlocked.countDown();
+                                try {
+                                    unblock.await();
+                                } catch (InterruptedException e) {
+                                    throw new RuntimeException(e);
+                                }
+                            });
+            isBlocked.await();
+            var topic = new RosName("/scheduler1");
+            BiConsumer<String, SchedulingPolicy> schedule =
+                    (name, policy) ->
+                            scheduler
+                                    .newExecutor(topic, policy)
+                                    .execute(
+                                            () -> {
+                                                order.add(name);
+                                                done.countDown();
+                                            });
+            schedule.accept("low1", SchedulingPolicy.withPriority(SchedulingPolicy.LOW_PRIORITY));
+            schedule.accept("normal1", SchedulingPolicy.DEFAULT);
+            schedule.accept("high", SchedulingPolicy.withPriority(SchedulingPolicy.HIGH_PRIORITY));
+            schedule.accept("normal2", SchedulingPolicy.DEFAULT);
+            schedule.accept(
+                    "deadline",
+                    SchedulingPolicy.withDeadline(
+                            SchedulingPolicy.NORMAL_PRIORITY, Duration.ofMinutes(1)));
+            schedule.accept("low2", SchedulingPolicy.withPriority(SchedulingPolicy.LOW_PRIORITY));
+            Assertions.assertEquals(6, scheduler.getPendingCount());
+            unblock.countDown();
+            Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(
+                List.of("high", "deadline", "normal1", "normal2", "low1", "low2"), order);
+    }
+
+    @Test
+    public void test_close() throws Exception {
+        var scheduler = new TopicScheduler(2);
+        Assertions.assertEquals(2, scheduler.getParallelism());
+        var executor = scheduler.newExecutor(new RosName("/scheduler2"), SchedulingPolicy.DEFAULT);
+        var future = new CompletableFuture<Void>();
+        executor.execute(() -> future.complete(null));
+        scheduler.close();
+        Assertions.assertTrue(scheduler.isClosed());
+        future.get(5, TimeUnit.SECONDS);
+        Assertions.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jroscommon.RosName;
+import id.jrosmessages.MessageDescriptor;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TopicSubmissionPublisherTests {
+
+    /** Requests messages one by one, or none at all if window is zero */
+    private static class SlowSubscriber implements Subscriber<StringMessage> {
+        List<String> messages = new ArrayList<>();
+        AtomicInteger completed = new AtomicInteger();
+        Subscription subscription;
+        int window;
+
+        SlowSubscriber(int window) {
+            this.window = window;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (window > 0) subscription.request(window);
+        }
+
+        @Override
+        public void onNext(StringMessage item) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(item.data);
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {}
+
+        @Override
+        public void onComplete() {
+            completed.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void test_close_drains_pending_messages() {
+        var publisher = new TopicSubmissionPublisher<>(StringMessage.class, "/drain1");
+        var subscriber = new SlowSubscriber(1);
+        publisher.subscribe(subscriber);
+        var expected = new ArrayList<String>();
+        for (int i = 0; i < 200; i++) {
+            var data = "" + i;
+            expected.add(data);
+            publisher.submit(new StringMessage().withData(data));
+        }
+        var startAt = System.nanoTime();
+        publisher.close();
+        Assertions.assertEquals(expected, subscriber.messages);
+        // close should not poll for the pending messages
+        Assertions.assertTrue(
+                Duration.ofNanos(System.nanoTime() - startAt).toSeconds() < 5,
+                "Drain took too long");
+        Assertions.assertTrue(publisher.isClosed());
+    }
+
+    @Test
+    public void test_close_async_completes_after_drain() {
+        var publisher = new TopicSubmissionPublisher<>(StringMessage.class, "/drain2");
+        var subscriber = new SlowSubscriber(1);
+        publisher.subscribe(subscriber);
+        for (int i = 0; i < 50; i++) publisher.submit(new StringMessage().withData("" + i));
+        publisher.closeAsync().join();
+        Assertions.assertEquals(50, subscriber.messages.size());
+    }
+
+    @Test
+    public void test_close_with_timeout() {
+        var budget = new MemoryBudget(100);
+        var publisher =
+                new TopicSubmissionPublisher<>(StringMessage.class, "/drain3")
+                        .withMemoryBudget(budget);
+        var subscriber = new SlowSubscriber(0);
+        publisher.subscribe(subscriber);
+        publisher.submit(new StringMessage().withData("pending"));
+        // subscriber never requests the pending message
+        Assertions.assertFalse(publisher.close(Duration.ofMillis(100)));
+        Assertions.assertTrue(publisher.isClosed());
+        Assertions.assertTrue(subscriber.messages.isEmpty());
+        Assertions.assertTrue(publisher.closeAsync().isDone());
+        Assertions.assertTrue(budget.getAccount(new RosName("/drain3")).isEmpty());
+    }
+
+    @Test
+    public void test_close_exceptionally() {
+        var budget = new MemoryBudget(100);
+        var publisher =
+                new TopicSubmissionPublisher<>(StringMessage.class, "/drain5")
+                        .withMemoryBudget(budget);
+        var subscriber = new SlowSubscriber(0);
+        publisher.subscribe(subscriber);
+        publisher.submit(new StringMessage().withData("pending"));
+        var closeFuture = publisher.closeAsync();
+        Assertions.assertFalse(closeFuture.isDone());
+        publisher.closeExceptionally(new RuntimeException("test"));
+        Assertions.assertTrue(publisher.isClosed());
+        Assertions.assertTrue(closeFuture.isDone());
+        Assertions.assertTrue(budget.getAccount(new RosName("/drain5")).isEmpty());
+    }
+
+    @Test
+    public void test_close_without_pending_messages() {
+        var publisher = new TopicSubmissionPublisher<>(StringMessage.class, "/drain4");
+        publisher.subscribe(new SlowSubscriber(1));
+        Assertions.assertTrue(publisher.close(Duration.ofSeconds(5)));
+    }
+
+    /**
+     * Publisher which delivers messages on the thread which submits them, so that once submit
+     * returns the message is either buffered or dropped
+     */
+    private TopicSubmissionPublisher<StringMessage> newSyncPublisher(
+            String topic, OverflowPolicy overflowPolicy) {
+        return new TopicSubmissionPublisher<>(
+                new MessageDescriptor<>(StringMessage.class),
+                new RosName(topic),
+                Runnable::run,
+                4,
+                overflowPolicy);
+    }
+
+    /** Submit messages while subscriber has no demand and then request all of them */
+    private List<String> submitAndReceive(
+            TopicSubmissionPublisher<StringMessage> publisher, int count) {
+        var subscriber = new SlowSubscriber(0);
+        publisher.subscribe(subscriber);
+        for (int i = 0; i < count; i++) publisher.submit(new StringMessage().withData("" + i));
+        subscriber.subscription.request(count);
+        publisher.close();
+        Assertions.assertEquals(1, subscriber.completed.get());
+        return subscriber.messages;
+    }
+
+    @Test
+    public void test_drop_newest() {
+        var publisher = newSyncPublisher("/overflow1", OverflowPolicy.DROP_NEWEST);
+        Assertions.assertEquals(List.of("0", "1", "2", "3"), submitAndReceive(publisher, 10));
+    }
+
+    @Test
+    public void test_drop_oldest() {
+        var publisher = newSyncPublisher("/overflow2", OverflowPolicy.DROP_OLDEST);
+        Assertions.assertEquals(List.of("6", "7", "8", "9"), submitAndReceive(publisher, 10));
+    }
+
+    @Test
+    public void test_conflate_latest() {
+        var publisher = newSyncPublisher("/overflow3", OverflowPolicy.CONFLATE_LATEST);
+        Assertions.assertEquals(List.of("9"), submitAndReceive(publisher, 10));
+    }
+
+    @Test
+    public void test_block_with_timeout() {
+        var publisher =
+                newSyncPublisher(
+                        "/overflow4", OverflowPolicy.blockWithTimeout(Duration.ofMillis(50)));
+        var subscriber = new SlowSubscriber(0);
+        publisher.subscribe(subscriber);
+        for (int i = 0; i < 4; i++)
+            Assertions.assertTrue(publisher.submit(new StringMessage().withData("" + i)) >= 0);
+        var startAt = System.nanoTime();
+        // buffer is full and subscriber does not request anything
+        Assertions.assertTrue(publisher.submit(new StringMessage().withData("4")) < 0);
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - startAt).toMillis() >= 50);
+        subscriber.subscription.request(10);
+        publisher.close();
+        Assertions.assertEquals(List.of("0", "1", "2", "3"), subscriber.messages);
+    }
+}
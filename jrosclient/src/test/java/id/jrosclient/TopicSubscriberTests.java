@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient;
+
+import id.jrosclient.impl.JRosClientSubscription;
+import id.jrosclient.metrics.TopicMetrics;
+import id.jrosclient.metrics.TopicMetricsRegistry;
+import id.jroscommon.RosName;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.time.Duration;
+import java.util.concurrent.Flow.Subscription;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TopicSubscriberTests {
+
+    private static class NoopSubscription implements Subscription {
+        @Override
+        public void request(long n) {}
+
+        @Override
+        public void cancel() {}
+    }
+
+    private static class QuietSubscriber extends TopicSubscriber<StringMessage> {
+        QuietSubscriber(String topic) {
+            super(StringMessage.class, topic);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // skip default error output
+            releaseMetrics();
+        }
+    }
+
+    /** Returns true if metrics of the topic are not referenced by anyone */
+    private static boolean isReleased(TopicMetrics metrics, String topic) {
+        var registry = TopicMetricsRegistry.getDefault();
+        var current = registry.getMetrics(new RosName(topic));
+        registry.release(current);
+        return current != metrics;
+    }
+
+    @Test
+    public void test_metrics_are_released_on_cancel() {
+        var subscriber = new QuietSubscriber("/subscriber1");
+        subscriber.onSubscribe(new NoopSubscription());
+        Assertions.assertFalse(isReleased(subscriber.getMetrics(), "/subscriber1"));
+        subscriber.getSubscription().orElseThrow().cancel();
+        Assertions.assertTrue(isReleased(subscriber.getMetrics(), "/subscriber1"));
+    }
+
+    @Test
+    public void test_metrics_are_released_on_complete() {
+        var subscriber = new QuietSubscriber("/subscriber2");
+        subscriber.onSubscribe(new NoopSubscription());
+        subscriber.onComplete();
+        Assertions.assertTrue(isReleased(subscriber.getMetrics(), "/subscriber2"));
+    }
+
+    @Test
+    public void test_metrics_are_released_only_once() {
+        var registry = TopicMetricsRegistry.getDefault();
+        var metrics = registry.getMetrics(new RosName("/subscriber3"));
+        var subscriber = new QuietSubscriber("/subscriber3");
+        subscriber.onSubscribe(new NoopSubscription());
+        subscriber.getSubscription().orElseThrow().cancel();
+        subscriber.onError(new RuntimeException());
+        subscriber.onComplete();
+        // reference of the test is still there
+        Assertions.assertFalse(isReleased(metrics, "/subscriber3"));
+        registry.release(metrics);
+        Assertions.assertTrue(isReleased(metrics, "/subscriber3"));
+    }
+
+    @Test
+    public void test_adaptive_window_depends_on_processing_time() throws Exception {
+        var subscriber =
+                new QuietSubscriber("/subscriber4") {
+                    @Override
+                    public void onNext(StringMessage item) {
+                        super.onNext(item);
+                        try {
+                            Thread.sleep(1);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                };
+        subscriber.withDemandStrategy(
+                DemandStrategy.adaptiveWindow(1, 1000, Duration.ofMillis(100)));
+        var clientSubscriber = subscriber.toClientSubscriber();
+        clientSubscriber.onSubscribe(new NoopSubscription());
+        // messages arrive much less often than subscriber processes them
+        for (int i = 0; i < 5; i++) {
+            clientSubscriber.onNext(new StringMessage());
+            Thread.sleep(30);
+        }
+        var subscription = (JRosClientSubscription) subscriber.getSubscription().orElseThrow();
+        Assertions.assertTrue(subscription.getWindow() > 10, "Window " + subscription.getWindow());
+        subscriber.onComplete();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ConflatingSubscriberTests {
+
+    private static class ManualSubscriber implements Subscriber<String> {
+        List<String> received = new ArrayList<>();
+        Subscription subscription;
+        boolean isCompleted;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {}
+
+        @Override
+        public void onComplete() {
+            isCompleted = true;
+        }
+    }
+
+    private static class UpstreamSubscription implements Subscription {
+        long requested;
+        boolean isCancelled;
+
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            isCancelled = true;
+        }
+    }
+
+    @Test
+    public void test_only_latest_item_is_delivered() {
+        var downstream = new ManualSubscriber();
+        var dropped = new ArrayList<String>();
+        var subscriber = new ConflatingSubscriber<String>(downstream, Runnable::run, dropped::add);
+        var upstream = new UpstreamSubscription();
+        subscriber.onSubscribe(upstream);
+        Assertions.assertEquals(Long.MAX_VALUE, upstream.requested);
+        subscriber.onNext("a");
+        subscriber.onNext("b");
+        subscriber.onNext("c");
+        Assertions.assertEquals(List.of(), downstream.received);
+        Assertions.assertEquals(List.of("a", "b"), dropped);
+        downstream.subscription.request(1);
+        Assertions.assertEquals(List.of("c"), downstream.received);
+        // no demand left
+        subscriber.onNext("d");
+        Assertions.assertEquals(List.of("c"), downstream.received);
+        // pending item is delivered before completion
+        subscriber.onComplete();
+        Assertions.assertFalse(downstream.isCompleted);
+        downstream.subscription.request(10);
+        Assertions.assertEquals(List.of("c", "d"), downstream.received);
+        Assertions.assertTrue(downstream.isCompleted);
+        Assertions.assertEquals(List.of("a", "b"), dropped);
+    }
+
+    @Test
+    public void test_items_are_delivered_while_there_is_demand() {
+        var downstream = new ManualSubscriber();
+        var dropped = new ArrayList<String>();
+        var subscriber = new ConflatingSubscriber<String>(downstream, Runnable::run, dropped::add);
+        subscriber.onSubscribe(new UpstreamSubscription());
+        downstream.subscription.request(Long.MAX_VALUE);
+        subscriber.onNext("a");
+        subscriber.onNext("b");
+        Assertions.assertEquals(List.of("a", "b"), downstream.received);
+        Assertions.assertEquals(List.of(), dropped);
+    }
+
+    @Test
+    public void test_cancel() {
+        var downstream = new ManualSubscriber();
+        var subscriber = new ConflatingSubscriber<String>(downstream, Runnable::run, s -> {});
+        var upstream = new UpstreamSubscription();
+        subscriber.onSubscribe(upstream);
+        subscriber.onNext("a");
+        downstream.subscription.cancel();
+        Assertions.assertTrue(upstream.isCancelled);
+        downstream.subscription.request(1);
+        subscriber.onNext("b");
+        Assertions.assertEquals(List.of(), downstream.received);
+    }
+}
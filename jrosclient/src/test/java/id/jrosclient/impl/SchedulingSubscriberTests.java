@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class SchedulingSubscriberTests {
+
+    @Test
+    public void test_dispatch_listener_receives_time_when_item_was_received() {
+        var tasks = new ArrayList<Runnable>();
+        Executor executor = tasks::add;
+        var received = new ArrayList<String>();
+        var receiveTimes = new ArrayList<Long>();
+        var subscriber =
+                new SchedulingSubscriber<String>(
+                        new CollectingSubscriber(received), executor, receiveTimes::add);
+        subscriber.onSubscribe(new NoopSubscription());
+        var startNanos = System.nanoTime();
+        subscriber.onNext("a");
+        subscriber.onNext("b");
+        var endNanos = System.nanoTime();
+        Assertions.assertEquals(List.of(), received);
+        Assertions.assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        Assertions.assertEquals(List.of("a", "b"), received);
+        Assertions.assertEquals(2, receiveTimes.size());
+        Assertions.assertTrue(startNanos <= receiveTimes.get(0));
+        Assertions.assertTrue(receiveTimes.get(0) <= receiveTimes.get(1));
+        Assertions.assertTrue(receiveTimes.get(1) <= endNanos);
+    }
+
+    private static class CollectingSubscriber implements Subscriber<String> {
+        private final List<String> received;
+
+        CollectingSubscriber(List<String> received) {
+            this.received = received;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {}
+
+        @Override
+        public void onNext(String item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {}
+
+        @Override
+        public void onComplete() {}
+    }
+
+    private static class NoopSubscription implements Subscription {
+        @Override
+        public void request(long n) {}
+
+        @Override
+        public void cancel() {}
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class LatencyRecorderTests {
+
+    private final long[] snapshot = new long[LatencyRecorder.BUCKET_COUNT];
+
+    @Test
+    public void test_small_values_are_exact() {
+        var recorder = new LatencyRecorder();
+        for (int i = 1; i <= 10; i++) recorder.record(i);
+        var total = recorder.snapshot(snapshot);
+        Assertions.assertEquals(10, total);
+        Assertions.assertEquals(5, LatencyRecorder.valueAtQuantile(snapshot, total, 0.5));
+        Assertions.assertEquals(10, LatencyRecorder.valueAtQuantile(snapshot, total, 0.99));
+        Assertions.assertEquals(1, LatencyRecorder.valueAtQuantile(snapshot, total, 0));
+    }
+
+    @Test
+    public void test_large_values_have_bounded_error() {
+        var recorder = new LatencyRecorder();
+        for (long value = 100; value < 100_000_000; value = value * 3 / 2) {
+            recorder.record(value);
+            var total = recorder.snapshot(snapshot);
+            var recorded = LatencyRecorder.valueAtQuantile(snapshot, total, 0.5);
+            Assertions.assertTrue(recorded >= value, value + " recorded as " + recorded);
+            Assertions.assertTrue(
+                    recorded <= value + value / 16, value + " recorded as " + recorded);
+        }
+    }
+
+    @Test
+    public void test_snapshot_contains_values_since_previous_one() {
+        var recorder = new LatencyRecorder();
+        recorder.record(1);
+        recorder.record(1000);
+        Assertions.assertEquals(2, recorder.snapshot(snapshot));
+        Assertions.assertEquals(0, recorder.snapshot(snapshot));
+        recorder.record(7);
+        var total = recorder.snapshot(snapshot);
+        Assertions.assertEquals(1, total);
+        Assertions.assertEquals(7, LatencyRecorder.valueAtQuantile(snapshot, total, 0.999));
+    }
+
+    @Test
+    public void test_out_of_range_values() {
+        var recorder = new LatencyRecorder();
+        recorder.record(-5);
+        recorder.record(Long.MAX_VALUE);
+        var total = recorder.snapshot(snapshot);
+        Assertions.assertEquals(0, LatencyRecorder.valueAtQuantile(snapshot, total, 0.5));
+        Assertions.assertEquals(
+                (1L << 36) - 1, LatencyRecorder.valueAtQuantile(snapshot, total, 1));
+    }
+}
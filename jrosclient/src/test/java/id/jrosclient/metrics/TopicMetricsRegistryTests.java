@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.metrics;
+
+import id.jrosclient.TopicSubmissionPublisher;
+import id.jroscommon.RosName;
+import id.jrosmessages.std_msgs.StringMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TopicMetricsRegistryTests {
+
+    private static final TopicMetricsRegistry REGISTRY = TopicMetricsRegistry.getDefault();
+
+    /** Returns true if metrics of the topic are not referenced by anyone */
+    private static boolean isReleased(TopicMetrics metrics, String topic) {
+        var current = REGISTRY.getMetrics(new RosName(topic));
+        REGISTRY.release(current);
+        return current != metrics;
+    }
+
+    @Test
+    public void test_metrics_are_shared_until_last_reference_is_released() {
+        var metrics = REGISTRY.getMetrics(new RosName("/metrics1"));
+        Assertions.assertSame(metrics, REGISTRY.getMetrics(new RosName("/metrics1")));
+        REGISTRY.release(metrics);
+        Assertions.assertFalse(isReleased(metrics, "/metrics1"));
+        REGISTRY.release(metrics);
+        Assertions.assertTrue(isReleased(metrics, "/metrics1"));
+        // stale reference does not affect new metrics of the same topic
+        var newMetrics = REGISTRY.getMetrics(new RosName("/metrics1"));
+        REGISTRY.release(metrics);
+        Assertions.assertFalse(isReleased(newMetrics, "/metrics1"));
+        REGISTRY.release(newMetrics);
+    }
+
+    @Test
+    public void test_metrics_with_different_attributes() {
+        var topicMetrics = REGISTRY.getMetrics(new RosName("/metrics2"));
+        var subscriberMetrics = REGISTRY.getMetrics(new RosName("/metrics2"), "1");
+        Assertions.assertNotSame(topicMetrics, subscriberMetrics);
+        Assertions.assertEquals(
+                "/metrics2", topicMetrics.getAttributes().asMap().values().iterator().next());
+        Assertions.assertEquals(2, subscriberMetrics.getAttributes().size());
+        REGISTRY.release(topicMetrics);
+        REGISTRY.release(subscriberMetrics);
+    }
+
+    @Test
+    public void test_publisher_releases_metrics_when_closed() {
+        var publisher = new TopicSubmissionPublisher<>(StringMessage.class, "/metrics3");
+        var metrics = REGISTRY.getMetrics(new RosName("/metrics3"));
+        REGISTRY.release(metrics);
+        Assertions.assertFalse(isReleased(metrics, "/metrics3"));
+        publisher.close();
+        Assertions.assertTrue(isReleased(metrics, "/metrics3"));
+    }
+}
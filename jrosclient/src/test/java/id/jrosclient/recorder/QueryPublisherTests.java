@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import id.jrosclient.LoopbackJRosClient;
+import id.jrosclient.OverflowPolicy;
+import id.jrosclient.StringMessageCodec;
+import id.jroscommon.RosName;
+import id.jrosmessages.MessageDescriptor;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class QueryPublisherTests {
+
+    private static final MessageDescriptor<StringMessage> DESCRIPTOR =
+            new MessageDescriptor<>(StringMessage.class);
+    private static final RosName TOPIC = new RosName("/query");
+    private static final StringMessageCodec CODEC = new StringMessageCodec();
+
+    /** Subscriber which is delivered to on the thread which requests messages */
+    private static class CollectingSubscriber implements Subscriber<StringMessage> {
+        List<String> messages = new ArrayList<>();
+        Throwable error;
+        int completed;
+        boolean isInsideOnNext;
+        boolean isOverlapped;
+        Subscription subscription;
+        long requestOnNext = 1;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(StringMessage item) {
+            isInsideOnNext = true;
+            messages.add(item.data);
+            subscription.request(requestOnNext);
+            isInsideOnNext = false;
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            isOverlapped |= isInsideOnNext;
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            isOverlapped |= isInsideOnNext;
+            completed++;
+        }
+    }
+
+    private void record(Path directory, int count) {
+        try (var client = new LoopbackJRosClient();
+                var recorder = new TopicRecorder(client, directory, 64 * 1024)) {
+            var publisher = client.publish(TOPIC, DESCRIPTOR, OverflowPolicy.BLOCK);
+            recorder.record(TOPIC, DESCRIPTOR, CODEC);
+            for (int i = 0; i < count; i++) publisher.submit(new StringMessage().withData("" + i));
+            publisher.close();
+            Assertions.assertEquals(count, recorder.getRecordedCount());
+        }
+    }
+
+    private QueryPublisher<StringMessage> query(Path directory) {
+        return (QueryPublisher<StringMessage>)
+                new TopicReplayer(directory)
+                        .query(TOPIC, DESCRIPTOR, CODEC, Instant.MIN, Instant.MAX, Runnable::run);
+    }
+
+    @Test
+    public void test_query_delivers_all_messages(@TempDir Path directory) {
+        record(directory, 10);
+        var subscriber = new CollectingSubscriber();
+        query(directory).subscribe(subscriber);
+        Assertions.assertEquals(
+                List.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9"), subscriber.messages);
+        Assertions.assertEquals(1, subscriber.completed);
+        Assertions.assertNull(subscriber.error);
+        Assertions.assertFalse(subscriber.isOverlapped);
+    }
+
+    @Test
+    public void test_invalid_request_is_signalled_after_on_next(@TempDir Path directory) {
+        record(directory, 10);
+        var subscriber = new CollectingSubscriber();
+        subscriber.requestOnNext = 0;
+        query(directory).subscribe(subscriber);
+        Assertions.assertEquals(List.of("0"), subscriber.messages);
+        Assertions.assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        Assertions.assertEquals(0, subscriber.completed);
+        Assertions.assertFalse(subscriber.isOverlapped);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class SegmentIndexTests {
+
+    private static final int BLOCK_SIZE = LogFormat.INDEX_BLOCK_SIZE;
+
+    /**
+     * Four records per block:
+     *
+     * <pre>
+     * block 0: 1 2 3 5 (topic 0)
+     * block 1: 5 5 5 5 (topic 0)
+     * block 2: 6       (topic 1)
+     * </pre>
+     */
+    private SegmentIndex createIndex() {
+        var index = new SegmentIndex();
+        long[] timestamps = {1, 2, 3, 5, 5, 5, 5, 5, 6};
+        for (int i = 0; i < timestamps.length; i++) {
+            index.onRecord(i * BLOCK_SIZE / 4, timestamps[i], i < 8 ? 0 : 1);
+        }
+        return index;
+    }
+
+    @Test
+    public void test_seek() {
+        var index = createIndex();
+        Assertions.assertEquals(3, index.size());
+        Assertions.assertEquals(0, index.seek(0, -1));
+        Assertions.assertEquals(0, index.seek(3, -1));
+        // block 0 ends with the timestamp so seek should not skip it
+        Assertions.assertEquals(0, index.seek(5, -1));
+        Assertions.assertEquals(BLOCK_SIZE, index.seek(6, -1));
+        Assertions.assertEquals(2 * BLOCK_SIZE, index.seek(100, -1));
+    }
+
+    @Test
+    public void test_seek_topic() {
+        var index = createIndex();
+        Assertions.assertEquals(0, index.seek(5, 0));
+        Assertions.assertEquals(2 * BLOCK_SIZE, index.seek(0, 1));
+        Assertions.assertEquals(-1, index.seek(0, 2));
+    }
+
+    @Test
+    public void test_write_read(@TempDir Path dir) {
+        var file = dir.resolve("segment" + LogFormat.INDEX_SUFFIX);
+        createIndex().write(file);
+        var index = SegmentIndex.read(file).orElseThrow();
+        Assertions.assertEquals(3, index.size());
+        Assertions.assertEquals(0, index.seek(5, 0));
+        Assertions.assertEquals(2 * BLOCK_SIZE, index.seek(0, 1));
+        Assertions.assertTrue(SegmentIndex.read(dir.resolve("missing")).isEmpty());
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 jrosclient project
+ * 
+ * Website: https://github.com/lambdaprime/jrosclient
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.jrosclient.recorder;
+
+import id.jrosclient.LoopbackJRosClient;
+import id.jrosclient.OverflowPolicy;
+import id.jrosclient.StringMessageCodec;
+import id.jroscommon.RosName;
+import id.jrosmessages.MessageDescriptor;
+import id.jrosmessages.std_msgs.StringMessage;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link TopicRecorder} and {@link TopicReplayer}
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TopicRecorderTests {
+
+    private static final MessageDescriptor<StringMessage> DESCRIPTOR =
+            new MessageDescriptor<>(StringMessage.class);
+    private static final RosName TOPIC_A = new RosName("/recorder_a");
+    private static final RosName TOPIC_B = new RosName("/recorder_b");
+    private static final StringMessageCodec CODEC = new StringMessageCodec();
+
+    private static class CollectingSubscriber implements Subscriber<StringMessage> {
+        List<String> messages = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(StringMessage item) {
+            messages.add(item.data);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed.complete(null);
+        }
+    }
+
+    /** Record given number of messages to each of the topics, alternating between them */
+    private void record(Path directory, int segmentSize, int count) {
+        try (var client = new LoopbackJRosClient();
+                var recorder = new TopicRecorder(client, directory, segmentSize)) {
+            var publisherA = client.publish(TOPIC_A, DESCRIPTOR, OverflowPolicy.BLOCK);
+            var publisherB = client.publish(TOPIC_B, DESCRIPTOR, OverflowPolicy.BLOCK);
+            recorder.record(TOPIC_A, DESCRIPTOR, CODEC);
+            recorder.record(TOPIC_B, DESCRIPTOR, CODEC);
+            for (int i = 0; i < count; i++) {
+                publisherA.submit(new StringMessage().withData("a" + i));
+                publisherB.submit(new StringMessage().withData("b" + i));
+            }
+            publisherA.close();
+            publisherB.close();
+            Assertions.assertEquals(2 * count, recorder.getRecordedCount());
+            Assertions.assertEquals(0, recorder.getDroppedCount());
+        }
+    }
+
+    private List<String> readAll(TopicReplayer replayer) {
+        var messages = new ArrayList<String>();
+        var lastTimestamp = new long[] {Long.MIN_VALUE};
+        replayer.forEach(
+                message -> {
+                    Assertions.assertEquals(
+                            StringMessage.class.getName(), message.getMessageClass());
+                    Assertions.assertTrue(lastTimestamp[0] <= message.getTimestamp());
+                    lastTimestamp[0] = message.getTimestamp();
+                    messages.add(
+                            message.getTopic().toGlobalName()
+                                    + ":"
+                                    + CODEC.decode(message.getData()).data);
+                });
+        return messages;
+    }
+
+    /**
+     * Publishers of different topics deliver messages concurrently, so only order of the messages
+     * within each topic is defined
+     */
+    private void assertRecorded(List<String> expected, List<String> actual) {
+        for (var topic : List.of(TOPIC_A, TOPIC_B)) {
+            var prefix = topic.toGlobalName() + ":";
+            Assertions.assertEquals(
+                    expected.stream()
+                            .filter(m -> m.startsWith(prefix))
+                            .collect(Collectors.toList()),
+                    actual.stream().filter(m -> m.startsWith(prefix)).collect(Collectors.toList()));
+        }
+        Assertions.assertEquals(expected.size(), actual.size());
+    }
+
+    private List<String> expected(int from, int to) {
+        var messages = new ArrayList<String>();
+        for (int i = from; i < to; i++) {
+            messages.add(TOPIC_A.toGlobalName() + ":a" + i);
+            messages.add(TOPIC_B.toGlobalName() + ":b" + i);
+        }
+        return messages;
+    }
+
+    @Test
+    public void test_for_each(@TempDir Path directory) {
+        record(directory, 64 * 1024, 10);
+        var replayer = new TopicReplayer(directory);
+        Assertions.assertEquals(List.of(TOPIC_A, TOPIC_B), replayer.getTopics());
+        assertRecorded(expected(0, 10), readAll(replayer));
+        Assertions.assertEquals(
+                0, replayer.forEach(Instant.now().plusSeconds(60), Instant.MAX, m -> {}));
+    }
+
+    @Test
+    public void test_recording_is_split_into_segments_and_appended(@TempDir Path directory) {
+        record(directory, 1024, 100);
+        Assertions.assertTrue(LogFormat.listSegments(directory).size() > 1);
+        record(directory, 1024, 10);
+        var expected = expected(0, 100);
+        expected.addAll(expected(0, 10));
+        var actual = readAll(new TopicReplayer(directory));
+        // messages of the second recording follow all messages of the first one
+        assertRecorded(expected.subList(0, 200), actual.subList(0, 200));
+        assertRecorded(expected.subList(200, 220), actual.subList(200, 220));
+    }
+
+    @Test
+    public void test_message_larger_than_segment_is_dropped(@TempDir Path directory) {
+        try (var client = new LoopbackJRosClient();
+                var recorder = new TopicRecorder(client, directory, 1024)) {
+            var publisher = client.publish(TOPIC_A, DESCRIPTOR, OverflowPolicy.BLOCK);
+            recorder.record(TOPIC_A, DESCRIPTOR, CODEC);
+            publisher.submit(new StringMessage().withData("x".repeat(2000)));
+            publisher.submit(new StringMessage().withData("a0"));
+            publisher.close();
+            Assertions.assertEquals(1, recorder.getRecordedCount());
+            Assertions.assertEquals(1, recorder.getDroppedCount());
+        }
+        Assertions.assertEquals(
+                List.of(TOPIC_A.toGlobalName() + ":a0"), readAll(new TopicReplayer(directory)));
+    }
+
+    @Test
+    public void test_replay(@TempDir Path directory) throws Exception {
+        record(directory, 64 * 1024, 10);
+        var subscriber = new CollectingSubscriber();
+        try (var client = new LoopbackJRosClient();
+                var replayer = new TopicReplayer(directory)) {
+            // only added topics are replayed
+            var publisher = replayer.publish(client, TOPIC_B, DESCRIPTOR, CODEC);
+            client.subscribe(TOPIC_B, DESCRIPTOR, subscriber);
+            Assertions.assertEquals(10, replayer.replay(ReplaySpeed.MAXIMUM));
+            publisher.close();
+        }
+        subscriber.completed.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(
+                List.of("b0", "b1", "b2", "b3", "b4", "b5", "b6", "b7", "b8", "b9"),
+                subscriber.messages);
+    }
+}